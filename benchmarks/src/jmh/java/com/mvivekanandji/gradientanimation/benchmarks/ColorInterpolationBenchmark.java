@@ -0,0 +1,79 @@
+package com.mvivekanandji.gradientanimation.benchmarks;
+
+import com.mvivekanandji.gradientanimation.core.ColorMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Color stop interpolation, run once per stop array on every transition frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorInterpolationBenchmark {
+
+    @Param({"2", "8", "32"})
+    public int stops;
+
+    private int[] from;
+    private int[] to;
+    private int[] out;
+    private float fraction;
+
+    @Setup
+    public void setUp() {
+        from = new int[stops];
+        to = new int[stops];
+        out = new int[stops];
+
+        for (int i = 0; i < stops; i++) {
+            from[i] = 0xff000000 | (i * 0x0a1b2c);
+            to[i] = 0x80ffffff - (i * 0x030507);
+        }
+    }
+
+    @Benchmark
+    public int[] lerpStops() {
+        fraction += 0.0173f;
+        if (fraction > 1f) fraction -= 1f;
+
+        ColorMath.lerp(from, to, fraction, out);
+        return out;
+    }
+
+    @Benchmark
+    public int lerpSingleColor() {
+        fraction += 0.0173f;
+        if (fraction > 1f) fraction -= 1f;
+
+        return ColorMath.lerp(from[0], to[0], fraction);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mvivekanandji.gradientanimation.benchmarks;
+
+import android.graphics.Color;
+
+import com.mvivekanandji.gradientanimation.core.ColorParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Hex color decoding, ColorParser against Color.parseColor, for one color and for a batch
+ * of colors decoded into a reused array. Run with -prof gc to compare allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorParseBenchmark {
+
+    @Param({"#ff9a9e", "#80fad0c4"})
+    public String color;
+
+    private final String[] batch = new String[16];
+    private final int[] out = new int[16];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < batch.length; i++)
+            batch[i] = String.format("#%06x", (i * 0x0a1b2c) & 0xffffff);
+    }
+
+    @Benchmark
+    public int colorParser() {
+        return ColorParser.parse(color);
+    }
+
+    @Benchmark
+    public int frameworkParseColor() {
+        return Color.parseColor(color);
+    }
+
+    @Benchmark
+    public int[] colorParserBatch() {
+        ColorParser.parse(batch, out, 0, false);
+        return out;
+    }
+
+    @Benchmark
+    public int[] frameworkParseColorBatch() {
+        for (int i = 0; i < batch.length; i++)
+            out[i] = Color.parseColor(batch[i]);
+        return out;
+    }
+}
@@ -0,0 +1,55 @@
+package com.mvivekanandji.gradientanimation.benchmarks;
+
+import com.mvivekanandji.gradientanimation.model.Gradient;
+import com.mvivekanandji.gradientanimation.model.InbuiltGradients;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Inbuilt gradient lookup by name, as typed by users or written in xml.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InbuiltGradientLookupBenchmark {
+
+    @Param({"Young Passion", "young_passion", "Not A Gradient"})
+    public String name;
+
+    @Benchmark
+    public Gradient registryLookup() {
+        return InbuiltGradients.get(name);
+    }
+
+    @Benchmark
+    public Gradient getInbuiltGradient() {
+        return Gradient.getInbuiltGradient(name);
+    }
+}
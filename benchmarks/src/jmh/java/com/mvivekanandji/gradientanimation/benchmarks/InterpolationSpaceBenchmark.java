@@ -0,0 +1,91 @@
+package com.mvivekanandji.gradientanimation.benchmarks;
+
+import com.mvivekanandji.gradientanimation.core.ColorRamps;
+import com.mvivekanandji.gradientanimation.core.FrameState;
+import com.mvivekanandji.gradientanimation.core.GradientGeometry;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Frame cost of transitions per interpolation space. Every frame falls inside a transition, so
+ * evaluate always blends; linear RGB and OKLab read their precomputed ramps and should cost the
+ * same as the plain sRGB lerp. build measures the one time cost of the ramps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterpolationSpaceBenchmark {
+
+    // frame interval at 60 fps, play time advances like a running animation
+    private static final long FRAME_TIME = 16;
+
+    // ColorRamps.SRGB, LINEAR_RGB and OKLAB
+    @Param({"0", "1", "2"})
+    public int space;
+
+    @Param({"2", "8"})
+    public int stops;
+
+    private Keyframes.Builder builder;
+    private Keyframes keyframes;
+    private FrameState state;
+    private long playTime;
+
+    @Setup
+    public void setUp() {
+        // transitions as long as the keyframes, blending never stops
+        builder = new Keyframes.Builder().setTransitionDuration(1000).setInterpolation(space);
+
+        for (int i = 0; i < 8; i++) {
+            int[] colors = new int[stops];
+            for (int s = 0; s < stops; s++)
+                colors[s] = 0xff000000 | ((i * 0x2a5f13 + s * 0x13a2c7) & 0xffffff);
+            builder.add(colors, GradientGeometry.BOTTOM_TOP, null, 1000);
+        }
+
+        keyframes = builder.build();
+        state = new FrameState(keyframes.getStopCount());
+    }
+
+    @Benchmark
+    public FrameState evaluate() {
+        playTime += FRAME_TIME;
+        keyframes.evaluate(playTime, true, state);
+        return state;
+    }
+
+    @Benchmark
+    public Keyframes build() {
+        return builder.build();
+    }
+
+}
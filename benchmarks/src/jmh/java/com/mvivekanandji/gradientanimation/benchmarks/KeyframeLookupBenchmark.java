@@ -0,0 +1,94 @@
+package com.mvivekanandji.gradientanimation.benchmarks;
+
+import com.mvivekanandji.gradientanimation.core.FrameState;
+import com.mvivekanandji.gradientanimation.core.GradientGeometry;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.core.Timeline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Timeline lookup: finding the keyframe segment for a play time and evaluating it,
+ * done once per animation per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeyframeLookupBenchmark {
+
+    // frame interval at 60 fps, play time advances like a running animation
+    private static final long FRAME_TIME = 16;
+
+    @Param({"4", "64", "512"})
+    public int keyframes;
+
+    private Keyframes timeline;
+    private Timeline segments;
+    private FrameState state;
+    private long playTime;
+
+    @Setup
+    public void setUp() {
+        Keyframes.Builder builder = new Keyframes.Builder().setTransitionDuration(500);
+        int[] durations = new int[keyframes];
+
+        for (int i = 0; i < keyframes; i++) {
+            durations[i] = 1000 + i % 5 * 100;
+            builder.add(new int[]{0xff000000 | i * 0x010203, 0xffffffff - i * 0x030201},
+                    GradientGeometry.BOTTOM_TOP, null, durations[i]);
+        }
+
+        timeline = builder.build();
+        segments = new Timeline(durations, Timeline.INFINITE);
+        state = new FrameState(timeline.getStopCount());
+    }
+
+    @Benchmark
+    public FrameState evaluate() {
+        playTime += FRAME_TIME;
+        timeline.evaluate(playTime, true, state);
+        return state;
+    }
+
+    @Benchmark
+    public FrameState evaluateRandomAccess() {
+        // seeking jumps anywhere in the timeline
+        playTime = (playTime * 6364136223846793005L + 1442695040888963407L) >>> 1;
+        timeline.evaluate(playTime % (timeline.getTotalDuration() * 4), true, state);
+        return state;
+    }
+
+    @Benchmark
+    public int timelineIndexAt() {
+        playTime += FRAME_TIME;
+        return segments.indexAt(playTime);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mvivekanandji.gradientanimation.benchmarks;
+
+import com.mvivekanandji.gradientanimation.core.GradientGeometry;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.model.InbuiltGradients;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Preparation done by GradientAnimation.Builder#build(): keyframes are collected,
+ * resampled to a common stop count and their timing is computed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeyframesBuildBenchmark {
+
+    @Param({"2", "8", "32"})
+    public int gradients;
+
+    private int[][] colors;
+
+    @Setup
+    public void setUp() {
+        colors = new int[gradients][];
+        for (int i = 0; i < gradients; i++)
+            colors[i] = InbuiltGradients.get(i % InbuiltGradients.size()).getColors();
+    }
+
+    @Benchmark
+    public Keyframes build() {
+        Keyframes.Builder builder = new Keyframes.Builder().setTransitionDuration(1000);
+
+        for (int i = 0; i < gradients; i++)
+            builder.add(colors[i], i % 8, null, 2000);
+
+        return builder.build();
+    }
+
+    @Benchmark
+    public Keyframes buildMixedStopCounts() {
+        Keyframes.Builder builder = new Keyframes.Builder().setTransitionDuration(1000);
+
+        // 2 and 3 stop gradients force resampling to a common stop count
+        for (int i = 0; i < gradients; i++) {
+            int[] stops = i % 2 == 0 ? colors[i]
+                    : new int[]{colors[i][0], colors[i][colors[i].length - 1], 0xff000000};
+            builder.add(stops, GradientGeometry.LEFT_RIGHT, null, 2000);
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.mvivekanandji.gradientanimation.benchmarks;
+
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.core.KeyframesFormat;
+import com.mvivekanandji.gradientanimation.model.InbuiltGradients;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Loading keyframes from the binary format compared with building them from gradients.
+ * Run with -prof gc to compare allocations per load.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeyframesFormatBenchmark {
+
+    @Param({"4", "64", "1024"})
+    public int keyframes;
+
+    private int[][] colors;
+    private byte[] encoded;
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        colors = new int[keyframes][];
+        for (int i = 0; i < keyframes; i++)
+            colors[i] = InbuiltGradients.get(i % InbuiltGradients.size()).getColors();
+
+        encoded = KeyframesFormat.encode(build());
+
+        file = File.createTempFile("keyframes", "." + KeyframesFormat.EXTENSION);
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(encoded);
+        } finally {
+            out.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Keyframes build() {
+        Keyframes.Builder builder = new Keyframes.Builder().setTransitionDuration(1000);
+
+        for (int i = 0; i < keyframes; i++)
+            builder.add(colors[i], i % 8, null, 2000);
+
+        return builder.build();
+    }
+
+    @Benchmark
+    public Keyframes readBuffer() throws IOException {
+        return KeyframesFormat.read(ByteBuffer.wrap(encoded));
+    }
+
+    @Benchmark
+    public Keyframes readStream() throws IOException {
+        return KeyframesFormat.read(new BufferedInputStream(new ByteArrayInputStream(encoded)));
+    }
+
+    @Benchmark
+    public Keyframes readMappedFile() throws IOException {
+        return KeyframesFormat.read(file);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mvivekanandji.gradientanimation.benchmarks;
+
+import com.mvivekanandji.gradientanimation.core.FrameState;
+import com.mvivekanandji.gradientanimation.core.GradientGeometry;
+import com.mvivekanandji.gradientanimation.core.GradientRasterizer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Headless rasterization cost of one frame per gradient type, single threaded, the work of one
+ * OfflineRenderer frame. Linear is a multiply-add per pixel, radial adds a square root and sweep
+ * an atan2, so sweep frames are the slowest to pre-bake.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RasterizerBenchmark {
+
+    // quarter of a 1080x1920 screen
+    private static final int WIDTH = 270;
+    private static final int HEIGHT = 480;
+
+    // GradientGeometry.LINEAR, RADIAL and SWEEP
+    @Param({"0", "1", "2"})
+    public int type;
+
+    private FrameState state;
+    private int[] pixels;
+
+    @Setup
+    public void setUp() {
+        state = new FrameState(3);
+        state.colors[0] = 0xff17ead9;
+        state.colors[1] = 0xff6078ea;
+        state.colors[2] = 0xffff9a9e;
+        state.type = type;
+        state.orientation = GradientGeometry.TL_BR;
+        state.centerX = 0.3f;
+        state.centerY = 0.4f;
+        pixels = new int[WIDTH * HEIGHT];
+    }
+
+    @Benchmark
+    public int[] render() {
+        GradientRasterizer.render(state, WIDTH, HEIGHT, pixels);
+        return pixels;
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.mvivekanandji.gradientanimation;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.GradientDrawable;
+import android.os.Bundle;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.drawable.InterpolatingGradientDrawable;
+import com.mvivekanandji.gradientanimation.drawable.MirrorGradientDrawable;
+import com.mvivekanandji.gradientanimation.model.Gradient;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Fill-rate benchmark comparing the AnimationDrawable crossfade path with InterpolatingGradientDrawable.
+ * <p>
+ * Both paths draw a full screen frame in the middle of a fade into a software canvas. The crossfade
+ * path draws the two gradients the way DrawableContainer does during a fade, the interpolating path
+ * draws one gradient. Radial and sweep frames are measured with an animated center and radius,
+ * their shaders are built once and moved by their local matrix. A group of mirrors sharing one
+ * frame is compared with as many separate drawables. Results are logged and reported as
+ * instrumentation status.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FillRateBenchmark {
+
+    private static final String TAG = "FillRateBenchmark";
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int WARMUP_FRAMES = 20;
+    private static final int FRAMES = 200;
+
+    private final Gradient from = Gradient.getInbuiltGradient("youngpassion");
+    private final Gradient to = Gradient.getInbuiltGradient("temptingazure");
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void crossfadeVsInterpolate() {
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        GradientDrawable previous = newGradientDrawable(from);
+        GradientDrawable current = newGradientDrawable(to);
+
+        InterpolatingGradientDrawable interpolating = new InterpolatingGradientDrawable(
+                new Keyframes.Builder()
+                        .setTransitionDuration(1000)
+                        .add(from.getColors(), from.getOrientation().ordinal(), from.getRadii(), 2000)
+                        .add(to.getColors(), to.getOrientation().ordinal(), to.getRadii(), 2000)
+                        .build());
+        interpolating.setBounds(0, 0, WIDTH, HEIGHT);
+        interpolating.setCurrentPlayTime(2500);
+
+        long crossfadeNanos = timeCrossfade(canvas, previous, current);
+
+        Debug.startAllocCounting();
+        Debug.resetThreadAllocCount();
+        long interpolateNanos = timeInterpolate(canvas, interpolating);
+        long interpolateAllocations = Debug.getThreadAllocCount();
+        Debug.stopAllocCounting();
+
+        long pixels = (long) WIDTH * HEIGHT;
+        Bundle results = new Bundle();
+        results.putLong("crossfade_ns_per_frame", crossfadeNanos / FRAMES);
+        results.putLong("interpolate_ns_per_frame", interpolateNanos / FRAMES);
+        results.putLong("crossfade_pixels_per_frame", 2 * pixels);
+        results.putLong("interpolate_pixels_per_frame", pixels);
+        // includes the warmup frames, the ramp shader is reused so frames should not allocate
+        results.putLong("interpolate_allocations", interpolateAllocations);
+        results.putLong("ramp_bytes", interpolating.getRampByteCount());
+
+        Log.i(TAG, results.toString());
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+        bitmap.recycle();
+    }
+
+    @Test
+    public void radialAndSweep() {
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        Bundle results = new Bundle();
+
+        // the center and radius move during the transition into keyframe 1
+        InterpolatingGradientDrawable radial = new InterpolatingGradientDrawable(
+                new Keyframes.Builder()
+                        .setTransitionDuration(1000)
+                        .addRadial(from.getColors(), 0.3f, 0.3f, 0.6f, null, 2000)
+                        .addRadial(to.getColors(), 0.7f, 0.6f, 1f, null, 2000)
+                        .build());
+        InterpolatingGradientDrawable sweep = new InterpolatingGradientDrawable(
+                new Keyframes.Builder()
+                        .setTransitionDuration(1000)
+                        .addSweep(from.getColors(), 0.3f, 0.3f, null, 2000)
+                        .addSweep(to.getColors(), 0.7f, 0.6f, null, 2000)
+                        .build());
+
+        InterpolatingGradientDrawable[] drawables = {radial, sweep};
+        String[] names = {"radial", "sweep"};
+        for (int i = 0; i < drawables.length; i++) {
+            drawables[i].setBounds(0, 0, WIDTH, HEIGHT);
+
+            Debug.startAllocCounting();
+            Debug.resetThreadAllocCount();
+            long nanos = timeInterpolate(canvas, drawables[i]);
+            long allocations = Debug.getThreadAllocCount();
+            Debug.stopAllocCounting();
+
+            results.putLong(names[i] + "_ns_per_frame", nanos / FRAMES);
+            // includes building the two shaders in the first warmup frame
+            results.putLong(names[i] + "_allocations", allocations);
+        }
+
+        Log.i(TAG, results.toString());
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+        bitmap.recycle();
+    }
+
+    @Test
+    public void groupVsSeparate() {
+        // small members, so the frame computation is not hidden by the fill
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH / 4, HEIGHT / 8, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        Bundle results = new Bundle();
+        Keyframes keyframes = new Keyframes.Builder()
+                .setTransitionDuration(1000)
+                .add(from.getColors(), from.getOrientation().ordinal(), null, 2000)
+                .add(to.getColors(), to.getOrientation().ordinal(), null, 2000)
+                .build();
+
+        for (int members : new int[]{1, 4, 16}) {
+            InterpolatingGradientDrawable source = new InterpolatingGradientDrawable(keyframes);
+            MirrorGradientDrawable[] mirrors = new MirrorGradientDrawable[members];
+            InterpolatingGradientDrawable[] separate = new InterpolatingGradientDrawable[members];
+            for (int i = 0; i < members; i++) {
+                mirrors[i] = source.createMirror();
+                mirrors[i].setBounds(0, 0, bitmap.getWidth(), bitmap.getHeight());
+                separate[i] = new InterpolatingGradientDrawable(keyframes);
+                separate[i].setBounds(0, 0, bitmap.getWidth(), bitmap.getHeight());
+            }
+
+            long start = SystemClock.elapsedRealtimeNanos();
+            for (int frame = 0; frame < FRAMES; frame++) {
+                source.setCurrentPlayTime(2064 + frame % 128 * 4);
+                for (MirrorGradientDrawable mirror : mirrors) mirror.draw(canvas);
+            }
+            results.putLong("group_" + members + "_ns_per_frame",
+                    (SystemClock.elapsedRealtimeNanos() - start) / FRAMES);
+
+            start = SystemClock.elapsedRealtimeNanos();
+            for (int frame = 0; frame < FRAMES; frame++) {
+                for (InterpolatingGradientDrawable drawable : separate)
+                    drawInterpolate(canvas, drawable, frame);
+            }
+            results.putLong("separate_" + members + "_ns_per_frame",
+                    (SystemClock.elapsedRealtimeNanos() - start) / FRAMES);
+        }
+
+        Log.i(TAG, results.toString());
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+        bitmap.recycle();
+    }
+
+    private long timeCrossfade(Canvas canvas, GradientDrawable previous, GradientDrawable current) {
+        for (int i = 0; i < WARMUP_FRAMES; i++)
+            drawCrossfade(canvas, previous, current, i);
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < FRAMES; i++)
+            drawCrossfade(canvas, previous, current, i);
+        return SystemClock.elapsedRealtimeNanos() - start;
+    }
+
+    private long timeInterpolate(Canvas canvas, InterpolatingGradientDrawable drawable) {
+        for (int i = 0; i < WARMUP_FRAMES; i++)
+            drawInterpolate(canvas, drawable, i);
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < FRAMES; i++)
+            drawInterpolate(canvas, drawable, i);
+        return SystemClock.elapsedRealtimeNanos() - start;
+    }
+
+    private static void drawCrossfade(Canvas canvas, GradientDrawable previous,
+                                      GradientDrawable current, int frame) {
+        int alpha = 64 + frame % 128;
+        previous.setAlpha(255 - alpha);
+        previous.draw(canvas);
+        current.setAlpha(alpha);
+        current.draw(canvas);
+    }
+
+    private static void drawInterpolate(Canvas canvas, InterpolatingGradientDrawable drawable, int frame) {
+        drawable.setCurrentPlayTime(2064 + frame % 128 * 4);
+        drawable.draw(canvas);
+    }
+
+    private static GradientDrawable newGradientDrawable(Gradient gradient) {
+        GradientDrawable drawable = new GradientDrawable(
+                Gradient.getDrawableOrientation(gradient.getOrientation()), gradient.getColors());
+        drawable.mutate();
+        drawable.setCornerRadii(gradient.getRadii());
+        drawable.setBounds(0, 0, WIDTH, HEIGHT);
+        return drawable;
+    }
+}
@@ -0,0 +1,77 @@
+package com.mvivekanandji.gradientanimation;
+
+import android.graphics.Shader;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.mvivekanandji.gradientanimation.core.GradientGeometry;
+import com.mvivekanandji.gradientanimation.drawable.GradientShaderCache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Sharing, counters and the memory budget of GradientShaderCache, on the main thread.
+ */
+@RunWith(AndroidJUnit4.class)
+public class GradientShaderCacheTest {
+
+    private static final int[] COLORS = {0xffff9a9e, 0xfffad0c4};
+
+    @Test
+    public void sameContentAndSize_sharesOneShader() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                GradientShaderCache cache = GradientShaderCache.getInstance();
+                cache.clear();
+                int hits = cache.getHitCount();
+                int misses = cache.getMissCount();
+
+                Shader shader = cache.obtain(COLORS, GradientGeometry.BOTTOM_TOP, 100, 50);
+                assertSame(shader, cache.obtain(COLORS.clone(), GradientGeometry.BOTTOM_TOP,
+                        100, 50));
+                assertNotSame(shader, cache.obtain(COLORS, GradientGeometry.BOTTOM_TOP, 100, 51));
+                assertNotSame(shader, cache.obtain(COLORS, GradientGeometry.LEFT_RIGHT, 100, 50));
+
+                assertEquals(hits + 1, cache.getHitCount());
+                assertEquals(misses + 3, cache.getMissCount());
+            }
+        });
+    }
+
+    @Test
+    public void budget_evictsLeastRecentlyUsed() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                GradientShaderCache cache = GradientShaderCache.getInstance();
+                assertEquals(GradientShaderCache.DEFAULT_MAX_SIZE, cache.getMaxSize());
+                cache.clear();
+                int evictions = cache.getEvictionCount();
+
+                // far more sizes than fit into 64KB
+                Shader first = cache.obtain(COLORS, GradientGeometry.BOTTOM_TOP, 1, 1);
+                for (int height = 2; height <= 1000; height++)
+                    cache.obtain(COLORS, GradientGeometry.BOTTOM_TOP, 1, height);
+
+                assertTrue(cache.getSize() <= cache.getMaxSize());
+                assertTrue(cache.getEvictionCount() > evictions);
+
+                int misses = cache.getMissCount();
+                assertNotSame(first, cache.obtain(COLORS, GradientGeometry.BOTTOM_TOP, 1, 1));
+                assertEquals(misses + 1, cache.getMissCount());
+
+                cache.clear();
+                assertEquals(0, cache.getSize());
+            }
+        });
+    }
+
+    private static void runOnMainSync(Runnable runnable) {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+    }
+}
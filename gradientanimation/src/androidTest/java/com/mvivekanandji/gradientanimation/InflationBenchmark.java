@@ -0,0 +1,152 @@
+package com.mvivekanandji.gradientanimation;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.drawable.AnimationDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.drawable.CrossfadeGradientDrawable;
+import com.mvivekanandji.gradientanimation.drawable.KeyframesAssets;
+import com.mvivekanandji.gradientanimation.drawable.TickerAnimationDrawable;
+import com.mvivekanandji.gradientanimation.view.GradientAnimationView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+/**
+ * Inflation benchmark comparing the animation-list XML path with the binary keyframes asset.
+ * <p>
+ * The XML path inflates anim_blue_purple and its four shape drawables and copies the frames into
+ * a TickerAnimationDrawable, like GradientAnimationView does for ga_drawable. The asset path loads
+ * the same animation from gradientanimation/anim_blue_purple.gakf, like ga_animation_asset. The
+ * asset ships only with the test apk, so it is read through the instrumentation context.
+ * Time and allocations per inflation are logged and reported as instrumentation status.
+ * <p>
+ * The list benchmark creates a list worth of GradientAnimationView rows, which build their
+ * drawables only on first layout, and reports construction and first layout separately.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InflationBenchmark {
+
+    private static final String TAG = "InflationBenchmark";
+    private static final String ASSET = "gradientanimation/anim_blue_purple.gakf";
+    private static final int WARMUP = 20;
+    private static final int RUNS = 200;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    private final AssetManager testAssets =
+            InstrumentationRegistry.getInstrumentation().getContext().getAssets();
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void xmlVsAsset() throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            inflateXml();
+            loadAsset();
+        }
+
+        Debug.startAllocCounting();
+
+        Debug.resetThreadAllocCount();
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < RUNS; i++)
+            inflateXml();
+        long xmlNanos = SystemClock.elapsedRealtimeNanos() - start;
+        long xmlAllocations = Debug.getThreadAllocCount();
+        long xmlBytes = Debug.getThreadAllocSize();
+
+        Debug.resetThreadAllocCount();
+        start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < RUNS; i++)
+            loadAsset();
+        long assetNanos = SystemClock.elapsedRealtimeNanos() - start;
+        long assetAllocations = Debug.getThreadAllocCount();
+        long assetBytes = Debug.getThreadAllocSize();
+
+        Debug.stopAllocCounting();
+
+        Bundle results = new Bundle();
+        results.putLong("xml_ns_per_inflation", xmlNanos / RUNS);
+        results.putLong("asset_ns_per_inflation", assetNanos / RUNS);
+        results.putLong("xml_allocations_per_inflation", xmlAllocations / RUNS);
+        results.putLong("asset_allocations_per_inflation", assetAllocations / RUNS);
+        results.putLong("xml_bytes_per_inflation", xmlBytes / RUNS);
+        results.putLong("asset_bytes_per_inflation", assetBytes / RUNS);
+
+        Log.i(TAG, results.toString());
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void listOfViews() {
+        final GradientAnimationView[] rows = new GradientAnimationView[RUNS];
+        final long[] nanos = new long[2];
+        final long[] allocations = new long[2];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < WARMUP; i++)
+                    layout(new GradientAnimationView(context));
+
+                Debug.startAllocCounting();
+
+                Debug.resetThreadAllocCount();
+                long start = SystemClock.elapsedRealtimeNanos();
+                for (int i = 0; i < RUNS; i++)
+                    rows[i] = new GradientAnimationView(context);
+                nanos[0] = SystemClock.elapsedRealtimeNanos() - start;
+                allocations[0] = Debug.getThreadAllocCount();
+
+                Debug.resetThreadAllocCount();
+                start = SystemClock.elapsedRealtimeNanos();
+                for (int i = 0; i < RUNS; i++)
+                    layout(rows[i]);
+                nanos[1] = SystemClock.elapsedRealtimeNanos() - start;
+                allocations[1] = Debug.getThreadAllocCount();
+
+                Debug.stopAllocCounting();
+            }
+        });
+
+        Bundle results = new Bundle();
+        results.putLong("rows", RUNS);
+        results.putLong("construct_ns_per_row", nanos[0] / RUNS);
+        results.putLong("first_layout_ns_per_row", nanos[1] / RUNS);
+        results.putLong("construct_allocations_per_row", allocations[0] / RUNS);
+        results.putLong("first_layout_allocations_per_row", allocations[1] / RUNS);
+
+        Log.i(TAG, results.toString());
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+    }
+
+    private static void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(200, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, 1080, 200);
+    }
+
+    private Drawable inflateXml() {
+        // the constant state cache of Resources applies, as for any view inflated in an app
+        AnimationDrawable source = (AnimationDrawable) context.getResources()
+                .getDrawable(R.drawable.anim_blue_purple, context.getTheme());
+        return TickerAnimationDrawable.from(source);
+    }
+
+    private Drawable loadAsset() throws IOException {
+        Keyframes keyframes = KeyframesAssets.load(testAssets, ASSET);
+        return new CrossfadeGradientDrawable(keyframes, 1000, 1000);
+    }
+}
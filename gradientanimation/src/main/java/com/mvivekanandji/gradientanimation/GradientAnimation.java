@@ -1,8 +1,10 @@
 package com.mvivekanandji.gradientanimation;
 
+import android.graphics.drawable.Animatable;
 import android.graphics.drawable.AnimationDrawable;
-import android.graphics.drawable.GradientDrawable;
+import android.graphics.drawable.Drawable;
 import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,12 +12,28 @@ import android.view.ViewGroup;
 import androidx.annotation.DrawableRes;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
-
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.AngleTrack;
+import com.mvivekanandji.gradientanimation.core.FrameMetrics;
+import com.mvivekanandji.gradientanimation.core.FrameTicker;
+import com.mvivekanandji.gradientanimation.drawable.CrossfadeGradientDrawable;
+import com.mvivekanandji.gradientanimation.drawable.GradientShaderCache;
+import com.mvivekanandji.gradientanimation.drawable.InterpolatingGradientDrawable;
+import com.mvivekanandji.gradientanimation.drawable.KeyframeDrawable;
+import com.mvivekanandji.gradientanimation.drawable.LowPowerPolicy;
+import com.mvivekanandji.gradientanimation.drawable.SharedFrameTicker;
+import com.mvivekanandji.gradientanimation.drawable.TickerAnimationDrawable;
 import com.mvivekanandji.gradientanimation.model.Gradient;
 import com.mvivekanandji.gradientanimation.model.GradientItem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * Copyright 2019 Vivekanand Mishra.
@@ -41,20 +59,68 @@ import java.util.List;
  */
 public class GradientAnimation {
 
+    /**
+     * enum for the way frames are rendered
+     */
+    public enum RenderMode {
+        /**
+         * CrossfadeGradientDrawable with the enter/exit fades of an AnimationDrawable,
+         * two gradients are drawn during a fade
+         */
+        CROSSFADE,
+        /**
+         * InterpolatingGradientDrawable, color stops are interpolated and one gradient is drawn per frame.
+         * Only applies to gradients added through the builder, drawable resources always crossfade.
+         */
+        INTERPOLATE,
+    }
+
+    /**
+     * enum for the color space color stops are interpolated in by {@link RenderMode#INTERPOLATE}
+     */
+    public enum InterpolationSpace {
+        /**
+         * sRGB encoded channels, the fastest to build, midpoints can look dark and muddy
+         */
+        SRGB,
+        /**
+         * linear light RGB, physically correct blending, brighter midpoints
+         */
+        LINEAR_RGB,
+        /**
+         * OKLab perceptual color space, evenly paced hue and lightness changes
+         */
+        OKLAB,
+    }
+
+    /**
+     * Callback of {@link Builder#buildAsync(Executor, BuildCallback)}, called on the main thread
+     */
+    public interface BuildCallback {
+        /**
+         * Method called with the animation, already set as background of the view
+         *
+         * @param gradientAnimation GradientAnimation
+         */
+        void onBuilt(@NonNull GradientAnimation gradientAnimation);
+
+        /**
+         * Method called instead of {@link #onBuilt(GradientAnimation)} if the configuration
+         * is not valid, with the exception {@link Builder#build()} would have thrown
+         *
+         * @param exception RuntimeException
+         */
+        void onBuildFailed(@NonNull RuntimeException exception);
+    }
+
     //region member variables
-    private ViewGroup viewGroup;
-    private View view;
-    private int backgroundDrawable;
-    private int duration;
-    private int enterDuration;
-    private int exitDuration;
-    private int alpha;
-    private boolean loop;
-    private int loopCount;
-    private int gradientCount;
-    private AnimationDrawable animationDrawable;
-    private List<Gradient> gradientList;
-    private List<GradientItem> gradientItemList;
+    private final GradientAnimationTemplate template;
+    private final View view;
+    private int maxFrameRate;
+    private FrameMetrics.Listener metricsListener;
+    private boolean traceEnabled;
+    private TickerAnimationDrawable animationDrawable;
+    private KeyframeDrawable keyframeDrawable;
     //endregion
 
     /**
@@ -63,21 +129,36 @@ public class GradientAnimation {
      * @param builder GradientAnimation.Builder
      */
     private GradientAnimation(@NonNull Builder builder) {
-        initMemberVariables(builder);
+        this(new GradientAnimationTemplate(builder),
+                builder.viewGroup != null ? builder.viewGroup : builder.view);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param template GradientAnimationTemplate
+     * @param view     View or ViewGroup whose background is animated
+     */
+    GradientAnimation(@NonNull GradientAnimationTemplate template, @NonNull View view) {
+        this.template = template;
+        this.view = view;
+        initMemberVariables();
 
-        if (!gradientList.isEmpty() || !gradientItemList.isEmpty()) {
+        if (template.getKeyframes() != null) {
 
-            checkBackgroundDrawable();
-            initGradientItemList();
-            initGradientList();
+            initShaderCache();
+
+            initKeyframeDrawable();
             initViewBackground();
 
         } else {
             initViewBackgroundResource();
+            initFadeDurations();
         }
 
-        initDurations();
-        animationDrawable.setAlpha(alpha);
+        initFrameRate();
+        initInstrumentation();
+        getDrawable().setAlpha(template.getAlpha());
     }
 
     /**
@@ -86,42 +167,117 @@ public class GradientAnimation {
      * @param alpha integer in the range 0 to 255
      */
     public void setAlpha(@IntRange(from = 0, to = 255) final int alpha) {
-        animationDrawable.setAlpha(alpha);
+        getDrawable().setAlpha(alpha);
     }
 
     /**
-     * Method to start animation
+     * Method to cap the frame rate of this animation
+     *
+     * @param maxFrameRate frames per second, {@link FrameTicker#UNLIMITED} for the display frame rate
      */
-    public void startAnimation() {
-        if (!animationDrawable.isRunning())
-            animationDrawable.start();
+    public void setMaxFrameRate(@IntRange(from = 0) int maxFrameRate) {
+        this.maxFrameRate = maxFrameRate;
 
-        if (!loop) animationDrawable.setOneShot(true);
+        if (keyframeDrawable != null)
+            keyframeDrawable.setMaxFrameRate(maxFrameRate);
+        else
+            animationDrawable.setMaxFrameRate(maxFrameRate);
+    }
 
-        else if (loopCount > 0) {
+    /**
+     * Getter
+     *
+     * @return frame rate cap of this animation, {@link FrameTicker#UNLIMITED} if not capped
+     */
+    public int getMaxFrameRate() {
+        return maxFrameRate;
+    }
 
-            int animCount = gradientList.size() + gradientItemList.size();
+    /**
+     * Method to cap the frame rate of every gradient animation in the app,
+     * the cap of a single animation still applies when lower
+     *
+     * @param maxFrameRate frames per second, {@link FrameTicker#UNLIMITED} for the display frame rate
+     */
+    public static void setGlobalMaxFrameRate(@IntRange(from = 0) int maxFrameRate) {
+        SharedFrameTicker.setMaxFrameRate(maxFrameRate);
+    }
 
-            if (animCount > 0)
-                gradientCount = animCount;
+    /**
+     * Method to report frame metrics of this animation
+     *
+     * @param listener FrameMetrics.Listener, null to disable metrics
+     */
+    public void setMetricsListener(@Nullable FrameMetrics.Listener listener) {
+        this.metricsListener = listener;
 
-            long loopTime = new Long(loopCount) * gradientCount * (enterDuration + exitDuration);
+        if (keyframeDrawable != null)
+            keyframeDrawable.setMetricsListener(listener);
+        else
+            animationDrawable.setMetricsListener(listener);
+    }
 
-            new Handler().postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    stopAnimation();
-                }
-            }, loopTime);
-        }
+    /**
+     * Getter - to get metrics collected since the listener was set
+     *
+     * @return FrameMetrics, null if no listener is set
+     */
+    @Nullable
+    public FrameMetrics getMetrics() {
+        return keyframeDrawable != null
+                ? keyframeDrawable.getMetrics() : animationDrawable.getMetrics();
+    }
+
+    /**
+     * Method to wrap animation frames and draws in android.os.Trace sections
+     *
+     * @param traceEnabled true to emit trace sections
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+
+        if (keyframeDrawable != null)
+            keyframeDrawable.setTraceEnabled(traceEnabled);
+        else
+            animationDrawable.setTraceEnabled(traceEnabled);
+    }
+
+    /**
+     * Getter - to get RenderMode in use
+     *
+     * @return RenderMode
+     */
+    public RenderMode getRenderMode() {
+        return template.getRenderMode();
+    }
+
+    /**
+     * Getter - to get InterpolationSpace in use
+     *
+     * @return InterpolationSpace
+     */
+    public InterpolationSpace getInterpolationSpace() {
+        return template.getInterpolationSpace();
+    }
+
+    /**
+     * Method to start animation, a stopped animation continues where it was.
+     * With a loop count the animation stops on the frame its last loop ends.
+     */
+    public void startAnimation() {
+        if (!template.isLoop()) setOneShot();
+        else if (template.getLoopCount() > 0) setRepeatCount(template.getLoopCount());
+
+        if (!getAnimatable().isRunning())
+            getAnimatable().start();
     }
 
     /**
      * Method to stop the running animation
      */
     public void stopAnimation() {
-        if (animationDrawable.isRunning())
-            animationDrawable.stop();
+        if (getAnimatable().isRunning())
+            getAnimatable().stop();
     }
 
     /**
@@ -130,35 +286,116 @@ public class GradientAnimation {
      * else if animation not running/stopped it will start running
      */
     public void toggleAnimation() {
-        if (animationDrawable.isRunning())
-            animationDrawable.stop();
+        if (getAnimatable().isRunning())
+            getAnimatable().stop();
         else
             startAnimation();
     }
 
     /**
-     * Method to reset animation
+     * Method to reset animation, it starts again from the first gradient
      */
     public void resetAnimation() {
         stopAnimation();
+        seekTo(0);
         startAnimation();
     }
 
+    /**
+     * Method to move the animation to the given play time, a running animation continues from there
+     *
+     * @param playTime milliseconds since the animation started
+     */
+    public void seekTo(@IntRange(from = 0) long playTime) {
+        if (keyframeDrawable != null)
+            keyframeDrawable.seekTo(playTime);
+        else
+            animationDrawable.seekTo(playTime);
+    }
+
+    /**
+     * Method to change the colors of a gradient while the animation runs, without restarting it.
+     * With RenderMode.INTERPOLATE the colors on screen blend into the new ones over the fade
+     * duration, with RenderMode.CROSSFADE they switch at once. Other views of the same
+     * template keep their colors.
+     *
+     * @param index  gradient index, GradientItems first, each in the order they were added
+     * @param colors color stops, resampled to the stop count of the animation
+     * @return true if the colors changed
+     * @throws IndexOutOfBoundsException if index is not below the number of gradients
+     * @throws IllegalStateException     if a drawable resource is animated
+     */
+    public boolean setKeyframeColors(int index, @NonNull int[] colors) {
+        if (keyframeDrawable == null)
+            throw new IllegalStateException("Colors of a drawable resource cannot be changed");
+        return keyframeDrawable.setKeyframeColors(index, colors);
+    }
+
+    /**
+     * Method to change the colors of every gradient, eg. on a theme switch, see
+     * {@link #setKeyframeColors(int, int[])}. Only gradients whose colors differ are updated,
+     * orientations, shapes and durations stay as built.
+     *
+     * @param gradients one gradient per keyframe, in keyframe order
+     * @return true if any colors changed
+     * @throws IllegalArgumentException if the number of gradients differs from the animation
+     * @throws IllegalStateException    if a drawable resource is animated
+     */
+    public boolean updateGradients(@NonNull List<Gradient> gradients) {
+        if (keyframeDrawable == null)
+            throw new IllegalStateException("Colors of a drawable resource cannot be changed");
+        if (gradients.size() != keyframeDrawable.getKeyframes().size())
+            throw new IllegalArgumentException("Expected " + keyframeDrawable.getKeyframes().size()
+                    + " gradients, build a new animation to change the number");
+
+        boolean changed = false;
+        for (int i = 0; i < gradients.size(); i++)
+            changed |= keyframeDrawable.setKeyframeColors(i, gradients.get(i).getColors());
+        return changed;
+    }
+
+    /**
+     * Getter
+     *
+     * @return milliseconds since the animation started
+     */
+    public long getCurrentPlayTime() {
+        return keyframeDrawable != null
+                ? keyframeDrawable.getCurrentPlayTime() : animationDrawable.getCurrentPlayTime();
+    }
+
+    /**
+     * Getter
+     *
+     * @return progress from 0 to 1 of all loops, of the current loop if the animation loops forever
+     */
+    public float getProgress() {
+        return keyframeDrawable != null
+                ? keyframeDrawable.getProgress() : animationDrawable.getProgress();
+    }
+
 
     /**
      * Builder class
      */
     public static class Builder {
-        private ViewGroup viewGroup;
-        private View view;
-        private int backgroundDrawable;
-        private int duration;
-        private int enterDuration;
-        private int exitDuration;
-        private int alpha;
-        private boolean loop;
-        private int loopCount;
-        private int gradientCount;
+        ViewGroup viewGroup;
+        View view;
+        int backgroundDrawable;
+        int duration;
+        int enterDuration;
+        int exitDuration;
+        int alpha;
+        boolean loop;
+        int loopCount;
+        int gradientCount;
+        RenderMode renderMode;
+        InterpolationSpace interpolationSpace;
+        int rampSize;
+        AngleTrack angleTrack;
+        int maxFrameRate;
+        FrameMetrics.Listener metricsListener;
+        boolean traceEnabled;
         List<Gradient> gradientList;
         List<GradientItem> gradientItemList;
 
@@ -174,6 +411,10 @@ public class GradientAnimation {
             loop = true;
             loopCount = -1;
             gradientCount = 2;
+            renderMode = RenderMode.CROSSFADE;
+            interpolationSpace = InterpolationSpace.SRGB;
+            rampSize = InterpolatingGradientDrawable.DEFAULT_RAMP_SIZE;
+            maxFrameRate = FrameTicker.UNLIMITED;
             gradientList = new ArrayList<>();
             gradientItemList = new ArrayList<>();
         }
@@ -387,11 +628,118 @@ public class GradientAnimation {
             return this;
         }
 
+        /**
+         * @deprecated loops are counted from the real gradient durations, the count is not needed
+         */
+        @Deprecated
         public Builder setGradientCount(@IntRange(from = 0, to = Integer.MAX_VALUE) int gradientCount) {
             this.gradientCount = gradientCount;
             return this;
         }
 
+        /**
+         * Method to set how frames are rendered.
+         * {@link RenderMode#INTERPOLATE} draws a single interpolated gradient per frame instead of
+         * crossfading two gradients, which halves the fill rate during fades.
+         *
+         * @param renderMode RenderMode, default is {@link RenderMode#CROSSFADE}
+         * @return this object
+         */
+        public Builder setRenderMode(@NonNull RenderMode renderMode) {
+            this.renderMode = renderMode;
+            return this;
+        }
+
+        /**
+         * Method to set the color space {@link RenderMode#INTERPOLATE} blends gradients in.
+         * Lookup tables of every transition are computed once by {@link #build()} or
+         * {@link #buildAsync(Executor, BuildCallback)}, so frames cost the same in every space.
+         * {@link RenderMode#CROSSFADE} composites two gradients with alpha and always blends in
+         * sRGB.
+         *
+         * @param interpolationSpace InterpolationSpace, default is {@link InterpolationSpace#SRGB}
+         * @return this object
+         */
+        public Builder setInterpolationSpace(@NonNull InterpolationSpace interpolationSpace) {
+            this.interpolationSpace = interpolationSpace;
+            return this;
+        }
+
+        /**
+         * Method to set the number of colors of the ramp {@link RenderMode#INTERPOLATE} draws
+         * gradients from. Every keyframe keeps a precomputed ramp of 4 bytes per color,
+         * see {@link InterpolatingGradientDrawable#getRampByteCount()}.
+         *
+         * @param rampSize number of colors, default is {@link InterpolatingGradientDrawable#DEFAULT_RAMP_SIZE}
+         * @return this object
+         */
+        public Builder setRampSize(@IntRange(from = 2, to = InterpolatingGradientDrawable.MAX_RAMP_SIZE) int rampSize) {
+            this.rampSize = rampSize;
+            return this;
+        }
+
+        /**
+         * Method to draw every gradient at a free angle instead of its orientation.
+         * Needs {@link RenderMode#INTERPOLATE}.
+         *
+         * @param degrees angle counterclockwise from left to right, eg. 90 is bottom to top
+         * @return this object
+         */
+        public Builder setAngle(float degrees) {
+            this.angleTrack = AngleTrack.constant(degrees);
+            return this;
+        }
+
+        /**
+         * Method to rotate the gradients over the animation cycle instead of using their
+         * orientations, eg. {@link AngleTrack#rotation(long, float, float)} for a slowly rotating
+         * background. The track shares the timeline of the gradients and only moves the shader
+         * matrix, frames do not allocate. Needs {@link RenderMode#INTERPOLATE}.
+         *
+         * @param angleTrack AngleTrack, default is null
+         * @return this object
+         */
+        public Builder setAngleTrack(@Nullable AngleTrack angleTrack) {
+            this.angleTrack = angleTrack;
+            return this;
+        }
+
+        /**
+         * Method to cap the frame rate of the animation, eg. 15 or 30 for slow background gradients.
+         * Battery saver may lower it further, see {@link LowPowerPolicy}.
+         *
+         * @param maxFrameRate frames per second, default is {@link FrameTicker#UNLIMITED}
+         * @return this object
+         */
+        public Builder setMaxFrameRate(@IntRange(from = 0) int maxFrameRate) {
+            this.maxFrameRate = maxFrameRate;
+            return this;
+        }
+
+        /**
+         * Method to report frames produced, invalidations, unchanged frames, compute time
+         * and paused time. Without a listener metrics are not collected at all.
+         *
+         * @param listener FrameMetrics.Listener, default is null
+         * @return this object
+         */
+        public Builder setMetricsListener(@Nullable FrameMetrics.Listener listener) {
+            this.metricsListener = listener;
+            return this;
+        }
+
+        /**
+         * Method to wrap animation frames and draws in android.os.Trace sections,
+         * to attribute jank in system traces
+         *
+         * @param traceEnabled true to emit trace sections, default is false
+         * @return this object
+         */
+        public Builder setTraceEnabled(boolean traceEnabled) {
+            this.traceEnabled = traceEnabled;
+            return this;
+        }
+
         /**
          * Method to get new GradientAnimation object
          *
@@ -400,110 +748,250 @@ public class GradientAnimation {
         public GradientAnimation build() {
             return new GradientAnimation(this);
         }
-    }
 
-    //region private methods
+        /**
+         * Method to compile this builder into an immutable template, to animate any number of
+         * views with the same precomputed keyframes. The view set on the builder is not used.
+         *
+         * @return GradientAnimationTemplate
+         * @throws IllegalArgumentException if the configuration is not valid
+         */
+        @NonNull
+        public GradientAnimationTemplate buildTemplate() {
+            return new GradientAnimationTemplate(this);
+        }
+
+        /**
+         * Method to build GradientAnimation with the view independent work, compiling the
+         * {@link GradientAnimationTemplate} with its keyframes and ramps, done by the executor.
+         * Only creating the drawable and setting it as background is left to the main thread,
+         * right before the callback.
+         * The builder is copied, so it can be changed or reused afterwards; gradients passed to
+         * it must not be modified until the callback.
+         *
+         * @param executor Executor for the preparation, eg. AsyncTask.THREAD_POOL_EXECUTOR
+         * @param callback BuildCallback, called on the main thread
+         * @return Future of the build, cancel it to drop the result, eg. when the view goes away
+         */
+        @NonNull
+        public Future<?> buildAsync(@NonNull Executor executor, @NonNull BuildCallback callback) {
+            BuildTask task = new BuildTask(copy(), callback);
+            executor.execute(task);
+            return task;
+        }
+
+        /**
+         * Method to copy this builder, gradient lists are copied but not the gradients
+         *
+         * @return new Builder
+         */
+        private Builder copy() {
+            Builder builder = new Builder();
+            builder.viewGroup = viewGroup;
+            builder.view = view;
+            builder.backgroundDrawable = backgroundDrawable;
+            builder.duration = duration;
+            builder.enterDuration = enterDuration;
+            builder.exitDuration = exitDuration;
+            builder.alpha = alpha;
+            builder.loop = loop;
+            builder.loopCount = loopCount;
+            builder.gradientCount = gradientCount;
+            builder.renderMode = renderMode;
+            builder.interpolationSpace = interpolationSpace;
+            builder.rampSize = rampSize;
+            builder.angleTrack = angleTrack;
+            builder.maxFrameRate = maxFrameRate;
+            builder.metricsListener = metricsListener;
+            builder.traceEnabled = traceEnabled;
+            builder.gradientList.addAll(gradientList);
+            builder.gradientItemList.addAll(gradientItemList);
+            return builder;
+        }
+    }
 
     /**
-     * Method to initialize member variables
-     *
-     * @param builder GradientAnimation.Builder
+     * Task of {@link Builder#buildAsync(Executor, BuildCallback)}, prepares on the executor
+     * and attaches on the main thread
      */
-    private void initMemberVariables(Builder builder) {
-        this.viewGroup = builder.viewGroup;
-        this.view = builder.view;
-        this.backgroundDrawable = builder.backgroundDrawable;
-        this.duration = builder.duration;
-        this.enterDuration = builder.enterDuration;
-        this.exitDuration = builder.exitDuration;
-        this.alpha = builder.alpha;
-        this.loop = builder.loop;
-        this.loopCount = builder.loopCount;
-        this.gradientCount = builder.gradientCount;
-        this.gradientList = builder.gradientList;
-        this.gradientItemList = builder.gradientItemList;
+    private static final class BuildTask extends FutureTask<GradientAnimationTemplate> {
+        private final Builder builder;
+        private final BuildCallback callback;
+        private final Handler handler = new Handler(Looper.getMainLooper());
+        // also set when cancelled after the preparation completed
+        private volatile boolean dropped;
+
+        BuildTask(final Builder builder, BuildCallback callback) {
+            super(new Callable<GradientAnimationTemplate>() {
+                @Override
+                public GradientAnimationTemplate call() {
+                    return new GradientAnimationTemplate(builder);
+                }
+            });
+            this.builder = builder;
+            this.callback = callback;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            dropped = true;
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) return;
+
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    attach();
+                }
+            });
+        }
 
-        animationDrawable = new AnimationDrawable();
+        /**
+         * Method to create the animation on the main thread and report the result
+         */
+        private void attach() {
+            if (dropped) return;
+
+            GradientAnimationTemplate template;
+            try {
+                template = get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    callback.onBuildFailed((RuntimeException) cause);
+                    return;
+                }
+                throw new IllegalStateException(cause);
+            } catch (InterruptedException e) {
+                // the task is done, get does not wait
+                throw new IllegalStateException(e);
+            }
+
+            GradientAnimation gradientAnimation;
+            try {
+                gradientAnimation = new GradientAnimation(template,
+                        builder.viewGroup != null ? builder.viewGroup : builder.view);
+            } catch (RuntimeException e) {
+                callback.onBuildFailed(e);
+                return;
+            }
+            callback.onBuilt(gradientAnimation);
+        }
     }
 
+    //region private methods
+
     /**
-     * Method to throw IllegalArgumentException,
-     * if both drawable as well individual gradients are provided
+     * Method to initialize member variables, the settings an instance can change
      */
-    private void checkBackgroundDrawable() {
-        if (backgroundDrawable >= 0)
-            throw new IllegalArgumentException("Don't supply drawable when using Gradient or GradientItem");
+    private void initMemberVariables() {
+        this.maxFrameRate = template.getMaxFrameRate();
+        this.metricsListener = template.getMetricsListener();
+        this.traceEnabled = template.isTraceEnabled();
     }
 
     /**
-     * Method to initialize gradientItem arrayList
+     * Method to install the shared shader cache for memory trim callbacks
      */
-    private void initGradientItemList() {
-        for (GradientItem gradientItem : gradientItemList) {
-            GradientDrawable gradientDrawable =
-                    new GradientDrawable(Gradient.getDrawableOrientation
-                            (gradientItem.getGradient().getOrientation()),
-                            gradientItem.getGradient().getColors());
-            gradientDrawable.mutate();
-            gradientDrawable.setCornerRadii(gradientItem.getGradient().getRadii());
-
+    private void initShaderCache() {
+        GradientShaderCache.getInstance()
+                .install(view.getContext());
+    }
 
-            animationDrawable.addFrame(gradientDrawable, gradientItem.getDuration());
-        }
+    /**
+     * Method to apply the frame rate cap and install the low power policy
+     */
+    private void initFrameRate() {
+        LowPowerPolicy.getInstance().install(view.getContext());
+        setMaxFrameRate(maxFrameRate);
     }
 
     /**
-     * Method to initialize gradient arrayList
+     * Method to apply metrics listener and tracing
      */
-    private void initGradientList() {
-        for (Gradient gradient : gradientList) {
-            GradientDrawable gradientDrawable =
-                    new GradientDrawable(Gradient.getDrawableOrientation
-                            (gradient.getOrientation()), gradient.getColors());
-            gradientDrawable.mutate();
-            gradientDrawable.setCornerRadii(gradient.getRadii());
+    private void initInstrumentation() {
+        if (metricsListener != null) setMetricsListener(metricsListener);
+        if (traceEnabled) setTraceEnabled(true);
+    }
 
-            animationDrawable.addFrame(gradientDrawable, duration);
-        }
+    /**
+     * Method to initialize keyframe drawable of the render mode from the template keyframes
+     */
+    private void initKeyframeDrawable() {
+        if (template.getRenderMode() == RenderMode.INTERPOLATE)
+            keyframeDrawable = new InterpolatingGradientDrawable(template.getKeyframeRamps());
+        else
+            keyframeDrawable = new CrossfadeGradientDrawable(template.getKeyframes(),
+                    template.getEnterDuration(), template.getExitDuration());
     }
 
     /**
      * Method to initialize background
      */
     private void initViewBackground() {
-        if (viewGroup != null) {
-            viewGroup.setBackground(animationDrawable);
-            animationDrawable = (AnimationDrawable) viewGroup.getBackground();
-        } else {
-            view.setBackground(animationDrawable);
-            animationDrawable = (AnimationDrawable) view.getBackground();
-        }
+        view.setBackground(getDrawable());
     }
 
     /**
      * Method to initialize background
      */
     private void initViewBackgroundResource() {
-        if (viewGroup != null) {
-            viewGroup.setBackgroundResource(backgroundDrawable);
-            animationDrawable = (AnimationDrawable) viewGroup.getBackground();
-        } else {
-            view.setBackgroundResource(backgroundDrawable);
-            animationDrawable = (AnimationDrawable) view.getBackground();
-        }
+        view.setBackgroundResource(template.getBackgroundDrawable());
+        animationDrawable = TickerAnimationDrawable.from((AnimationDrawable) view.getBackground());
+
+        initViewBackground();
     }
 
     /**
-     * Method to initialize enter duration and exit duration
+     * Method to apply enter duration and exit duration to AnimationDrawable
      */
-    private void initDurations() {
-        if(!(enterDuration>0))
-            enterDuration = duration/2;
-        if(!(exitDuration>0))
-            exitDuration = duration/2;
+    private void initFadeDurations() {
+        animationDrawable.setEnterFadeDuration(template.getEnterDuration());
+        animationDrawable.setExitFadeDuration(template.getExitDuration());
+    }
 
-        animationDrawable.setEnterFadeDuration(enterDuration);
-        animationDrawable.setExitFadeDuration(exitDuration);
+    /**
+     * Method to make the drawable play the given number of loops
+     *
+     * @param repeatCount number of loops
+     */
+    private void setRepeatCount(int repeatCount) {
+        if (keyframeDrawable != null)
+            keyframeDrawable.setRepeatCount(repeatCount);
+        else
+            animationDrawable.setRepeatCount(repeatCount);
+    }
+
+    /**
+     * Method to make the running drawable play only once
+     */
+    private void setOneShot() {
+        if (keyframeDrawable != null)
+            keyframeDrawable.setOneShot(true);
+        else
+            animationDrawable.setOneShot(true);
+    }
+
+    /**
+     * Method to get the drawable set as background
+     *
+     * @return Drawable
+     */
+    private Drawable getDrawable() {
+        return keyframeDrawable != null ? keyframeDrawable : animationDrawable;
+    }
+
+    /**
+     * Method to get the drawable set as background as Animatable
+     *
+     * @return Animatable
+     */
+    private Animatable getAnimatable() {
+        return keyframeDrawable != null ? keyframeDrawable : animationDrawable;
     }
 
     //endregion
@@ -0,0 +1,221 @@
+package com.mvivekanandji.gradientanimation;
+
+import android.view.View;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.FrameMetrics;
+import com.mvivekanandji.gradientanimation.core.FrameTicker;
+import com.mvivekanandji.gradientanimation.drawable.InterpolatingGradientDrawable;
+import com.mvivekanandji.gradientanimation.drawable.LowPowerPolicy;
+import com.mvivekanandji.gradientanimation.drawable.MirrorGradientDrawable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * One gradient animation shown in sync on several views, eg. a toolbar, a FAB and a card.
+ * <p>
+ * The group owns one {@link InterpolatingGradientDrawable} registered with the frame ticker,
+ * which evaluates every frame and writes the color ramp once. Every member view gets a
+ * {@link MirrorGradientDrawable} as background, which only draws that frame at the view size,
+ * so members never drift apart and each one adds a draw but no computation. Views can be
+ * added and removed while the animation runs. The animation ticks while any member is visible.
+ * Groups need {@link GradientAnimation.RenderMode#INTERPOLATE}, must be used on the main thread.
+ */
+@MainThread
+public final class GradientAnimationGroup {
+
+    private final GradientAnimationTemplate template;
+    private final InterpolatingGradientDrawable drawable;
+    private final List<View> views = new ArrayList<>();
+    private final List<MirrorGradientDrawable> mirrors = new ArrayList<>();
+    private int alpha;
+
+    /**
+     * Constructor
+     *
+     * @param template GradientAnimationTemplate of gradients in RenderMode.INTERPOLATE
+     * @throws IllegalArgumentException if the template animates a drawable resource
+     *                                  or uses another render mode
+     */
+    public GradientAnimationGroup(@NonNull GradientAnimationTemplate template) {
+        if (template.getKeyframes() == null
+                || template.getRenderMode() != GradientAnimation.RenderMode.INTERPOLATE)
+            throw new IllegalArgumentException("Groups need gradients in RenderMode.INTERPOLATE");
+
+        this.template = template;
+        this.alpha = template.getAlpha();
+        this.drawable = new InterpolatingGradientDrawable(template.getKeyframeRamps());
+        // drawables start visible, the group ticks only while a member shows it
+        drawable.setVisible(false, false);
+
+        drawable.setMaxFrameRate(template.getMaxFrameRate());
+        if (template.getMetricsListener() != null)
+            drawable.setMetricsListener(template.getMetricsListener());
+        drawable.setTraceEnabled(template.isTraceEnabled());
+    }
+
+    /**
+     * Method to show the animation on a view, in phase with the other members.
+     * Adding a member does not restart the animation.
+     *
+     * @param view View or ViewGroup whose background is replaced
+     */
+    public void addView(@NonNull View view) {
+        if (views.contains(view)) return;
+
+        LowPowerPolicy.getInstance().install(view.getContext());
+
+        MirrorGradientDrawable mirror = drawable.createMirror();
+        mirror.setAlpha(alpha);
+        views.add(view);
+        mirrors.add(mirror);
+        view.setBackground(mirror);
+        // the view updates the mirror from now on, the group runs once a member is shown
+        mirror.setVisible(view.isAttachedToWindow() && view.isShown(), false);
+    }
+
+    /**
+     * Method to stop showing the animation on a view, its background is cleared
+     *
+     * @param view View added to this group
+     */
+    public void removeView(@NonNull View view) {
+        int index = views.indexOf(view);
+        if (index < 0) return;
+
+        views.remove(index);
+        MirrorGradientDrawable mirror = mirrors.remove(index);
+        drawable.removeMirror(mirror);
+        if (view.getBackground() == mirror) view.setBackground(null);
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of member views
+     */
+    public int getViewCount() {
+        return views.size();
+    }
+
+    /**
+     * Method to set alpha of the animation on every member view
+     *
+     * @param alpha integer in the range 0 to 255
+     */
+    public void setAlpha(@IntRange(from = 0, to = 255) int alpha) {
+        this.alpha = alpha;
+        for (MirrorGradientDrawable mirror : mirrors)
+            mirror.setAlpha(alpha);
+    }
+
+    /**
+     * Method to cap the frame rate of the group
+     *
+     * @param maxFrameRate frames per second, {@link FrameTicker#UNLIMITED} for the display frame rate
+     */
+    public void setMaxFrameRate(@IntRange(from = 0) int maxFrameRate) {
+        drawable.setMaxFrameRate(maxFrameRate);
+    }
+
+    /**
+     * Method to report frame metrics of the group, one frame is computed for all members
+     *
+     * @param listener FrameMetrics.Listener, null to disable metrics
+     */
+    public void setMetricsListener(@Nullable FrameMetrics.Listener listener) {
+        drawable.setMetricsListener(listener);
+    }
+
+    /**
+     * Method to change the colors of a gradient on every member view without restarting,
+     * the colors on screen blend into the new ones
+     *
+     * @param index  gradient index, in keyframe order
+     * @param colors color stops, resampled to the stop count of the animation
+     * @return true if the colors changed
+     * @throws IndexOutOfBoundsException if index is not below the number of gradients
+     */
+    public boolean setKeyframeColors(int index, @NonNull int[] colors) {
+        return drawable.setKeyframeColors(index, colors);
+    }
+
+    /**
+     * Method to start animation, a stopped animation continues where it was.
+     * With a loop count the animation stops on the frame its last loop ends.
+     */
+    public void startAnimation() {
+        if (!template.isLoop()) drawable.setOneShot(true);
+        else if (template.getLoopCount() > 0) drawable.setRepeatCount(template.getLoopCount());
+
+        drawable.start();
+    }
+
+    /**
+     * Method to stop the running animation, members keep the current frame
+     */
+    public void stopAnimation() {
+        drawable.stop();
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if the animation is running
+     */
+    public boolean isRunning() {
+        return drawable.isRunning();
+    }
+
+    /**
+     * Method to move the animation of every member to the given play time
+     *
+     * @param playTime milliseconds since the animation started
+     */
+    public void seekTo(@IntRange(from = 0) long playTime) {
+        drawable.seekTo(playTime);
+    }
+
+    /**
+     * Getter
+     *
+     * @return milliseconds since the animation started
+     */
+    public long getCurrentPlayTime() {
+        return drawable.getCurrentPlayTime();
+    }
+
+    /**
+     * Getter - to get the drawable computing the frames of all members
+     *
+     * @return InterpolatingGradientDrawable, not set as background of any view
+     */
+    @NonNull
+    public InterpolatingGradientDrawable getDrawable() {
+        return drawable;
+    }
+}
@@ -0,0 +1,301 @@
+package com.mvivekanandji.gradientanimation;
+
+import android.view.View;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.AngleTrack;
+import com.mvivekanandji.gradientanimation.core.FrameMetrics;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.drawable.KeyframeRamps;
+import com.mvivekanandji.gradientanimation.model.Gradient;
+import com.mvivekanandji.gradientanimation.model.GradientItem;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * GradientAnimation.Builder compiled once into immutable, precomputed keyframe data.
+ * <p>
+ * The template holds the {@link Keyframes}, the interpolation ramps and the resolved settings
+ * of the builder, nothing refers back to the builder or its gradients. Applying it to a view
+ * only creates the drawable, whose own state is the play time and alpha, so a list showing the
+ * same animation in every row compiles it once instead of once per row. Changing the builder
+ * afterwards does not change templates or running animations.
+ * Templates can be compiled on any thread, see GradientAnimation.Builder#buildAsync.
+ */
+public final class GradientAnimationTemplate {
+
+    private final int backgroundDrawable;
+    private final int enterDuration;
+    private final int exitDuration;
+    private final int alpha;
+    private final boolean loop;
+    private final int loopCount;
+    private final GradientAnimation.RenderMode renderMode;
+    private final GradientAnimation.InterpolationSpace interpolationSpace;
+    private final int maxFrameRate;
+    private final FrameMetrics.Listener metricsListener;
+    private final boolean traceEnabled;
+    private final Keyframes keyframes;
+    private final KeyframeRamps keyframeRamps;
+
+    /**
+     * Constructor - compiles the builder, only reads it, so it may run on any thread
+     *
+     * @param builder GradientAnimation.Builder
+     * @throws IllegalArgumentException if the configuration is not valid
+     */
+    GradientAnimationTemplate(@NonNull GradientAnimation.Builder builder) {
+        this.backgroundDrawable = builder.backgroundDrawable;
+        this.enterDuration = fadeDuration(builder.enterDuration, builder.duration);
+        this.exitDuration = fadeDuration(builder.exitDuration, builder.duration);
+        this.alpha = builder.alpha;
+        this.loop = builder.loop;
+        this.loopCount = builder.loopCount;
+        this.renderMode = builder.renderMode;
+        this.interpolationSpace = builder.interpolationSpace;
+        this.maxFrameRate = builder.maxFrameRate;
+        this.metricsListener = builder.metricsListener;
+        this.traceEnabled = builder.traceEnabled;
+
+        if (builder.gradientList.isEmpty() && builder.gradientItemList.isEmpty()) {
+            // the drawable resource is inflated per view
+            this.keyframes = null;
+            this.keyframeRamps = null;
+            return;
+        }
+
+        checkBackgroundDrawable(builder.backgroundDrawable);
+        checkAngleTrack(builder.angleTrack, builder.renderMode);
+
+        Keyframes.Builder keyframesBuilder = new Keyframes.Builder()
+                .setTransitionDuration(Math.max(enterDuration, exitDuration));
+
+        // the ordinals match the ColorRamps constants, crossfades draw keyframe colors only
+        if (renderMode == GradientAnimation.RenderMode.INTERPOLATE)
+            keyframesBuilder.setInterpolation(interpolationSpace.ordinal())
+                    .setAngleTrack(builder.angleTrack);
+
+        for (GradientItem gradientItem : builder.gradientItemList)
+            addKeyframe(keyframesBuilder, gradientItem.getGradient(), gradientItem.getDuration());
+
+        for (Gradient gradient : builder.gradientList)
+            addKeyframe(keyframesBuilder, gradient, builder.duration);
+
+        this.keyframes = keyframesBuilder.build();
+        this.keyframeRamps = renderMode == GradientAnimation.RenderMode.INTERPOLATE
+                ? KeyframeRamps.build(keyframes, builder.rampSize) : null;
+    }
+
+    /**
+     * Method to animate the background of a view with this template
+     *
+     * @param view View or ViewGroup
+     * @return new GradientAnimation, not started
+     */
+    @MainThread
+    @NonNull
+    public GradientAnimation applyTo(@NonNull View view) {
+        return new GradientAnimation(this, view);
+    }
+
+    /**
+     * Method to animate the background of a view with this template, starting at a phase,
+     * eg. to stagger rows of a list
+     *
+     * @param view  View or ViewGroup
+     * @param phase play time in milliseconds to start from
+     * @return new GradientAnimation, not started
+     */
+    @MainThread
+    @NonNull
+    public GradientAnimation applyTo(@NonNull View view, @IntRange(from = 0) long phase) {
+        GradientAnimation gradientAnimation = new GradientAnimation(this, view);
+        gradientAnimation.seekTo(phase);
+        return gradientAnimation;
+    }
+
+    /**
+     * Getter - to get keyframes shared by every view
+     *
+     * @return Keyframes, null if a drawable resource is animated
+     */
+    @Nullable
+    public Keyframes getKeyframes() {
+        return keyframes;
+    }
+
+    /**
+     * Getter - to get RenderMode
+     *
+     * @return RenderMode
+     */
+    @NonNull
+    public GradientAnimation.RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * Getter - to get InterpolationSpace
+     *
+     * @return InterpolationSpace
+     */
+    @NonNull
+    public GradientAnimation.InterpolationSpace getInterpolationSpace() {
+        return interpolationSpace;
+    }
+
+    /**
+     * Getter
+     *
+     * @return drawable resource animated instead of gradients, negative if none
+     */
+    int getBackgroundDrawable() {
+        return backgroundDrawable;
+    }
+
+    /**
+     * Getter
+     *
+     * @return fade in duration in milliseconds
+     */
+    int getEnterDuration() {
+        return enterDuration;
+    }
+
+    /**
+     * Getter
+     *
+     * @return fade out duration in milliseconds
+     */
+    int getExitDuration() {
+        return exitDuration;
+    }
+
+    /**
+     * Getter
+     *
+     * @return initial alpha
+     */
+    int getAlpha() {
+        return alpha;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if the animation loops
+     */
+    boolean isLoop() {
+        return loop;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of loops, not positive to loop forever
+     */
+    int getLoopCount() {
+        return loopCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return initial frame rate cap
+     */
+    int getMaxFrameRate() {
+        return maxFrameRate;
+    }
+
+    /**
+     * Getter
+     *
+     * @return initial metrics listener, may be null
+     */
+    FrameMetrics.Listener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if trace sections are initially enabled
+     */
+    boolean isTraceEnabled() {
+        return traceEnabled;
+    }
+
+    /**
+     * Getter
+     *
+     * @return ramps of {@link GradientAnimation.RenderMode#INTERPOLATE}, null otherwise
+     */
+    KeyframeRamps getKeyframeRamps() {
+        return keyframeRamps;
+    }
+
+    /**
+     * Method to get a fade duration, half the gradient duration if not set
+     *
+     * @param fadeDuration enter or exit duration, not set if not positive
+     * @param duration     gradient duration
+     * @return fade duration in milliseconds
+     */
+    private static int fadeDuration(int fadeDuration, int duration) {
+        return fadeDuration > 0 ? fadeDuration : duration / 2;
+    }
+
+    /**
+     * Method to throw IllegalArgumentException,
+     * if both drawable as well individual gradients are provided
+     */
+    private static void checkBackgroundDrawable(int backgroundDrawable) {
+        if (backgroundDrawable >= 0)
+            throw new IllegalArgumentException("Don't supply drawable when using Gradient or GradientItem");
+    }
+
+    /**
+     * Method to throw IllegalArgumentException,
+     * if an angle is set without RenderMode.INTERPOLATE, crossfades cannot rotate
+     */
+    private static void checkAngleTrack(AngleTrack angleTrack,
+                                        GradientAnimation.RenderMode renderMode) {
+        if (angleTrack != null && renderMode != GradientAnimation.RenderMode.INTERPOLATE)
+            throw new IllegalArgumentException("Angle needs RenderMode.INTERPOLATE");
+    }
+
+    /**
+     * Method to add a gradient as keyframe, the gradient type ordinals match GradientGeometry
+     *
+     * @param keyframesBuilder Keyframes.Builder
+     * @param gradient         Gradient
+     * @param duration         duration in milliseconds
+     */
+    private static void addKeyframe(Keyframes.Builder keyframesBuilder, Gradient gradient,
+                                    int duration) {
+        keyframesBuilder.add(gradient.getColors(), gradient.getType().ordinal(),
+                gradient.getOrientation().ordinal(), gradient.getCenterX(), gradient.getCenterY(),
+                gradient.getGradientRadius(), gradient.getRadii(), duration);
+    }
+}
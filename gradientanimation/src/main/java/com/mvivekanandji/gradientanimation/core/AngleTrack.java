@@ -0,0 +1,163 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import java.util.Arrays;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Gradient angle over one cycle of {@link Keyframes}, replacing the keyframe orientations.
+ * <p>
+ * Keys are (time, angle) pairs, time in milliseconds from the start of the cycle and angle in
+ * degrees like {@link GradientGeometry#resolveAngle}. Between keys the angle is interpolated
+ * linearly, before the first key and after the last one it is held. Angles are not wrapped, so
+ * keys 0 and 360 at the start and end of the cycle rotate once per cycle, seamlessly.
+ * A track with one key is a fixed free angle.
+ */
+public final class AngleTrack {
+
+    private final long[] times;
+    private final float[] angles;
+
+    private AngleTrack(long[] times, float[] angles) {
+        this.times = times;
+        this.angles = angles;
+    }
+
+    /**
+     * Method to get a track holding one angle
+     *
+     * @param degrees angle in degrees
+     * @return AngleTrack
+     */
+    public static AngleTrack constant(float degrees) {
+        return new AngleTrack(new long[]{0}, new float[]{degrees});
+    }
+
+    /**
+     * Method to get a track rotating at a constant speed
+     *
+     * @param duration time of one turn in milliseconds, eg. the keyframes cycle duration
+     * @param from     angle at time 0 in degrees
+     * @param turns    turns per duration, negative to rotate clockwise
+     * @return AngleTrack
+     */
+    public static AngleTrack rotation(long duration, float from, float turns) {
+        return new Builder().add(0, from).add(duration, from + 360f * turns).build();
+    }
+
+    /**
+     * Getter - to get number of keys
+     *
+     * @return number of keys
+     */
+    public int size() {
+        return times.length;
+    }
+
+    /**
+     * Getter - to get time of a key
+     *
+     * @param index key index
+     * @return milliseconds from the start of the cycle
+     */
+    public long getTime(int index) {
+        return times[index];
+    }
+
+    /**
+     * Getter - to get angle of a key
+     *
+     * @param index key index
+     * @return angle in degrees
+     */
+    public float getAngle(int index) {
+        return angles[index];
+    }
+
+    /**
+     * Method to evaluate the angle, does not allocate
+     *
+     * @param time milliseconds from the start of the cycle
+     * @return angle in degrees
+     */
+    public float evaluate(long time) {
+        int last = times.length - 1;
+        if (time <= times[0]) return angles[0];
+        if (time >= times[last]) return angles[last];
+
+        // first key after time, keys are sorted
+        int index = Arrays.binarySearch(times, time);
+        if (index >= 0) {
+            // equal times make a jump, the last of them applies
+            while (index < last && times[index + 1] == time) index++;
+            return angles[index];
+        }
+
+        int next = -index - 1;
+        int previous = next - 1;
+        float fraction = (time - times[previous]) / (float) (times[next] - times[previous]);
+        return angles[previous] + (angles[next] - angles[previous]) * fraction;
+    }
+
+    /**
+     * Builder class
+     */
+    public static class Builder {
+        private long[] times = new long[4];
+        private float[] angles = new float[4];
+        private int size;
+
+        /**
+         * Method to add a key, keys must be added in time order
+         *
+         * @param time    milliseconds from the start of the cycle
+         * @param degrees angle in degrees
+         * @return this object
+         */
+        public Builder add(long time, float degrees) {
+            if (time < 0 || (size > 0 && time < times[size - 1]))
+                throw new IllegalArgumentException("Angle keys must be in time order from 0");
+            if (Float.isNaN(degrees) || Float.isInfinite(degrees))
+                throw new IllegalArgumentException("Invalid angle " + degrees);
+
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                angles = Arrays.copyOf(angles, size * 2);
+            }
+
+            times[size] = time;
+            angles[size] = degrees;
+            size++;
+            return this;
+        }
+
+        /**
+         * Method to get new AngleTrack object
+         *
+         * @return AngleTrack object
+         * @throws IllegalArgumentException if no key was added
+         */
+        public AngleTrack build() {
+            if (size == 0)
+                throw new IllegalArgumentException("Angle track needs at least one key");
+            return new AngleTrack(Arrays.copyOf(times, size), Arrays.copyOf(angles, size));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.mvivekanandji.gradientanimation.core;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Color helpers working on packed ARGB integers.
+ * Pure java, no android dependency, so it can be used from JVM tests and benchmarks.
+ */
+public final class ColorMath {
+
+    private ColorMath() {
+    }
+
+    /**
+     * Method to linearly interpolate two packed ARGB colors channel by channel
+     *
+     * @param from     start color
+     * @param to       end color
+     * @param fraction fraction in the range 0 to 1
+     * @return interpolated color
+     */
+    public static int lerp(int from, int to, float fraction) {
+        if (fraction <= 0f) return from;
+        if (fraction >= 1f) return to;
+
+        int a = lerpChannel(from >>> 24, to >>> 24, fraction);
+        int r = lerpChannel((from >> 16) & 0xff, (to >> 16) & 0xff, fraction);
+        int g = lerpChannel((from >> 8) & 0xff, (to >> 8) & 0xff, fraction);
+        int b = lerpChannel(from & 0xff, to & 0xff, fraction);
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Method to interpolate two color arrays of the same length into output array
+     *
+     * @param from     start colors
+     * @param to       end colors
+     * @param fraction fraction in the range 0 to 1
+     * @param out      output array, at least as long as from
+     */
+    public static void lerp(int[] from, int[] to, float fraction, int[] out) {
+        for (int i = 0; i < from.length; i++)
+            out[i] = lerp(from[i], to[i], fraction);
+    }
+
+    /**
+     * Method to interpolate two ranges of packed color arrays into output array
+     *
+     * @param from       array holding the start colors
+     * @param fromOffset index of the first start color
+     * @param to         array holding the end colors
+     * @param toOffset   index of the first end color
+     * @param fraction   fraction in the range 0 to 1
+     * @param out        output array, written from index 0
+     * @param count      number of colors
+     */
+    public static void lerp(int[] from, int fromOffset, int[] to, int toOffset,
+                            float fraction, int[] out, int count) {
+        for (int i = 0; i < count; i++)
+            out[i] = lerp(from[fromOffset + i], to[toOffset + i], fraction);
+    }
+
+    /**
+     * Method to resample evenly spaced color stops to a different number of evenly spaced stops.
+     * Each output stop is sampled from the piecewise linear gradient described by source.
+     *
+     * @param source source colors (at least one)
+     * @param out    output colors, its length decides the number of stops
+     */
+    public static void resample(int[] source, int[] out) {
+        if (source.length == out.length) {
+            System.arraycopy(source, 0, out, 0, source.length);
+            return;
+        }
+
+        if (source.length == 1 || out.length == 1) {
+            for (int i = 0; i < out.length; i++)
+                out[i] = source[0];
+            return;
+        }
+
+        int sourceSegments = source.length - 1;
+        int outSegments = out.length - 1;
+
+        for (int i = 0; i < out.length; i++) {
+            // position in source segment units, kept in integer math so shared stops are exact
+            long scaled = (long) i * sourceSegments;
+            int index = (int) (scaled / outSegments);
+            int remainder = (int) (scaled % outSegments);
+
+            if (remainder == 0 || index >= sourceSegments)
+                out[i] = source[Math.min(index, sourceSegments)];
+            else
+                out[i] = lerp(source[index], source[index + 1], remainder / (float) outSegments);
+        }
+    }
+
+    /**
+     * Method to get the smallest stop count which keeps every stop of the given stop counts,
+     * so that resampling is lossless.
+     *
+     * @param stopCounts stop count of every gradient
+     * @param maxStops   upper bound, the largest stop count is used when exceeded
+     * @return stop count
+     */
+    public static int commonStopCount(int[] stopCounts, int maxStops) {
+        int largest = 1;
+        long segments = 1;
+
+        for (int count : stopCounts) {
+            largest = Math.max(largest, count);
+            if (count > 1) segments = lcm(segments, count - 1);
+        }
+
+        if (segments + 1 > maxStops) return Math.min(largest, maxStops);
+
+        return (int) segments + 1;
+    }
+
+    private static int lerpChannel(int from, int to, float fraction) {
+        return from + Math.round((to - from) * fraction);
+    }
+
+    private static long lcm(long a, long b) {
+        return a / gcd(a, b) * b;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,196 @@
+package com.mvivekanandji.gradientanimation.core;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Parser of hex color codes into packed ARGB integers.
+ * <p>
+ * Accepts #RGB, #RRGGBB and #AARRGGBB, digits in any case; colors without alpha are opaque.
+ * Strict parsing requires exactly that, lenient parsing also ignores surrounding whitespace and
+ * a missing '#', eg. "ffffff". Color names are not supported. Parsing reads the characters in
+ * place, nothing is allocated unless an error message is built.
+ * Pure java, no android dependency, so it can be used from JVM tests and benchmarks.
+ */
+public final class ColorParser {
+
+    // decode results are a color in the low 32 bits or a negative error code
+    private static final long ERROR_EMPTY = -1;
+    private static final long ERROR_HASH = -2;
+    private static final long ERROR_LENGTH = -3;
+    // bad digit at index i is ERROR_DIGIT - i
+    private static final long ERROR_DIGIT = -4;
+
+    private ColorParser() {
+    }
+
+    /**
+     * Method to strictly parse a color
+     *
+     * @param color color code, eg. "#ff9a9e"
+     * @return packed ARGB color
+     * @throws IllegalArgumentException if the color is not valid, with the reason
+     */
+    public static int parse(CharSequence color) {
+        return parse(color, 0, color.length(), false);
+    }
+
+    /**
+     * Method to parse a color out of a range of characters, eg. one token of a longer string
+     *
+     * @param color   characters holding the color code
+     * @param start   index of the first character
+     * @param end     index after the last character
+     * @param lenient true to ignore surrounding whitespace and a missing '#'
+     * @return packed ARGB color
+     * @throws IllegalArgumentException if the color is not valid, with the reason
+     */
+    public static int parse(CharSequence color, int start, int end, boolean lenient) {
+        long result = decode(color, start, end, lenient);
+        if (result < 0)
+            throw new IllegalArgumentException(message(color, start, end, result));
+        return (int) result;
+    }
+
+    /**
+     * Method to leniently parse a color, never throws
+     *
+     * @param color    color code, eg. "#ff9a9e" or "ff9a9e", may be null
+     * @param fallback color returned if the color is not valid
+     * @return packed ARGB color, or fallback
+     */
+    public static int parseOrDefault(CharSequence color, int fallback) {
+        if (color == null) return fallback;
+
+        long result = decode(color, 0, color.length(), true);
+        return result < 0 ? fallback : (int) result;
+    }
+
+    /**
+     * Method to check whether a color code is valid
+     *
+     * @param color   color code
+     * @param lenient true to ignore surrounding whitespace and a missing '#'
+     * @return true if the color can be parsed
+     */
+    public static boolean isValid(CharSequence color, boolean lenient) {
+        return color != null && decode(color, 0, color.length(), lenient) >= 0;
+    }
+
+    /**
+     * Method to parse an array of colors into output array
+     *
+     * @param colors  color codes
+     * @param out     output array, at least offset + colors.length long
+     * @param offset  index of out receiving the first color
+     * @param lenient true to ignore surrounding whitespace and a missing '#'
+     * @throws IllegalArgumentException if a color is not valid, with its position and the reason
+     */
+    public static void parse(CharSequence[] colors, int[] out, int offset, boolean lenient) {
+        for (int i = 0; i < colors.length; i++) {
+            CharSequence color = colors[i];
+            long result = color == null ? ERROR_EMPTY : decode(color, 0, color.length(), lenient);
+
+            if (result < 0)
+                throw new IllegalArgumentException("Color " + i + ": "
+                        + message(color, 0, color == null ? 0 : color.length(), result));
+            out[offset + i] = (int) result;
+        }
+    }
+
+    /**
+     * Method to leniently parse an array of colors into output array, never throws
+     *
+     * @param colors   color codes, entries may be null
+     * @param out      output array, at least offset + colors.length long
+     * @param offset   index of out receiving the first color
+     * @param fallback color written for entries that are not valid
+     * @return number of entries that were not valid
+     */
+    public static int parseOrDefault(CharSequence[] colors, int[] out, int offset, int fallback) {
+        int invalid = 0;
+        for (int i = 0; i < colors.length; i++) {
+            CharSequence color = colors[i];
+            long result = color == null ? ERROR_EMPTY : decode(color, 0, color.length(), true);
+
+            if (result < 0) {
+                out[offset + i] = fallback;
+                invalid++;
+            } else {
+                out[offset + i] = (int) result;
+            }
+        }
+        return invalid;
+    }
+
+    private static long decode(CharSequence color, int start, int end, boolean lenient) {
+        if (lenient) {
+            while (start < end && color.charAt(start) <= ' ') start++;
+            while (end > start && color.charAt(end - 1) <= ' ') end--;
+        }
+
+        if (start >= end) return ERROR_EMPTY;
+
+        if (color.charAt(start) == '#') start++;
+        else if (!lenient) return ERROR_HASH;
+
+        int length = end - start;
+        if (length != 3 && length != 6 && length != 8) return ERROR_LENGTH;
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = digit(color.charAt(i));
+            if (digit < 0) return ERROR_DIGIT - i;
+            value = (value << 4) | digit;
+        }
+
+        if (length == 3) {
+            // #RGB, every digit doubled
+            int r = (value >> 8) & 0xf;
+            int g = (value >> 4) & 0xf;
+            int b = value & 0xf;
+            value = 0xff000000 | (r * 0x11 << 16) | (g * 0x11 << 8) | b * 0x11;
+        } else if (length == 6) {
+            value |= 0xff000000;
+        }
+        return value & 0xffffffffL;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    private static String message(CharSequence color, int start, int end, long error) {
+        String text = color == null ? "null" : "\"" + color.subSequence(start, end) + "\"";
+
+        if (error == ERROR_EMPTY)
+            return "Invalid color " + text + ", empty";
+        if (error == ERROR_HASH)
+            return "Invalid color " + text + ", missing '#'";
+        if (error == ERROR_LENGTH)
+            return "Invalid color " + text + ", expected #RGB, #RRGGBB or #AARRGGBB";
+
+        int index = (int) (ERROR_DIGIT - error);
+        return "Invalid color " + text + ", '" + color.charAt(index) + "' at index "
+                + (index - start) + " is not a hex digit";
+    }
+}
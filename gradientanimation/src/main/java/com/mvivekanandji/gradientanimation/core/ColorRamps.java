@@ -0,0 +1,245 @@
+package com.mvivekanandji.gradientanimation.core;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Precomputed color ramps for interpolating in linear RGB or OKLab.
+ * <p>
+ * Interpolating sRGB values directly darkens and greys the midpoints of a transition. Linear RGB
+ * and OKLab (https://bottosson.github.io/posts/oklab/) give brighter and perceptually even
+ * midpoints, but need pow and cbrt per channel. A ramp samples one color stop transition at
+ * {@link #SAMPLES} evenly spaced fractions ahead of time; evaluating it is one table index and one
+ * plain channel lerp between two neighbouring samples, the same work as an sRGB lerp. A ramp takes
+ * {@link #SAMPLES} ints, built once per stop and keyframe. Alpha is always interpolated linearly.
+ * Pure java, no android dependency, so it can be used from JVM tests and benchmarks.
+ */
+public final class ColorRamps {
+
+    /**
+     * interpolate the sRGB encoded channels, no ramps are needed
+     */
+    public static final int SRGB = 0;
+    /**
+     * interpolate linear light RGB channels
+     */
+    public static final int LINEAR_RGB = 1;
+    /**
+     * interpolate in the OKLab perceptual color space
+     */
+    public static final int OKLAB = 2;
+
+    /**
+     * number of samples of every ramp, both ends included.
+     * Lerping neighbouring samples stays within a few levels of the exact color, the largest
+     * errors being where a channel leaves or reaches 0, eg. at most 8 for red to green in OKLab.
+     */
+    public static final int SAMPLES = 65;
+
+    /**
+     * number of floats of the working array of {@link #update}
+     */
+    public static final int SCRATCH_SIZE = 9;
+
+    private static final float[] TO_LINEAR = new float[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            double c = i / 255.0;
+            TO_LINEAR[i] = (float) (c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4));
+        }
+    }
+
+    private ColorRamps() {
+    }
+
+    /**
+     * Method to build the ramps of the transition into every keyframe, from the previous keyframe
+     * (the last one for keyframe 0).
+     * The ramps of keyframe i start at index i * stopCount * {@link #SAMPLES}, sample by sample,
+     * so the stops of one sample are next to each other like the colors of a keyframe.
+     *
+     * @param colors    packed colors, stopCount per keyframe
+     * @param size      number of keyframes
+     * @param stopCount number of color stops of every keyframe
+     * @param space     {@link #SRGB}, {@link #LINEAR_RGB} or {@link #OKLAB}
+     * @return ramps, or null for {@link #SRGB}
+     */
+    public static int[] build(int[] colors, int size, int stopCount, int space) {
+        checkSpace(space);
+        if (space == SRGB || size == 0) return null;
+
+        int[] ramps = new int[size * stopCount * SAMPLES];
+        float[] scratch = new float[SCRATCH_SIZE];
+        for (int i = 0; i < size; i++)
+            fill(ramps, colors, size, stopCount, space, i, scratch);
+        return ramps;
+    }
+
+    /**
+     * Method to rebuild in place the ramps affected by new colors of one keyframe,
+     * the transitions into it and out of it, allocates nothing
+     *
+     * @param ramps     ramps built by {@link #build(int[], int, int, int)}
+     * @param colors    packed colors, already holding the new colors of the keyframe
+     * @param size      number of keyframes
+     * @param stopCount number of color stops of every keyframe
+     * @param space     {@link #LINEAR_RGB} or {@link #OKLAB}, the space the ramps were built in
+     * @param index     index of the changed keyframe
+     * @param scratch   working array of at least {@link #SCRATCH_SIZE} floats
+     */
+    public static void update(int[] ramps, int[] colors, int size, int stopCount, int space,
+                              int index, float[] scratch) {
+        fill(ramps, colors, size, stopCount, space, index, scratch);
+        if (size > 1) fill(ramps, colors, size, stopCount, space, (index + 1) % size, scratch);
+    }
+
+    /**
+     * Method to evaluate the ramps of a keyframe into output array
+     *
+     * @param ramps     ramps built by {@link #build(int[], int, int, int)}
+     * @param index     keyframe index
+     * @param stopCount number of color stops of every keyframe
+     * @param fraction  fraction in the range 0 to 1
+     * @param out       output array, written from index 0
+     */
+    public static void evaluate(int[] ramps, int index, int stopCount, float fraction, int[] out) {
+        float position = fraction * (SAMPLES - 1);
+        int sample = Math.max(0, Math.min((int) position, SAMPLES - 2));
+
+        int offset = (index * SAMPLES + sample) * stopCount;
+        ColorMath.lerp(ramps, offset, ramps, offset + stopCount, position - sample, out, stopCount);
+    }
+
+    /**
+     * Method to interpolate two colors in a color space directly, with pow and cbrt.
+     * Used to build ramps and to verify them, too slow for every frame.
+     *
+     * @param from     start color
+     * @param to       end color
+     * @param fraction fraction in the range 0 to 1
+     * @param space    {@link #SRGB}, {@link #LINEAR_RGB} or {@link #OKLAB}
+     * @return interpolated color
+     */
+    public static int mix(int from, int to, float fraction, int space) {
+        checkSpace(space);
+        if (space == SRGB) return ColorMath.lerp(from, to, fraction);
+
+        float[] value = new float[6];
+        toSpace(from, space, value, 0);
+        toSpace(to, space, value, 3);
+        for (int c = 0; c < 3; c++)
+            value[c] += (value[3 + c] - value[c]) * fraction;
+
+        int alpha = Math.round((from >>> 24) + ((to >>> 24) - (from >>> 24)) * fraction);
+        return fromSpace(value, 0, space, alpha);
+    }
+
+    /**
+     * Method to build the ramps of the transition into one keyframe, scratch holds the from,
+     * to and mixed color at offsets 0, 3 and 6
+     */
+    private static void fill(int[] ramps, int[] colors, int size, int stopCount, int space,
+                             int index, float[] scratch) {
+        int previous = index == 0 ? size - 1 : index - 1;
+        int base = index * stopCount * SAMPLES;
+
+        for (int s = 0; s < stopCount; s++) {
+            int fromColor = colors[previous * stopCount + s];
+            int toColor = colors[index * stopCount + s];
+            toSpace(fromColor, space, scratch, 0);
+            toSpace(toColor, space, scratch, 3);
+
+            ramps[base + s] = fromColor;
+            ramps[base + (SAMPLES - 1) * stopCount + s] = toColor;
+
+            for (int k = 1; k < SAMPLES - 1; k++) {
+                float fraction = k / (float) (SAMPLES - 1);
+                for (int c = 0; c < 3; c++)
+                    scratch[6 + c] = scratch[c] + (scratch[3 + c] - scratch[c]) * fraction;
+
+                int alpha = Math.round((fromColor >>> 24)
+                        + ((toColor >>> 24) - (fromColor >>> 24)) * fraction);
+                ramps[base + k * stopCount + s] = fromSpace(scratch, 6, space, alpha);
+            }
+        }
+    }
+
+    private static void checkSpace(int space) {
+        if (space < SRGB || space > OKLAB)
+            throw new IllegalArgumentException("Unknown interpolation space " + space);
+    }
+
+    private static void toSpace(int color, int space, float[] out, int offset) {
+        float r = TO_LINEAR[(color >> 16) & 0xff];
+        float g = TO_LINEAR[(color >> 8) & 0xff];
+        float b = TO_LINEAR[color & 0xff];
+
+        if (space == LINEAR_RGB) {
+            out[offset] = r;
+            out[offset + 1] = g;
+            out[offset + 2] = b;
+            return;
+        }
+
+        double l = Math.cbrt(0.4122214708 * r + 0.5363325363 * g + 0.0514459929 * b);
+        double m = Math.cbrt(0.2119034982 * r + 0.6806995451 * g + 0.1073969566 * b);
+        double s = Math.cbrt(0.0883024619 * r + 0.2817188376 * g + 0.6299787005 * b);
+
+        out[offset] = (float) (0.2104542553 * l + 0.7936177850 * m - 0.0040720468 * s);
+        out[offset + 1] = (float) (1.9779984951 * l - 2.4285922050 * m + 0.4505937099 * s);
+        out[offset + 2] = (float) (0.0259040371 * l + 0.7827717662 * m - 0.8086757660 * s);
+    }
+
+    private static int fromSpace(float[] value, int offset, int space, int alpha) {
+        double r;
+        double g;
+        double b;
+
+        if (space == LINEAR_RGB) {
+            r = value[offset];
+            g = value[offset + 1];
+            b = value[offset + 2];
+        } else {
+            float labL = value[offset];
+            float labA = value[offset + 1];
+            float labB = value[offset + 2];
+            double l = labL + 0.3963377774 * labA + 0.2158037573 * labB;
+            double m = labL - 0.1055613458 * labA - 0.0638541728 * labB;
+            double s = labL - 0.0894841775 * labA - 1.2914855480 * labB;
+            l = l * l * l;
+            m = m * m * m;
+            s = s * s * s;
+
+            r = 4.0767416621 * l - 3.3077115913 * m + 0.2309699292 * s;
+            g = -1.2684380046 * l + 2.6097574011 * m - 0.3413193965 * s;
+            b = -0.0041960863 * l - 0.7034186147 * m + 1.7076147010 * s;
+        }
+
+        return (alpha << 24) | (toSrgb(r) << 16) | (toSrgb(g) << 8) | toSrgb(b);
+    }
+
+    private static int toSrgb(double linear) {
+        if (linear <= 0) return 0;
+        if (linear >= 1) return 255;
+
+        double c = linear <= 0.0031308 ? linear * 12.92 : 1.055 * Math.pow(linear, 1 / 2.4) - 0.055;
+        return (int) Math.round(c * 255);
+    }
+}
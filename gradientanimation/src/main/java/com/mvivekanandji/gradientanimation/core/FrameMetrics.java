@@ -0,0 +1,302 @@
+package com.mvivekanandji.gradientanimation.core;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Runtime metrics of one animation: frames produced, invalidations, frames with unchanged
+ * output, a histogram of compute time per frame and time spent paused.
+ * <p>
+ * Drawables only create a FrameMetrics when a {@link Listener} is set, so disabled metrics cost
+ * a null check per frame. Values are cumulative until {@link #reset(long)}, the listener is called
+ * at most once per report interval and whenever the animation pauses. Recording never allocates.
+ */
+public final class FrameMetrics {
+
+    /**
+     * Sink for metrics reports
+     */
+    public interface Listener {
+        /**
+         * Method called with the current metrics, called on the thread driving the animation.
+         * The object is reused, read the values inside the call.
+         *
+         * @param metrics FrameMetrics of the animation
+         */
+        void onFrameMetrics(FrameMetrics metrics);
+    }
+
+    /**
+     * default time between two reports in milliseconds
+     */
+    public static final long DEFAULT_REPORT_INTERVAL = 1000;
+
+    /**
+     * number of compute time histogram buckets
+     */
+    public static final int BUCKET_COUNT = 12;
+
+    // the first bucket holds compute times below 2^FIRST_BUCKET_SHIFT nanoseconds (4 us)
+    private static final int FIRST_BUCKET_SHIFT = 12;
+
+    private static final long NONE = -1;
+
+    private final Listener listener;
+    private final long reportInterval;
+    private final long[] buckets = new long[BUCKET_COUNT];
+
+    private long frameCount;
+    private long invalidationCount;
+    private long unchangedCount;
+    private long idleCount;
+    private long idleMillis;
+    private long totalComputeNanos;
+    private long maxComputeNanos;
+    private long pausedTime;
+    private long pausedAt = NONE;
+    private long lastReportTime = NONE;
+
+    /**
+     * Constructor
+     *
+     * @param listener Listener receiving reports
+     */
+    public FrameMetrics(Listener listener) {
+        this(listener, DEFAULT_REPORT_INTERVAL);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param listener       Listener receiving reports
+     * @param reportInterval minimum time between two reports in milliseconds
+     */
+    public FrameMetrics(Listener listener, long reportInterval) {
+        this.listener = listener;
+        this.reportInterval = Math.max(0, reportInterval);
+    }
+
+    /**
+     * Method to record one animation frame
+     *
+     * @param frameTimeMillis frame time in the SystemClock.uptimeMillis() time base
+     * @param computeNanos    time spent computing the frame
+     * @param changed         true if the output changed and the drawable was invalidated
+     */
+    public void recordFrame(long frameTimeMillis, long computeNanos, boolean changed) {
+        frameCount++;
+        if (changed)
+            invalidationCount++;
+        else
+            unchangedCount++;
+
+        totalComputeNanos += computeNanos;
+        if (computeNanos > maxComputeNanos) maxComputeNanos = computeNanos;
+        buckets[bucketOf(computeNanos)]++;
+
+        if (lastReportTime == NONE) {
+            lastReportTime = frameTimeMillis;
+        } else if (frameTimeMillis - lastReportTime >= reportInterval) {
+            lastReportTime = frameTimeMillis;
+            listener.onFrameMetrics(this);
+        }
+    }
+
+    /**
+     * Method to record that the frame just recorded needs no frame before a delay,
+     * because the output cannot change earlier
+     *
+     * @param idleMillis milliseconds until the next frame is needed
+     */
+    public void recordIdle(long idleMillis) {
+        if (idleMillis <= 0) return;
+
+        idleCount++;
+        this.idleMillis += idleMillis;
+    }
+
+    /**
+     * Method to record that the animation was paused, reports the metrics so far
+     *
+     * @param timeMillis time in the SystemClock.uptimeMillis() time base
+     */
+    public void recordPause(long timeMillis) {
+        if (pausedAt != NONE) return;
+
+        pausedAt = timeMillis;
+        listener.onFrameMetrics(this);
+    }
+
+    /**
+     * Method to record that the animation continues after a pause
+     *
+     * @param timeMillis time in the SystemClock.uptimeMillis() time base
+     */
+    public void recordResume(long timeMillis) {
+        if (pausedAt == NONE) return;
+
+        pausedTime += Math.max(0, timeMillis - pausedAt);
+        pausedAt = NONE;
+    }
+
+    /**
+     * Method to clear every value, a running pause keeps counting from now
+     *
+     * @param timeMillis time in the SystemClock.uptimeMillis() time base
+     */
+    public void reset(long timeMillis) {
+        frameCount = 0;
+        invalidationCount = 0;
+        unchangedCount = 0;
+        idleCount = 0;
+        idleMillis = 0;
+        totalComputeNanos = 0;
+        maxComputeNanos = 0;
+        pausedTime = 0;
+        if (pausedAt != NONE) pausedAt = timeMillis;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            buckets[i] = 0;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of frames computed
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of frames which invalidated the drawable
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of frames skipped because the output did not change
+     */
+    public long getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of frames after which the animation skipped frames until its next change
+     */
+    public long getIdleCount() {
+        return idleCount;
+    }
+
+    /**
+     * Getter - to get the time no frames were requested because the output could not change,
+     * divided by the frame interval it is the number of frames saved
+     *
+     * @return idle time in milliseconds
+     */
+    public long getIdleMillis() {
+        return idleMillis;
+    }
+
+    /**
+     * Getter
+     *
+     * @return total compute time in nanoseconds
+     */
+    public long getTotalComputeNanos() {
+        return totalComputeNanos;
+    }
+
+    /**
+     * Getter
+     *
+     * @return longest compute time of a frame in nanoseconds
+     */
+    public long getMaxComputeNanos() {
+        return maxComputeNanos;
+    }
+
+    /**
+     * Getter
+     *
+     * @return time spent in completed pauses in milliseconds
+     */
+    public long getPausedTimeMillis() {
+        return pausedTime;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if the animation is paused
+     */
+    public boolean isPaused() {
+        return pausedAt != NONE;
+    }
+
+    /**
+     * Getter - to get number of frames in a compute time histogram bucket
+     *
+     * @param bucket bucket index, 0 to {@link #BUCKET_COUNT} - 1
+     * @return number of frames
+     */
+    public long getBucketCount(int bucket) {
+        return buckets[bucket];
+    }
+
+    /**
+     * Getter - to get the exclusive upper bound of a histogram bucket, buckets double in size
+     *
+     * @param bucket bucket index, 0 to {@link #BUCKET_COUNT} - 1
+     * @return upper bound in nanoseconds, Long.MAX_VALUE for the last bucket
+     */
+    public static long getBucketUpperBoundNanos(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << (FIRST_BUCKET_SHIFT + bucket);
+    }
+
+    /**
+     * Getter - to get an upper estimate of a compute time percentile from the histogram
+     *
+     * @param percentile percentile from 0 to 100
+     * @return bucket upper bound in nanoseconds, the maximum for the last bucket, 0 without frames
+     */
+    public long getComputeNanosPercentile(float percentile) {
+        if (frameCount == 0) return 0;
+
+        long rank = (long) Math.ceil(frameCount * Math.min(100f, Math.max(0f, percentile)) / 100f);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0)
+                return Math.min(getBucketUpperBoundNanos(i), maxComputeNanos);
+        }
+        return maxComputeNanos;
+    }
+
+    private static int bucketOf(long nanos) {
+        int bits = 64 - Long.numberOfLeadingZeros(nanos);
+        return Math.min(BUCKET_COUNT - 1, Math.max(0, bits - FIRST_BUCKET_SHIFT));
+    }
+}
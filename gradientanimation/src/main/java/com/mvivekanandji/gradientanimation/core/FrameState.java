@@ -0,0 +1,134 @@
+package com.mvivekanandji.gradientanimation.core;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Mutable output of {@link Keyframes#evaluate(long, boolean, FrameState)}.
+ * One instance is reused for every frame, so evaluating a frame does not allocate.
+ */
+public final class FrameState {
+
+    /**
+     * interpolated color stops
+     */
+    public final int[] colors;
+    /**
+     * interpolated corner radii, same layout as Gradient#getRadii()
+     */
+    public final float[] radii = new float[8];
+    /**
+     * Gradient.Orientation ordinal
+     */
+    public int orientation;
+    /**
+     * angle of the angle track in degrees, NaN without one, see {@link GradientGeometry#resolve}
+     */
+    public float angle = Float.NaN;
+    /**
+     * GradientGeometry.LINEAR, RADIAL or SWEEP
+     */
+    public int type;
+    /**
+     * radial or sweep center x as fraction of the width
+     */
+    public float centerX = 0.5f;
+    /**
+     * radial or sweep center y as fraction of the height
+     */
+    public float centerY = 0.5f;
+    /**
+     * radial radius, see {@link GradientGeometry#resolveRadius}
+     */
+    public float gradientRadius = 1f;
+    /**
+     * index of the keyframe being shown (or faded in)
+     */
+    public int keyframe;
+    /**
+     * true while blending from the previous keyframe, false while a keyframe is held
+     */
+    public boolean transition;
+    /**
+     * blend fraction from the previous keyframe, 1 while a keyframe is held
+     */
+    public float fraction = 1f;
+    /**
+     * true while blending from or to a radial or sweep keyframe, drawn as layers faded by fraction
+     */
+    public boolean layered;
+
+    /**
+     * Constructor
+     *
+     * @param stopCount number of color stops
+     */
+    public FrameState(int stopCount) {
+        colors = new int[stopCount];
+    }
+
+    /**
+     * Method to check whether two states produce the same output
+     *
+     * @param other FrameState with the same stop count
+     * @return true if colors, radii, geometry and blend are equal,
+     * fractions of layered blends as the 8 bit alpha they are drawn with
+     */
+    public boolean sameAs(FrameState other) {
+        if (orientation != other.orientation || type != other.type) return false;
+        if (Float.floatToIntBits(angle) != Float.floatToIntBits(other.angle)) return false;
+        if (centerX != other.centerX || centerY != other.centerY
+                || gradientRadius != other.gradientRadius) return false;
+        // layered blends fade by the fraction even for equal colors, linear ones show only colors
+        if (layered != other.layered) return false;
+        if (layered && alphaOf(fraction) != alphaOf(other.fraction)) return false;
+
+        for (int i = 0; i < colors.length; i++)
+            if (colors[i] != other.colors[i]) return false;
+
+        for (int i = 0; i < radii.length; i++)
+            if (radii[i] != other.radii[i]) return false;
+
+        return true;
+    }
+
+    private static int alphaOf(float fraction) {
+        return Math.round(fraction * 255);
+    }
+
+    /**
+     * Method to copy another state into this one
+     *
+     * @param other FrameState with the same stop count
+     */
+    public void set(FrameState other) {
+        System.arraycopy(other.colors, 0, colors, 0, colors.length);
+        System.arraycopy(other.radii, 0, radii, 0, radii.length);
+        orientation = other.orientation;
+        angle = other.angle;
+        type = other.type;
+        centerX = other.centerX;
+        centerY = other.centerY;
+        gradientRadius = other.gradientRadius;
+        fraction = other.fraction;
+        keyframe = other.keyframe;
+        transition = other.transition;
+        layered = other.layered;
+    }
+}
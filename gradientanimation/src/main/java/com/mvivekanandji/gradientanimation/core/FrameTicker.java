@@ -0,0 +1,424 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Frame ticker shared by all running animations.
+ * <p>
+ * Every registered {@link Callback} is advanced once per frame in a single pass, and only the
+ * callbacks reporting a changed output are invalidated. Only one frame request is outstanding
+ * with the {@link FrameSource} no matter how many animations are registered.
+ * <p>
+ * Frame rate can be capped globally and per callback. Callbacks which are not due yet are
+ * skipped, and when no callback is due on the next vsync the frame is requested with a delay,
+ * so capped animations also save the wakeups and not only the draws. The ticker can be paused
+ * as a whole, eg. while system animations are turned off.
+ * <p>
+ * A {@link DelayedCallback} can tell after each frame how long its output cannot change, eg.
+ * a slow fade between close colors. It is not called again before that time unless woken with
+ * {@link #wake(Callback)}, and if nothing else is due no frame is requested until then.
+ * Not thread safe, all calls must happen on the thread the FrameSource delivers frames on.
+ */
+public final class FrameTicker {
+
+    /**
+     * Animation driven by the ticker
+     */
+    public interface Callback {
+        /**
+         * Method to advance the animation
+         *
+         * @param frameTimeMillis frame time in the SystemClock.uptimeMillis() time base
+         * @return true if the output changed and should be redrawn
+         */
+        boolean onFrame(long frameTimeMillis);
+
+        /**
+         * Method called after {@link #onFrame(long)} returned true
+         */
+        void onInvalidate();
+    }
+
+    /**
+     * Animation which knows when its output changes next
+     */
+    public interface DelayedCallback extends Callback {
+        /**
+         * Method called after {@link #onFrame(long)}
+         *
+         * @return milliseconds from the frame time until the output may change,
+         * 0 to be called on the next frame
+         */
+        long getNextFrameDelay();
+    }
+
+    /**
+     * Source of frames, eg. Choreographer on android or a virtual clock in tests
+     */
+    public interface FrameSource {
+        /**
+         * Method to request a single call to {@link FrameTicker#doFrame(long)} on the first
+         * frame after the delay
+         *
+         * @param ticker      FrameTicker to call back
+         * @param delayMillis delay in milliseconds, 0 for the next frame
+         */
+        void postFrame(FrameTicker ticker, long delayMillis);
+
+        /**
+         * Method to cancel the request made with {@link #postFrame(FrameTicker, long)}
+         *
+         * @param ticker FrameTicker
+         */
+        void cancelFrame(FrameTicker ticker);
+    }
+
+    /**
+     * max frame rate meaning every frame of the display
+     */
+    public static final int UNLIMITED = 0;
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final FrameSource frameSource;
+    private final List<Entry> entries = new ArrayList<>();
+
+    private int maxFrameRate = UNLIMITED;
+    private boolean paused;
+
+    private boolean framePosted;
+    private long postedDelay;
+    private boolean inFrame;
+    private boolean hasRemovals;
+    private boolean woken;
+
+    private long frameCount;
+    private long callbackCount;
+    private long skippedCount;
+    private long deferredCount;
+    private long invalidationCount;
+
+    /**
+     * Constructor
+     *
+     * @param frameSource FrameSource delivering frames
+     */
+    public FrameTicker(FrameSource frameSource) {
+        this.frameSource = frameSource;
+    }
+
+    /**
+     * Method to register an animation running at the display frame rate
+     *
+     * @param callback Callback
+     */
+    public void register(Callback callback) {
+        register(callback, UNLIMITED);
+    }
+
+    /**
+     * Method to register an animation, registering again only updates the frame rate
+     *
+     * @param callback     Callback
+     * @param maxFrameRate frames per second, {@link #UNLIMITED} for the display frame rate
+     */
+    public void register(Callback callback, int maxFrameRate) {
+        Entry entry = find(callback);
+
+        if (entry != null) {
+            entry.interval = toInterval(maxFrameRate);
+            return;
+        }
+
+        entries.add(new Entry(callback, toInterval(maxFrameRate)));
+
+        // a new animation draws its first frame right away
+        if (framePosted && postedDelay > 0) cancelFrame();
+        postFrameIfNeeded(0);
+    }
+
+    /**
+     * Method to unregister an animation, safe to call from inside a frame
+     *
+     * @param callback Callback
+     */
+    public void unregister(Callback callback) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).callback != callback) continue;
+
+            if (inFrame) {
+                entries.get(i).callback = null;
+                hasRemovals = true;
+            } else {
+                entries.remove(i);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Method to call a delayed callback on the next frame, eg. after its animation was moved
+     *
+     * @param callback Callback
+     */
+    public void wake(Callback callback) {
+        Entry entry = find(callback);
+        if (entry == null || entry.wakeTime == NEVER) return;
+
+        entry.wakeTime = NEVER;
+        if (inFrame) {
+            woken = true;
+            return;
+        }
+        if (framePosted && postedDelay > 0) cancelFrame();
+        postFrameIfNeeded(0);
+    }
+
+    /**
+     * Getter
+     *
+     * @param callback Callback
+     * @return true if callback is registered
+     */
+    public boolean isRegistered(Callback callback) {
+        return find(callback) != null;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of registered animations
+     */
+    public int getRegisteredCount() {
+        int count = 0;
+        for (Entry entry : entries)
+            if (entry.callback != null) count++;
+        return count;
+    }
+
+    /**
+     * Method to cap the frame rate of every animation, per animation caps still apply
+     *
+     * @param maxFrameRate frames per second, {@link #UNLIMITED} for the display frame rate
+     */
+    public void setMaxFrameRate(int maxFrameRate) {
+        this.maxFrameRate = Math.max(UNLIMITED, maxFrameRate);
+
+        // the posted delay was computed with the old cap
+        if (framePosted && postedDelay > 0) {
+            cancelFrame();
+            postFrameIfNeeded(0);
+        }
+    }
+
+    /**
+     * Getter
+     *
+     * @return global frame rate cap, {@link #UNLIMITED} if not capped
+     */
+    public int getMaxFrameRate() {
+        return maxFrameRate;
+    }
+
+    /**
+     * Method to pause every animation, registrations are kept and no frames are requested
+     *
+     * @param paused true to pause, false to continue on the next frame
+     */
+    public void setPaused(boolean paused) {
+        if (this.paused == paused) return;
+
+        this.paused = paused;
+        if (paused)
+            cancelFrame();
+        else
+            postFrameIfNeeded(0);
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if paused with {@link #setPaused(boolean)}
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Method to advance every registered animation that is due, called by the FrameSource
+     *
+     * @param frameTimeMillis frame time in the SystemClock.uptimeMillis() time base
+     */
+    public void doFrame(long frameTimeMillis) {
+        framePosted = false;
+        if (paused) return;
+
+        frameCount++;
+        inFrame = true;
+
+        long globalInterval = toInterval(maxFrameRate);
+        long nextDelay = Long.MAX_VALUE;
+
+        // callbacks registered during the pass are appended and advanced in the same pass
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.callback == null) continue;
+
+            long interval = Math.max(globalInterval, entry.interval);
+            long wait = entry.lastFrameTime == NEVER ? 0
+                    : entry.lastFrameTime + interval - slack(interval) - frameTimeMillis;
+            long idle = entry.wakeTime == NEVER ? 0 : entry.wakeTime - frameTimeMillis;
+
+            if (wait > 0 || idle > 0) {
+                if (idle > wait)
+                    deferredCount++;
+                else
+                    skippedCount++;
+                nextDelay = Math.min(nextDelay, Math.max(wait, idle));
+                continue;
+            }
+
+            entry.lastFrameTime = frameTimeMillis;
+            entry.wakeTime = NEVER;
+            callbackCount++;
+            Callback callback = entry.callback;
+            if (callback.onFrame(frameTimeMillis)) {
+                invalidationCount++;
+                callback.onInvalidate();
+            }
+
+            long delay = 0;
+            if (callback instanceof DelayedCallback && entry.callback == callback) {
+                delay = ((DelayedCallback) callback).getNextFrameDelay();
+                if (delay > 0) entry.wakeTime = frameTimeMillis + delay;
+            }
+
+            nextDelay = Math.min(nextDelay, Math.max(interval - slack(interval), delay));
+        }
+
+        inFrame = false;
+        if (woken) {
+            woken = false;
+            nextDelay = 0;
+        }
+
+        if (hasRemovals) {
+            hasRemovals = false;
+            for (int i = entries.size() - 1; i >= 0; i--)
+                if (entries.get(i).callback == null) entries.remove(i);
+        }
+
+        postFrameIfNeeded(nextDelay == Long.MAX_VALUE ? 0 : nextDelay);
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of frames delivered to the ticker
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of times an animation was advanced
+     */
+    public long getCallbackCount() {
+        return callbackCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of times an animation was skipped because of a frame rate cap
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of times an animation was skipped because its output could not change yet
+     */
+    public long getDeferredCount() {
+        return deferredCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of invalidations issued
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    private Entry find(Callback callback) {
+        for (Entry entry : entries)
+            if (entry.callback == callback) return entry;
+        return null;
+    }
+
+    private void postFrameIfNeeded(long delayMillis) {
+        if (framePosted || inFrame || paused || entries.isEmpty()) return;
+
+        framePosted = true;
+        postedDelay = delayMillis;
+        frameSource.postFrame(this, delayMillis);
+    }
+
+    private void cancelFrame() {
+        if (!framePosted) return;
+
+        framePosted = false;
+        frameSource.cancelFrame(this);
+    }
+
+    private static long toInterval(int maxFrameRate) {
+        return maxFrameRate > 0 ? 1000L / maxFrameRate : 0;
+    }
+
+    // vsync times jitter, accept a frame arriving up to an eighth of the interval early
+    private static long slack(long interval) {
+        return interval / 8;
+    }
+
+    /**
+     * Registered callback with its frame rate cap
+     */
+    private static final class Entry {
+        Callback callback;
+        long interval;
+        long lastFrameTime = NEVER;
+        // frame time before which a delayed callback cannot change
+        long wakeTime = NEVER;
+
+        Entry(Callback callback, long interval) {
+            this.callback = callback;
+            this.interval = interval;
+        }
+    }
+}
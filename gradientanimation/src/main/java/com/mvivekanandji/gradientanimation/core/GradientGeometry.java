@@ -0,0 +1,194 @@
+package com.mvivekanandji.gradientanimation.core;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Gradient line geometry.
+ * Orientation values are the ordinals of Gradient.Orientation, and the resolved line matches
+ * the one android.graphics.drawable.GradientDrawable uses for the same orientation.
+ * Free angles are resolved like CSS linear-gradient: the line runs through the center and is
+ * just long enough for the first and last color to reach the farthest corners.
+ * Radial and sweep gradients have a center given as fractions of the bounds, radial radii are
+ * fractions of the distance from the center to the farthest corner.
+ */
+public final class GradientGeometry {
+
+    public static final int TOP_BOTTOM = 0;
+    public static final int TR_BL = 1;
+    public static final int RIGHT_LEFT = 2;
+    public static final int BR_TL = 3;
+    public static final int BOTTOM_TOP = 4;
+    public static final int BL_TR = 5;
+    public static final int LEFT_RIGHT = 6;
+    public static final int TL_BR = 7;
+
+    public static final int LINEAR = 0;
+    public static final int RADIAL = 1;
+    public static final int SWEEP = 2;
+
+    private GradientGeometry() {
+    }
+
+    /**
+     * Method to resolve start and end point of a linear gradient inside given bounds
+     *
+     * @param orientation Gradient.Orientation ordinal
+     * @param left        left bound
+     * @param top         top bound
+     * @param right       right bound
+     * @param bottom      bottom bound
+     * @param out         output array of 4 values [x0, y0, x1, y1]
+     */
+    public static void resolveLinear(int orientation, float left, float top, float right,
+                                     float bottom, float[] out) {
+        float x0, y0, x1, y1;
+
+        switch (orientation) {
+            case TOP_BOTTOM:
+                x0 = left; y0 = top; x1 = x0; y1 = bottom;
+                break;
+            case TR_BL:
+                x0 = right; y0 = top; x1 = left; y1 = bottom;
+                break;
+            case RIGHT_LEFT:
+                x0 = right; y0 = top; x1 = left; y1 = y0;
+                break;
+            case BR_TL:
+                x0 = right; y0 = bottom; x1 = left; y1 = top;
+                break;
+            case BOTTOM_TOP:
+                x0 = left; y0 = bottom; x1 = x0; y1 = top;
+                break;
+            case BL_TR:
+                x0 = left; y0 = bottom; x1 = right; y1 = top;
+                break;
+            case LEFT_RIGHT:
+                x0 = left; y0 = top; x1 = right; y1 = y0;
+                break;
+            case TL_BR:
+            default:
+                x0 = left; y0 = top; x1 = right; y1 = bottom;
+                break;
+        }
+
+        out[0] = x0;
+        out[1] = y0;
+        out[2] = x1;
+        out[3] = y1;
+    }
+
+    /**
+     * Method to resolve start and end point of a linear gradient at a free angle
+     *
+     * @param degrees angle counterclockwise from left to right like GradientDrawable's
+     *                android:angle, eg. 90 is bottom to top
+     * @param left    left bound
+     * @param top     top bound
+     * @param right   right bound
+     * @param bottom  bottom bound
+     * @param out     output array of 4 values [x0, y0, x1, y1]
+     */
+    public static void resolveAngle(float degrees, float left, float top, float right,
+                                    float bottom, float[] out) {
+        double radians = Math.toRadians(degrees);
+        float cos = (float) Math.cos(radians);
+        // screen y grows downwards
+        float sin = (float) -Math.sin(radians);
+
+        float halfLength = (Math.abs(cos) * (right - left) + Math.abs(sin) * (bottom - top)) / 2f;
+        float centerX = (left + right) / 2f;
+        float centerY = (top + bottom) / 2f;
+
+        out[0] = centerX - cos * halfLength;
+        out[1] = centerY - sin * halfLength;
+        out[2] = centerX + cos * halfLength;
+        out[3] = centerY + sin * halfLength;
+    }
+
+    /**
+     * Method to resolve the gradient line of a frame, the angle wins over the orientation
+     *
+     * @param orientation Gradient.Orientation ordinal
+     * @param degrees     free angle in degrees, NaN to use the orientation
+     * @param left        left bound
+     * @param top         top bound
+     * @param right       right bound
+     * @param bottom      bottom bound
+     * @param out         output array of 4 values [x0, y0, x1, y1]
+     */
+    public static void resolve(int orientation, float degrees, float left, float top,
+                               float right, float bottom, float[] out) {
+        if (Float.isNaN(degrees))
+            resolveLinear(orientation, left, top, right, bottom, out);
+        else
+            resolveAngle(degrees, left, top, right, bottom, out);
+    }
+
+    /**
+     * Method to resolve two points placing a gradient of any type in the bounds (0, 0) to
+     * (width, height): the gradient line of linear gradients, or the center and the point at
+     * the radius in the start direction of radial and sweep gradients. Sweep gradients start
+     * at 3 o'clock turned counterclockwise by the angle, radial gradients are the same at any
+     * angle. The transform between the points of two frames moves, scales and turns a shader.
+     *
+     * @param type        LINEAR, RADIAL or SWEEP
+     * @param orientation Gradient.Orientation ordinal of linear gradients, used if angle is NaN
+     * @param degrees     angle in degrees, or NaN
+     * @param centerX     center x as fraction of the width
+     * @param centerY     center y as fraction of the height
+     * @param radius      radius as fraction of the distance to the farthest corner
+     * @param width       width of the bounds
+     * @param height      height of the bounds
+     * @param out         output array of 4 values, x0, y0, x1, y1
+     */
+    public static void resolveShape(int type, int orientation, float degrees, float centerX,
+                                    float centerY, float radius, float width, float height,
+                                    float[] out) {
+        if (type == LINEAR) {
+            resolve(orientation, degrees, 0, 0, width, height, out);
+            return;
+        }
+
+        float pixels = resolveRadius(radius, centerX, centerY, width, height);
+        double radians = Float.isNaN(degrees) ? 0 : Math.toRadians(degrees);
+        out[0] = centerX * width;
+        out[1] = centerY * height;
+        // y grows downwards, counterclockwise on screen is a negative y step
+        out[2] = out[0] + (float) (pixels * Math.cos(radians));
+        out[3] = out[1] - (float) (pixels * Math.sin(radians));
+    }
+
+    /**
+     * Method to resolve the radius of a radial gradient in pixels
+     *
+     * @param radius  fraction of the distance from the center to the farthest corner
+     * @param centerX center x as fraction of the width
+     * @param centerY center y as fraction of the height
+     * @param width   width of the bounds
+     * @param height  height of the bounds
+     * @return radius in pixels
+     */
+    public static float resolveRadius(float radius, float centerX, float centerY, float width,
+                                      float height) {
+        float dx = Math.max(centerX, 1f - centerX) * width;
+        float dy = Math.max(centerY, 1f - centerY) * height;
+        return radius * (float) Math.hypot(dx, dy);
+    }
+}
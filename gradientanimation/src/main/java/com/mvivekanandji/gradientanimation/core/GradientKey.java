@@ -0,0 +1,129 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import java.util.Arrays;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Content address of a gradient: color array, orientation and corner radii.
+ * Two gradients with equal content produce equal keys, whatever object they came from.
+ * <p>
+ * A key can be reused as a lookup probe with {@link #set(int[], int, float[])}, which does not
+ * copy the arrays; {@link #copy()} makes an independent key suitable for storing in a map.
+ */
+public final class GradientKey {
+
+    private static final float[] NO_RADII = new float[0];
+
+    private int[] colors;
+    private int orientation;
+    private float[] radii;
+    private int hash;
+
+    /**
+     * Constructor - creates an empty probe key
+     */
+    public GradientKey() {
+        colors = new int[0];
+        radii = NO_RADII;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param colors      color array
+     * @param orientation Gradient.Orientation ordinal
+     * @param radii       corner radii, may be null
+     */
+    public GradientKey(int[] colors, int orientation, float[] radii) {
+        set(colors.clone(), orientation, radii == null ? NO_RADII : radii.clone());
+    }
+
+    /**
+     * Method to point this key at new content, arrays are referenced and not copied
+     *
+     * @param colors      color array
+     * @param orientation Gradient.Orientation ordinal
+     * @param radii       corner radii, may be null
+     * @return this object
+     */
+    public GradientKey set(int[] colors, int orientation, float[] radii) {
+        this.colors = colors;
+        this.orientation = orientation;
+        this.radii = radii == null ? NO_RADII : radii;
+
+        int result = Arrays.hashCode(colors);
+        result = 31 * result + orientation;
+        result = 31 * result + radiiHash(this.radii);
+        hash = result;
+        return this;
+    }
+
+    /**
+     * Method to get an independent copy of this key
+     *
+     * @return new GradientKey
+     */
+    public GradientKey copy() {
+        return new GradientKey(colors, orientation, radii);
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of colors
+     */
+    public int getColorCount() {
+        return colors.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GradientKey)) return false;
+
+        GradientKey other = (GradientKey) o;
+        return hash == other.hash
+                && orientation == other.orientation
+                && Arrays.equals(colors, other.colors)
+                && radiiEqual(radii, other.radii);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    // missing radii and all zero radii describe the same square corners
+    private static int radiiHash(float[] radii) {
+        return isSquare(radii) ? 0 : Arrays.hashCode(radii);
+    }
+
+    private static boolean radiiEqual(float[] a, float[] b) {
+        if (isSquare(a)) return isSquare(b);
+        return Arrays.equals(a, b);
+    }
+
+    private static boolean isSquare(float[] radii) {
+        for (float radius : radii)
+            if (radius != 0f) return false;
+        return true;
+    }
+}
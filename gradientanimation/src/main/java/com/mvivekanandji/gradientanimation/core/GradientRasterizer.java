@@ -0,0 +1,254 @@
+package com.mvivekanandji.gradientanimation.core;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Pure Java rasterizer of one gradient frame into an ARGB buffer.
+ * <p>
+ * The gradient line is the one of {@link GradientGeometry#resolve}, colors are sampled at
+ * pixel centers with evenly spaced stops and clamped ends like LinearGradient with
+ * Shader.TileMode.CLAMP. Radial gradients spread from their center like RadialGradient, sweep
+ * gradients go clockwise from 3 o'clock like SweepGradient, turned by the angle if there is one.
+ * Corner radii are scaled down to fit the bounds like a round rect path
+ * and their edges get an analytic coverage instead of the anti aliasing of the device.
+ * <p>
+ * Rows are independent, so callers can split a frame into row ranges across threads.
+ * Output pixels are unpremultiplied ARGB, the layout of Bitmap#getPixels.
+ */
+public final class GradientRasterizer {
+
+    private GradientRasterizer() {
+    }
+
+    /**
+     * Method to render a whole frame
+     *
+     * @param state  FrameState to render
+     * @param width  width in pixels
+     * @param height height in pixels
+     * @param out    output array of at least width * height pixels, row by row
+     */
+    public static void render(FrameState state, int width, int height, int[] out) {
+        renderRows(state, width, height, 0, height, out);
+    }
+
+    /**
+     * Method to render a range of rows of a frame, with the gradient type of the state
+     *
+     * @param state   FrameState to render
+     * @param width   width in pixels
+     * @param height  height in pixels
+     * @param fromRow first row, inclusive
+     * @param toRow   last row, exclusive
+     * @param out     output array of the whole frame, only the given rows are written
+     */
+    public static void renderRows(FrameState state, int width, int height, int fromRow,
+                                  int toRow, int[] out) {
+        if (state.type == GradientGeometry.LINEAR)
+            renderRows(state.colors, state.orientation, state.angle, state.radii, width, height,
+                    fromRow, toRow, out);
+        else
+            renderShape(state, width, height, fromRow, toRow, out);
+    }
+
+    /**
+     * Method to render a range of rows of a frame
+     *
+     * @param colors      color stops, at least one
+     * @param orientation Gradient.Orientation ordinal
+     * @param radii       8 corner radii, may be null
+     * @param width       width in pixels
+     * @param height      height in pixels
+     * @param fromRow     first row, inclusive
+     * @param toRow       last row, exclusive
+     * @param out         output array of the whole frame, only the given rows are written
+     */
+    public static void renderRows(int[] colors, int orientation, float[] radii, int width,
+                                  int height, int fromRow, int toRow, int[] out) {
+        renderRows(colors, orientation, Float.NaN, radii, width, height, fromRow, toRow, out);
+    }
+
+    /**
+     * Method to render a range of rows of a frame at a free angle
+     *
+     * @param colors      color stops, at least one
+     * @param orientation Gradient.Orientation ordinal, used if angle is NaN
+     * @param angle       angle in degrees, see {@link GradientGeometry#resolveAngle}
+     * @param radii       8 corner radii, may be null
+     * @param width       width in pixels
+     * @param height      height in pixels
+     * @param fromRow     first row, inclusive
+     * @param toRow       last row, exclusive
+     * @param out         output array of the whole frame, only the given rows are written
+     */
+    public static void renderRows(int[] colors, int orientation, float angle, float[] radii,
+                                  int width, int height, int fromRow, int toRow, int[] out) {
+        float[] line = new float[4];
+        GradientGeometry.resolve(orientation, angle, 0, 0, width, height, line);
+
+        float dx = line[2] - line[0];
+        float dy = line[3] - line[1];
+        float lengthSquared = dx * dx + dy * dy;
+        // the parameter along the gradient line changes linearly with x
+        float stepX = lengthSquared == 0f ? 0f : dx / lengthSquared;
+        float stepY = lengthSquared == 0f ? 0f : dy / lengthSquared;
+
+        float[] corners = fitRadii(radii, width, height);
+        int last = colors.length - 1;
+
+        for (int y = fromRow; y < toRow; y++) {
+            float rowStart = (0.5f - line[0]) * stepX + (y + 0.5f - line[1]) * stepY;
+            int offset = y * width;
+
+            for (int x = 0; x < width; x++) {
+                int color = sample(colors, last, rowStart + x * stepX);
+                if (corners != null) color = applyCoverage(color, coverage(corners, x, y, width, height));
+                out[offset + x] = color;
+            }
+        }
+    }
+
+    /**
+     * Method to render rows of a radial or sweep frame
+     */
+    private static void renderShape(FrameState state, int width, int height, int fromRow,
+                                    int toRow, int[] out) {
+        int[] colors = state.colors;
+        int last = colors.length - 1;
+        float centerX = state.centerX * width;
+        float centerY = state.centerY * height;
+        boolean radial = state.type == GradientGeometry.RADIAL;
+
+        float radius = GradientGeometry.resolveRadius(state.gradientRadius, state.centerX,
+                state.centerY, width, height);
+        float inverseRadius = radius > 0f ? 1f / radius : 0f;
+        // the sweep starts at 3 o'clock, angles turn it counterclockwise like linear angles
+        float start = Float.isNaN(state.angle) ? 0f : -state.angle;
+        float[] corners = fitRadii(state.radii, width, height);
+
+        for (int y = fromRow; y < toRow; y++) {
+            float dy = y + 0.5f - centerY;
+            int offset = y * width;
+
+            for (int x = 0; x < width; x++) {
+                float dx = x + 0.5f - centerX;
+                float position;
+
+                if (radial) {
+                    position = (float) Math.sqrt(dx * dx + dy * dy) * inverseRadius;
+                } else {
+                    // y grows downwards, so atan2 is clockwise on screen
+                    float degrees = (float) Math.toDegrees(Math.atan2(dy, dx)) - start;
+                    position = degrees / 360f;
+                    position -= (float) Math.floor(position);
+                }
+
+                int color = sample(colors, last, position);
+                if (corners != null) color = applyCoverage(color, coverage(corners, x, y, width, height));
+                out[offset + x] = color;
+            }
+        }
+    }
+
+    private static int sample(int[] colors, int last, float position) {
+        if (last == 0 || position <= 0f) return colors[0];
+        if (position >= 1f) return colors[last];
+
+        float scaled = position * last;
+        int stop = Math.min(last - 1, (int) scaled);
+        return ColorMath.lerp(colors[stop], colors[stop + 1], scaled - stop);
+    }
+
+    /**
+     * Method to scale corner radii down so that adjacent corners do not overlap
+     *
+     * @param radii  8 corner radii, may be null
+     * @param width  width in pixels
+     * @param height height in pixels
+     * @return scaled radii, null if every corner is square
+     */
+    static float[] fitRadii(float[] radii, int width, int height) {
+        if (radii == null) return null;
+
+        boolean rounded = false;
+        for (float radius : radii)
+            if (radius > 0f) rounded = true;
+        if (!rounded) return null;
+
+        float[] fitted = new float[8];
+        for (int i = 0; i < 8; i++)
+            fitted[i] = Math.max(0f, radii[i]);
+
+        // top, right, bottom and left edges, same rule as a round rect path
+        float scale = 1f;
+        scale = Math.min(scale, fit(width, fitted[0], fitted[2]));
+        scale = Math.min(scale, fit(height, fitted[3], fitted[5]));
+        scale = Math.min(scale, fit(width, fitted[4], fitted[6]));
+        scale = Math.min(scale, fit(height, fitted[7], fitted[1]));
+
+        if (scale < 1f)
+            for (int i = 0; i < 8; i++)
+                fitted[i] *= scale;
+        return fitted;
+    }
+
+    private static float fit(float edge, float first, float second) {
+        float sum = first + second;
+        return sum > edge ? edge / sum : 1f;
+    }
+
+    /**
+     * Method to get the part of a pixel covered by the round rect
+     *
+     * @return coverage from 0 to 1
+     */
+    private static float coverage(float[] radii, int x, int y, int width, int height) {
+        float px = x + 0.5f;
+        float py = y + 0.5f;
+        float rx, ry, cx, cy;
+
+        if (px < radii[0] && py < radii[1]) {
+            rx = radii[0]; ry = radii[1]; cx = rx; cy = ry;
+        } else if (px > width - radii[2] && py < radii[3]) {
+            rx = radii[2]; ry = radii[3]; cx = width - rx; cy = ry;
+        } else if (px > width - radii[4] && py > height - radii[5]) {
+            rx = radii[4]; ry = radii[5]; cx = width - rx; cy = height - ry;
+        } else if (px < radii[6] && py > height - radii[7]) {
+            rx = radii[6]; ry = radii[7]; cx = rx; cy = height - ry;
+        } else {
+            return 1f;
+        }
+
+        if (rx <= 0f || ry <= 0f) return 1f;
+
+        float nx = (px - cx) / rx;
+        float ny = (py - cy) / ry;
+        // approximate distance to the ellipse in pixels, exact for circles
+        float distance = ((float) Math.sqrt(nx * nx + ny * ny) - 1f) * Math.min(rx, ry);
+        return Math.max(0f, Math.min(1f, 0.5f - distance));
+    }
+
+    private static int applyCoverage(int color, float coverage) {
+        if (coverage >= 1f) return color;
+
+        int alpha = (int) ((color >>> 24) * coverage + 0.5f);
+        return (alpha << 24) | (color & 0xffffff);
+    }
+}
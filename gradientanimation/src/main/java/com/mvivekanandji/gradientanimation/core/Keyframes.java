@@ -0,0 +1,698 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Immutable list of gradient keyframes.
+ * <p>
+ * Keyframes are shared, eg. by every view of a template. An owner which has to change colors
+ * live takes a {@link #mutableCopy()} once and updates it in place with
+ * {@link #setColors(int, int[])}; only the colors are mutable, the timing and shapes never change.
+ * <p>
+ * Timing follows AnimationDrawable with fades: keyframe i is shown for its duration, and during
+ * the first transitionDuration milliseconds of it the colors blend from keyframe i - 1.
+ * The very first keyframe of a run is shown without a blend.
+ * All keyframes are resampled to the same number of color stops so they can be interpolated.
+ * <p>
+ * Keyframes are stored in flat primitive arrays: colors packed stopCount per keyframe, corner
+ * radii packed 8 per keyframe and cumulative times in the {@link Timeline}. Sequences of
+ * thousands of keyframes cost a few arrays instead of an object per keyframe, and the segment
+ * at a play time is found by binary search.
+ */
+public final class Keyframes {
+
+    /**
+     * upper bound for the common stop count
+     */
+    public static final int MAX_STOPS = 32;
+
+    private final int size;
+    private final int stopCount;
+    private final int[] colors;
+    private final int[] orientations;
+    private final float[] radii;
+    private final int[] types;
+    // center x, center y and radius of every keyframe
+    private final float[] shapes;
+    private final Timeline timeline;
+    private final int transitionDuration;
+    private final int interpolation;
+    private final AngleTrack angleTrack;
+    // transition ramps of ColorRamps, null for sRGB
+    private final int[] ramps;
+    // working arrays of setColors, only mutable copies have them
+    private final int[] stops;
+    private final float[] scratch;
+
+    private Keyframes(Builder builder) {
+        size = builder.size;
+        stopCount = ColorMath.commonStopCount(Arrays.copyOf(builder.stopCounts, size), MAX_STOPS);
+        colors = new int[size * stopCount];
+        orientations = Arrays.copyOf(builder.orientations, size);
+        radii = Arrays.copyOf(builder.radii, size * 8);
+        types = Arrays.copyOf(builder.types, size);
+        shapes = Arrays.copyOf(builder.shapes, size * 3);
+
+        int[] resampled = new int[stopCount];
+        for (int i = 0; i < size; i++) {
+            ColorMath.resample(builder.colors.get(i), resampled);
+            System.arraycopy(resampled, 0, colors, i * stopCount, stopCount);
+        }
+
+        timeline = new Timeline(Arrays.copyOf(builder.durations, size), Timeline.INFINITE);
+        transitionDuration = builder.transitionDuration;
+        interpolation = builder.interpolation;
+        angleTrack = builder.angleTrack;
+        ramps = ColorRamps.build(colors, size, stopCount, interpolation);
+        stops = null;
+        scratch = null;
+    }
+
+    /**
+     * Constructor of a mutable copy, the colors and ramps are copied, the rest is shared
+     *
+     * @param source Keyframes to copy
+     */
+    private Keyframes(Keyframes source) {
+        size = source.size;
+        stopCount = source.stopCount;
+        colors = source.colors.clone();
+        orientations = source.orientations;
+        radii = source.radii;
+        types = source.types;
+        shapes = source.shapes;
+        timeline = source.timeline;
+        transitionDuration = source.transitionDuration;
+        interpolation = source.interpolation;
+        angleTrack = source.angleTrack;
+        ramps = source.ramps != null ? source.ramps.clone() : null;
+        stops = new int[stopCount];
+        scratch = new float[ColorRamps.SCRATCH_SIZE];
+    }
+
+    /**
+     * Constructor taking packed arrays, which are used as they are
+     *
+     * @param stopCount          number of color stops of every keyframe
+     * @param colors             colors, stopCount per keyframe
+     * @param orientations       Gradient.Orientation ordinal of every keyframe
+     * @param radii              corner radii, 8 per keyframe
+     * @param types              GradientGeometry type of every keyframe, null for linear only
+     * @param shapes             center x, center y and radius of every keyframe, null for linear only
+     * @param durations          duration of every keyframe in milliseconds
+     * @param transitionDuration blend duration at the start of every keyframe
+     * @param interpolation      ColorRamps interpolation space of the blends
+     * @param angleTrack         AngleTrack, or null to use the orientations
+     */
+    Keyframes(int stopCount, int[] colors, int[] orientations, float[] radii, int[] types,
+              float[] shapes, int[] durations, int transitionDuration, int interpolation,
+              AngleTrack angleTrack) {
+        this.size = orientations.length;
+        this.stopCount = stopCount;
+        this.colors = colors;
+        this.orientations = orientations;
+        this.radii = radii;
+        this.types = types != null ? types : new int[size];
+        this.shapes = shapes != null ? shapes : defaultShapes(size);
+        this.timeline = new Timeline(durations, Timeline.INFINITE);
+        this.transitionDuration = transitionDuration;
+        this.interpolation = interpolation;
+        this.angleTrack = angleTrack;
+        this.ramps = ColorRamps.build(colors, size, stopCount, interpolation);
+        this.stops = null;
+        this.scratch = null;
+    }
+
+    /**
+     * Method to get a copy whose colors can be changed with {@link #setColors(int, int[])},
+     * for a single owner; copies only the colors and blend ramps
+     *
+     * @return new mutable Keyframes object
+     */
+    public Keyframes mutableCopy() {
+        return new Keyframes(this);
+    }
+
+    /**
+     * Getter - to check whether the colors can be changed
+     *
+     * @return true for copies made by {@link #mutableCopy()}
+     */
+    public boolean isMutable() {
+        return stops != null;
+    }
+
+    /**
+     * Method to change the colors of a keyframe in place, with the blend ramps into it and out
+     * of it. The colors are resampled to {@link #getStopCount()} stops. Allocates nothing.
+     *
+     * @param index  keyframe index
+     * @param colors color stops, at least one
+     * @return true if the colors changed
+     * @throws UnsupportedOperationException if these keyframes are not a mutable copy
+     * @throws IndexOutOfBoundsException     if index is not below {@link #size()}
+     * @throws IllegalArgumentException      if colors are missing
+     */
+    public boolean setColors(int index, int[] colors) {
+        if (stops == null)
+            throw new UnsupportedOperationException("Keyframes are shared and immutable, use mutableCopy()");
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Keyframe " + index + " of " + size + " keyframes");
+        if (colors == null || colors.length == 0)
+            throw new IllegalArgumentException("Keyframe needs at least one color");
+
+        ColorMath.resample(colors, stops);
+        int offset = index * stopCount;
+        boolean changed = false;
+        for (int i = 0; i < stopCount && !changed; i++)
+            changed = this.colors[offset + i] != stops[i];
+        if (!changed) return false;
+
+        System.arraycopy(stops, 0, this.colors, offset, stopCount);
+        if (ramps != null)
+            ColorRamps.update(ramps, this.colors, size, stopCount, interpolation, index, scratch);
+        return true;
+    }
+
+    /**
+     * Getter - to get number of keyframes
+     *
+     * @return number of keyframes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter - to get number of color stops of every keyframe
+     *
+     * @return stop count
+     */
+    public int getStopCount() {
+        return stopCount;
+    }
+
+    /**
+     * Getter - to get duration of one cycle through all keyframes
+     *
+     * @return duration in milliseconds
+     */
+    public long getTotalDuration() {
+        return timeline.getCycleDuration();
+    }
+
+    /**
+     * Getter - to get duration of a keyframe
+     *
+     * @param index keyframe index
+     * @return duration in milliseconds
+     */
+    public int getDuration(int index) {
+        return timeline.getDuration(index);
+    }
+
+    /**
+     * Getter - to get the timeline of the keyframes, repeating forever
+     *
+     * @return Timeline
+     */
+    public Timeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Getter - to get blend duration at the start of every keyframe
+     *
+     * @return duration in milliseconds
+     */
+    public int getTransitionDuration() {
+        return transitionDuration;
+    }
+
+    /**
+     * Getter - to get the color space blends are interpolated in
+     *
+     * @return {@link ColorRamps#SRGB}, {@link ColorRamps#LINEAR_RGB} or {@link ColorRamps#OKLAB}
+     */
+    public int getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * Getter - to get the gradient angle over one cycle
+     *
+     * @return AngleTrack, or null if the keyframe orientations apply
+     */
+    public AngleTrack getAngleTrack() {
+        return angleTrack;
+    }
+
+    /**
+     * Method to copy the color stops of a keyframe
+     *
+     * @param index keyframe index
+     * @param out   array of at least {@link #getStopCount()} colors
+     */
+    public void getColors(int index, int[] out) {
+        System.arraycopy(colors, index * stopCount, out, 0, stopCount);
+    }
+
+    /**
+     * Getter - to get orientation of a keyframe
+     *
+     * @param index keyframe index
+     * @return Gradient.Orientation ordinal
+     */
+    public int getOrientation(int index) {
+        return orientations[index];
+    }
+
+    /**
+     * Getter - to get gradient type of a keyframe
+     *
+     * @param index keyframe index
+     * @return GradientGeometry.LINEAR, RADIAL or SWEEP
+     */
+    public int getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Getter - to get radial or sweep center x of a keyframe
+     *
+     * @param index keyframe index
+     * @return fraction of the width
+     */
+    public float getCenterX(int index) {
+        return shapes[index * 3];
+    }
+
+    /**
+     * Getter - to get radial or sweep center y of a keyframe
+     *
+     * @param index keyframe index
+     * @return fraction of the height
+     */
+    public float getCenterY(int index) {
+        return shapes[index * 3 + 1];
+    }
+
+    /**
+     * Getter - to get radial radius of a keyframe
+     *
+     * @param index keyframe index
+     * @return fraction of the distance to the farthest corner
+     */
+    public float getGradientRadius(int index) {
+        return shapes[index * 3 + 2];
+    }
+
+    /**
+     * Getter - to check whether any keyframe is radial or sweep
+     *
+     * @return true if a keyframe is not linear
+     */
+    public boolean hasShapes() {
+        for (int type : types)
+            if (type != GradientGeometry.LINEAR) return true;
+        return false;
+    }
+
+    /**
+     * Method to copy the corner radii of a keyframe
+     *
+     * @param index keyframe index
+     * @param out   array of at least 8 radii
+     */
+    public void getRadii(int index, float[] out) {
+        System.arraycopy(radii, index * 8, out, 0, 8);
+    }
+
+    /**
+     * Method to evaluate the gradient at the given play time.
+     * The keyframe left in out by the previous call is used as search hint.
+     *
+     * @param playTime milliseconds since the animation started
+     * @param loop     true to repeat the keyframes, false to hold the last keyframe at the end
+     * @param out      output state
+     */
+    public void evaluate(long playTime, boolean loop, FrameState out) {
+        if (size == 0) return;
+
+        long totalDuration = timeline.getCycleDuration();
+        boolean firstCycle = playTime < totalDuration;
+        long time;
+        if (totalDuration <= 0)
+            time = 0;
+        else if (loop)
+            time = playTime % totalDuration;
+        else
+            time = Math.min(playTime, totalDuration - 1);
+
+        out.angle = angleTrack == null ? Float.NaN : angleTrack.evaluate(time);
+
+        int index = timeline.segmentAt(time, out.keyframe);
+        long local = time - timeline.getStart(index);
+        int fade = Math.min(transitionDuration, timeline.getDuration(index));
+        out.keyframe = index;
+
+        if (local < fade && (index > 0 || !firstCycle)) {
+            int previous = index == 0 ? size - 1 : index - 1;
+            float fraction = local / (float) fade;
+
+            if (ramps == null)
+                ColorMath.lerp(colors, previous * stopCount, colors, index * stopCount,
+                        fraction, out.colors, stopCount);
+            else {
+                // ColorRamps.evaluate inlined, the extra call cost a third more with 8 stops
+                float position = fraction * (ColorRamps.SAMPLES - 1);
+                int sample = Math.min((int) position, ColorRamps.SAMPLES - 2);
+                int offset = (index * ColorRamps.SAMPLES + sample) * stopCount;
+                ColorMath.lerp(ramps, offset, ramps, offset + stopCount, position - sample,
+                        out.colors, stopCount);
+            }
+            int from = previous * 8;
+            int to = index * 8;
+            for (int i = 0; i < 8; i++)
+                out.radii[i] = radii[from + i] + (radii[to + i] - radii[from + i]) * fraction;
+
+            from = previous * 3;
+            to = index * 3;
+            out.centerX = shapes[from] + (shapes[to] - shapes[from]) * fraction;
+            out.centerY = shapes[from + 1] + (shapes[to + 1] - shapes[from + 1]) * fraction;
+            out.gradientRadius = shapes[from + 2] + (shapes[to + 2] - shapes[from + 2]) * fraction;
+
+            out.orientation = fraction < 0.5f ? orientations[previous] : orientations[index];
+            out.type = fraction < 0.5f ? types[previous] : types[index];
+            out.transition = true;
+            out.fraction = fraction;
+            out.layered = types[previous] != GradientGeometry.LINEAR
+                    || types[index] != GradientGeometry.LINEAR;
+        } else {
+            System.arraycopy(colors, index * stopCount, out.colors, 0, stopCount);
+            System.arraycopy(radii, index * 8, out.radii, 0, 8);
+            out.centerX = shapes[index * 3];
+            out.centerY = shapes[index * 3 + 1];
+            out.gradientRadius = shapes[index * 3 + 2];
+            out.orientation = orientations[index];
+            out.type = types[index];
+            out.transition = false;
+            out.fraction = 1f;
+            out.layered = false;
+        }
+    }
+
+    /**
+     * Method to get how long the output of {@link #evaluate(long, boolean, FrameState)} stays
+     * the same after a play time. A held keyframe stays until the next keyframe starts its blend,
+     * which is most of the time for short transitions. Colors have 8 bit channels, so a slow blend
+     * changes them only every few frames; the delay is the time until the first channel of any
+     * stop reaches its next value, or the orientation switches. Blends moving the geometry or
+     * the angle and radial or sweep blends change every frame. Does not allocate.
+     *
+     * @param playTime milliseconds since the animation started
+     * @param loop     true to repeat the keyframes, false to hold the last keyframe at the end
+     * @return milliseconds until the output may change, 0 for the next frame
+     */
+    public long getChangeDelay(long playTime, boolean loop) {
+        long totalDuration = timeline.getCycleDuration();
+        if (size == 0 || totalDuration <= 0) return 0;
+        if (angleTrack != null && angleTrack.size() > 1) return 0;
+
+        boolean firstCycle = playTime < totalDuration;
+        long time = loop ? playTime % totalDuration : Math.min(playTime, totalDuration - 1);
+
+        int index = timeline.segmentAt(time, 0);
+        long local = time - timeline.getStart(index);
+        int fade = Math.min(transitionDuration, timeline.getDuration(index));
+
+        // a held keyframe stays until the next one starts
+        if (local >= fade || (index == 0 && firstCycle))
+            return timeline.getDuration(index) - local;
+
+        // radial and sweep blends fade layers in by the fraction
+        int previous = index == 0 ? size - 1 : index - 1;
+        if (types[index] != GradientGeometry.LINEAR || !sameGeometry(previous, index)) return 0;
+
+        float fraction = local / (float) fade;
+        // the end of the blend at the latest
+        float next = 1f;
+        if (orientations[previous] != orientations[index] && fraction < 0.5f) next = 0.5f;
+
+        if (ramps == null) {
+            next = Math.min(next, nextStep(colors, previous * stopCount, colors,
+                    index * stopCount, stopCount, fraction));
+        } else {
+            // within a ramp sample the colors are lerped like sRGB, the next sample starts a new line
+            float position = fraction * (ColorRamps.SAMPLES - 1);
+            int sample = Math.min((int) position, ColorRamps.SAMPLES - 2);
+            int offset = (index * ColorRamps.SAMPLES + sample) * stopCount;
+            float step = nextStep(ramps, offset, ramps, offset + stopCount, stopCount,
+                    position - sample);
+            next = Math.min(next, (sample + step) / (ColorRamps.SAMPLES - 1));
+        }
+
+        // rounded down, float error must not skip the frame of the change
+        return Math.max(0, (long) (next * fade) - local);
+    }
+
+    /**
+     * Method to check whether a blend between two keyframes keeps type, radii and shape
+     */
+    private boolean sameGeometry(int from, int to) {
+        if (types[from] != types[to]) return false;
+        for (int i = 0; i < 8; i++)
+            if (radii[from * 8 + i] != radii[to * 8 + i]) return false;
+        for (int i = 0; i < 3; i++)
+            if (shapes[from * 3 + i] != shapes[to * 3 + i]) return false;
+        return true;
+    }
+
+    /**
+     * Method to find the fraction at which a lerp of two color ranges, rounded like
+     * ColorMath.lerp, next changes any channel
+     *
+     * @return fraction from fraction to 1, 1 if nothing changes before the end
+     */
+    private static float nextStep(int[] from, int fromOffset, int[] to, int toOffset, int count,
+                                  float fraction) {
+        float next = 1f;
+        for (int i = 0; i < count; i++) {
+            int a = from[fromOffset + i];
+            int b = to[toOffset + i];
+            if (a == b) continue;
+
+            for (int shift = 0; shift < 32; shift += 8) {
+                int delta = ((b >>> shift) & 0xff) - ((a >>> shift) & 0xff);
+                if (delta == 0) continue;
+
+                // the rounded channel moves on when delta * fraction crosses the next half
+                int value = Math.round(delta * fraction);
+                float step = (delta > 0 ? value + 0.5f : value - 0.5f) / delta;
+                if (step < next) next = step;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Builder class
+     */
+    public static class Builder {
+        private final List<int[]> colors = new ArrayList<>();
+        private int[] stopCounts = new int[16];
+        private int[] orientations = new int[16];
+        private float[] radii = new float[16 * 8];
+        private int[] types = new int[16];
+        private float[] shapes = defaultShapes(16);
+        private int[] durations = new int[16];
+        private int size;
+        private int transitionDuration;
+        private int interpolation = ColorRamps.SRGB;
+        private AngleTrack angleTrack;
+
+        /**
+         * Method to add a linear keyframe
+         *
+         * @param colors      color stops, at least one
+         * @param orientation Gradient.Orientation ordinal
+         * @param radii       8 corner radii, or null for square corners
+         * @param duration    duration in milliseconds
+         * @return this object
+         */
+        public Builder add(int[] colors, int orientation, float[] radii, int duration) {
+            return add(colors, GradientGeometry.LINEAR, orientation, 0.5f, 0.5f, 1f, radii,
+                    duration);
+        }
+
+        /**
+         * Method to add a radial keyframe
+         *
+         * @param colors   color stops from the center outwards, at least one
+         * @param centerX  center x as fraction of the width
+         * @param centerY  center y as fraction of the height
+         * @param radius   fraction of the distance from the center to the farthest corner
+         * @param radii    8 corner radii, or null for square corners
+         * @param duration duration in milliseconds
+         * @return this object
+         */
+        public Builder addRadial(int[] colors, float centerX, float centerY, float radius,
+                                 float[] radii, int duration) {
+            return add(colors, GradientGeometry.RADIAL, GradientGeometry.TOP_BOTTOM, centerX,
+                    centerY, radius, radii, duration);
+        }
+
+        /**
+         * Method to add a sweep keyframe, colors go clockwise from 3 o'clock
+         * or from the angle of the angle track
+         *
+         * @param colors   color stops, at least one
+         * @param centerX  center x as fraction of the width
+         * @param centerY  center y as fraction of the height
+         * @param radii    8 corner radii, or null for square corners
+         * @param duration duration in milliseconds
+         * @return this object
+         */
+        public Builder addSweep(int[] colors, float centerX, float centerY, float[] radii,
+                                int duration) {
+            return add(colors, GradientGeometry.SWEEP, GradientGeometry.TOP_BOTTOM, centerX,
+                    centerY, 1f, radii, duration);
+        }
+
+        /**
+         * Method to add a keyframe of any gradient type
+         *
+         * @param colors      color stops, at least one
+         * @param type        GradientGeometry.LINEAR, RADIAL or SWEEP
+         * @param orientation Gradient.Orientation ordinal of linear keyframes
+         * @param centerX     radial or sweep center x as fraction of the width
+         * @param centerY     radial or sweep center y as fraction of the height
+         * @param radius      radial radius as fraction of the distance to the farthest corner
+         * @param radii       8 corner radii, or null for square corners
+         * @param duration    duration in milliseconds
+         * @return this object
+         * @throws IllegalArgumentException if colors are missing, the type is unknown
+         *                                  or the radius is not positive
+         */
+        public Builder add(int[] colors, int type, int orientation, float centerX, float centerY,
+                           float radius, float[] radii, int duration) {
+            if (colors == null || colors.length == 0)
+                throw new IllegalArgumentException("Keyframe needs at least one color");
+            if (type < GradientGeometry.LINEAR || type > GradientGeometry.SWEEP)
+                throw new IllegalArgumentException("Unknown gradient type " + type);
+            if (!(radius > 0f) || Float.isInfinite(radius))
+                throw new IllegalArgumentException("Invalid gradient radius " + radius);
+
+            if (size == durations.length) grow();
+
+            this.colors.add(colors.clone());
+            stopCounts[size] = colors.length;
+            orientations[size] = orientation;
+            types[size] = type;
+            shapes[size * 3] = centerX;
+            shapes[size * 3 + 1] = centerY;
+            shapes[size * 3 + 2] = radius;
+            if (radii != null)
+                System.arraycopy(radii, 0, this.radii, size * 8, Math.min(8, radii.length));
+            durations[size] = Math.max(0, duration);
+            size++;
+            return this;
+        }
+
+        /**
+         * Method to set blend duration at the start of every keyframe
+         *
+         * @param transitionDuration duration in milliseconds
+         * @return this object
+         */
+        public Builder setTransitionDuration(int transitionDuration) {
+            this.transitionDuration = Math.max(0, transitionDuration);
+            return this;
+        }
+
+        /**
+         * Method to set the color space blends are interpolated in.
+         * Other than sRGB, lookup ramps of every transition are computed by {@link #build()}.
+         *
+         * @param interpolation {@link ColorRamps#SRGB} (default), {@link ColorRamps#LINEAR_RGB}
+         *                      or {@link ColorRamps#OKLAB}
+         * @return this object
+         */
+        public Builder setInterpolation(int interpolation) {
+            if (interpolation < ColorRamps.SRGB || interpolation > ColorRamps.OKLAB)
+                throw new IllegalArgumentException("Unknown interpolation space " + interpolation);
+            this.interpolation = interpolation;
+            return this;
+        }
+
+        /**
+         * Method to rotate the gradient over the cycle instead of using the keyframe orientations,
+         * the track shares the timeline of the keyframes
+         *
+         * @param angleTrack AngleTrack, or null (default) to use the orientations
+         * @return this object
+         */
+        public Builder setAngleTrack(AngleTrack angleTrack) {
+            this.angleTrack = angleTrack;
+            return this;
+        }
+
+        /**
+         * Method to get new Keyframes object
+         *
+         * @return Keyframes object
+         */
+        public Keyframes build() {
+            return new Keyframes(this);
+        }
+
+        private void grow() {
+            int capacity = durations.length * 2;
+            stopCounts = Arrays.copyOf(stopCounts, capacity);
+            orientations = Arrays.copyOf(orientations, capacity);
+            radii = Arrays.copyOf(radii, capacity * 8);
+            types = Arrays.copyOf(types, capacity);
+            float[] grown = defaultShapes(capacity);
+            System.arraycopy(shapes, 0, grown, 0, shapes.length);
+            shapes = grown;
+            durations = Arrays.copyOf(durations, capacity);
+        }
+    }
+
+    /**
+     * Method to get shapes of linear keyframes, centered with the full radius
+     *
+     * @param size number of keyframes
+     * @return center x, center y and radius of every keyframe
+     */
+    private static float[] defaultShapes(int size) {
+        float[] shapes = new float[size * 3];
+        for (int i = 0; i < size; i++) {
+            shapes[i * 3] = 0.5f;
+            shapes[i * 3 + 1] = 0.5f;
+            shapes[i * 3 + 2] = 1f;
+        }
+        return shapes;
+    }
+}
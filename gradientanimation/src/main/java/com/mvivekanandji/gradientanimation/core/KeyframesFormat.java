@@ -0,0 +1,342 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Compact binary format of {@link Keyframes}, files use the .gakf extension.
+ * <p>
+ * The file holds the packed arrays of Keyframes as they are in memory, big endian:
+ * <pre>
+ * int    magic 'GAKF'
+ * byte   version
+ * byte   flags, bit 0 set if corner radii follow, bits 1-2 ColorRamps interpolation space,
+ *        bit 3 set if an angle track follows, bit 4 set if gradient types and shapes follow
+ * short  stop count
+ * int    keyframe count n
+ * int    transition duration
+ * int[n] durations
+ * byte[n] orientations
+ * int[n * stop count] colors, already resampled to the stop count
+ * float[n * 8] corner radii, only with flag bit 0
+ * byte[n] GradientGeometry types, only with flag bit 4
+ * float[n * 3] center x, center y and radius, only with flag bit 4
+ * int    angle key count k, only with flag bit 3
+ * long[k] angle key times
+ * float[k] angle key degrees
+ * </pre>
+ * Loading is a bulk copy into the arrays Keyframes keeps, there is no object per keyframe and
+ * no resampling. A memory mapped file is read straight from the page cache. Interpolation ramps
+ * are derived data and rebuilt on load rather than stored.
+ */
+public final class KeyframesFormat {
+
+    /**
+     * file extension, without the dot
+     */
+    public static final String EXTENSION = "gakf";
+
+    private static final int MAGIC = 0x47414B46;
+    private static final int VERSION = 1;
+    private static final int FLAG_RADII = 1;
+    private static final int INTERPOLATION_SHIFT = 1;
+    private static final int INTERPOLATION_MASK = 3 << INTERPOLATION_SHIFT;
+    private static final int FLAG_ANGLES = 8;
+    private static final int FLAG_SHAPES = 16;
+    // bounds angle tracks, a key per millisecond of a minute
+    private static final int MAX_ANGLE_KEYS = 60000;
+    private static final int HEADER_SIZE = 16;
+
+    private KeyframesFormat() {
+    }
+
+    /**
+     * Method to write keyframes, the stream is not closed
+     *
+     * @param keyframes Keyframes
+     * @param out       OutputStream
+     * @throws IOException if the stream fails
+     */
+    public static void write(Keyframes keyframes, OutputStream out) throws IOException {
+        int size = keyframes.size();
+        int stopCount = keyframes.getStopCount();
+        int[] colors = new int[stopCount];
+        float[] radii = new float[8];
+
+        boolean hasRadii = false;
+        for (int i = 0; i < size && !hasRadii; i++) {
+            keyframes.getRadii(i, radii);
+            for (float radius : radii)
+                if (radius != 0f) hasRadii = true;
+        }
+
+        boolean hasShapes = keyframes.hasShapes();
+        AngleTrack angleTrack = keyframes.getAngleTrack();
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeByte((hasRadii ? FLAG_RADII : 0)
+                | keyframes.getInterpolation() << INTERPOLATION_SHIFT
+                | (angleTrack != null ? FLAG_ANGLES : 0)
+                | (hasShapes ? FLAG_SHAPES : 0));
+        data.writeShort(stopCount);
+        data.writeInt(size);
+        data.writeInt(keyframes.getTransitionDuration());
+
+        for (int i = 0; i < size; i++)
+            data.writeInt(keyframes.getDuration(i));
+        for (int i = 0; i < size; i++)
+            data.writeByte(keyframes.getOrientation(i));
+
+        for (int i = 0; i < size; i++) {
+            keyframes.getColors(i, colors);
+            for (int color : colors)
+                data.writeInt(color);
+        }
+
+        if (hasRadii) {
+            for (int i = 0; i < size; i++) {
+                keyframes.getRadii(i, radii);
+                for (float radius : radii)
+                    data.writeFloat(radius);
+            }
+        }
+
+        if (hasShapes) {
+            for (int i = 0; i < size; i++)
+                data.writeByte(keyframes.getType(i));
+            for (int i = 0; i < size; i++) {
+                data.writeFloat(keyframes.getCenterX(i));
+                data.writeFloat(keyframes.getCenterY(i));
+                data.writeFloat(keyframes.getGradientRadius(i));
+            }
+        }
+
+        if (angleTrack != null) {
+            data.writeInt(angleTrack.size());
+            for (int i = 0; i < angleTrack.size(); i++)
+                data.writeLong(angleTrack.getTime(i));
+            for (int i = 0; i < angleTrack.size(); i++)
+                data.writeFloat(angleTrack.getAngle(i));
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Method to encode keyframes into bytes
+     *
+     * @param keyframes Keyframes
+     * @return file content
+     */
+    public static byte[] encode(Keyframes keyframes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(keyframes, out);
+        } catch (IOException e) {
+            // a ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Method to read keyframes from a buffer, eg. a memory mapped file.
+     * Reading starts at the buffer position, which is moved past the keyframes.
+     *
+     * @param buffer ByteBuffer
+     * @return Keyframes
+     * @throws IOException if the content is not valid
+     */
+    public static Keyframes read(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        try {
+            int magic = buffer.getInt();
+            int version = buffer.get() & 0xff;
+            int flags = buffer.get() & 0xff;
+            int stopCount = buffer.getShort() & 0xffff;
+            int size = buffer.getInt();
+            int transitionDuration = buffer.getInt();
+            checkHeader(magic, version, stopCount, size, buffer.remaining(), flags);
+
+            int[] durations = new int[size];
+            buffer.asIntBuffer().get(durations);
+            skip(buffer, size * 4);
+
+            int[] orientations = new int[size];
+            for (int i = 0; i < size; i++)
+                orientations[i] = buffer.get();
+
+            int[] colors = new int[size * stopCount];
+            buffer.asIntBuffer().get(colors);
+            skip(buffer, colors.length * 4);
+
+            float[] radii = new float[size * 8];
+            if ((flags & FLAG_RADII) != 0) {
+                buffer.asFloatBuffer().get(radii);
+                skip(buffer, radii.length * 4);
+            }
+
+            int[] types = null;
+            float[] shapes = null;
+            if ((flags & FLAG_SHAPES) != 0) {
+                types = new int[size];
+                for (int i = 0; i < size; i++) {
+                    types[i] = buffer.get();
+                    if (types[i] < GradientGeometry.LINEAR || types[i] > GradientGeometry.SWEEP)
+                        throw new IOException("Unknown gradient type " + types[i]);
+                }
+                shapes = new float[size * 3];
+                buffer.asFloatBuffer().get(shapes);
+                skip(buffer, shapes.length * 4);
+            }
+
+            AngleTrack angleTrack = null;
+            if ((flags & FLAG_ANGLES) != 0) {
+                int count = buffer.getInt();
+                checkAngleKeys(count);
+                long[] times = new long[count];
+                buffer.asLongBuffer().get(times);
+                skip(buffer, count * 8);
+                float[] angles = new float[count];
+                buffer.asFloatBuffer().get(angles);
+                skip(buffer, count * 4);
+                angleTrack = readAngleTrack(times, angles);
+            }
+
+            return new Keyframes(stopCount, colors, orientations, radii, types, shapes, durations,
+                    transitionDuration, (flags & INTERPOLATION_MASK) >> INTERPOLATION_SHIFT,
+                    angleTrack);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated keyframes");
+        }
+    }
+
+    /**
+     * Method to read keyframes from a stream, the stream is not closed.
+     * The content is read in two bulk reads, header and arrays, and decoded like a buffer.
+     *
+     * @param in InputStream
+     * @return Keyframes
+     * @throws IOException if the stream fails or the content is not valid
+     */
+    public static Keyframes read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+
+        byte[] header = new byte[HEADER_SIZE];
+        data.readFully(header);
+
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+        int magic = headerBuffer.getInt();
+        int version = headerBuffer.get() & 0xff;
+        int flags = headerBuffer.get() & 0xff;
+        int stopCount = headerBuffer.getShort() & 0xffff;
+        int size = headerBuffer.getInt();
+        checkHeader(magic, version, stopCount, size, Integer.MAX_VALUE, flags);
+
+        byte[] content = Arrays.copyOf(header, HEADER_SIZE + bodySize(flags, stopCount, size));
+        data.readFully(content, HEADER_SIZE, content.length - HEADER_SIZE);
+
+        if ((flags & FLAG_ANGLES) != 0) {
+            int count = data.readInt();
+            checkAngleKeys(count);
+            int angleStart = content.length;
+            content = Arrays.copyOf(content, angleStart + 4 + count * 12);
+            ByteBuffer.wrap(content, angleStart, 4).putInt(count);
+            data.readFully(content, angleStart + 4, count * 12);
+        }
+        return read(ByteBuffer.wrap(content));
+    }
+
+    /**
+     * Method to read keyframes from a memory mapped file
+     *
+     * @param file File
+     * @return Keyframes
+     * @throws IOException if the file cannot be read or is not valid
+     */
+    public static Keyframes read(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    private static void checkHeader(int magic, int version, int stopCount, int size,
+                                    int remaining, int flags) throws IOException {
+        if (magic != MAGIC)
+            throw new IOException("Not a keyframes file");
+        if (version != VERSION)
+            throw new IOException("Unsupported keyframes version " + version);
+        if (stopCount < 1 || stopCount > Keyframes.MAX_STOPS
+                || size < 0 || size > Integer.MAX_VALUE / (8 * Keyframes.MAX_STOPS))
+            throw new IOException("Invalid keyframes header");
+        if ((flags & INTERPOLATION_MASK) >> INTERPOLATION_SHIFT > ColorRamps.OKLAB)
+            throw new IOException("Unknown interpolation space");
+
+        if (bodySize(flags, stopCount, size) > remaining)
+            throw new IOException("Truncated keyframes");
+    }
+
+    private static void checkAngleKeys(int count) throws IOException {
+        if (count < 1 || count > MAX_ANGLE_KEYS)
+            throw new IOException("Invalid angle key count " + count);
+    }
+
+    private static AngleTrack readAngleTrack(long[] times, float[] angles) throws IOException {
+        AngleTrack.Builder builder = new AngleTrack.Builder();
+        try {
+            for (int i = 0; i < times.length; i++)
+                builder.add(times[i], angles[i]);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid angle track: " + e.getMessage());
+        }
+        return builder.build();
+    }
+
+    private static int bodySize(int flags, int stopCount, int size) {
+        // durations, orientations, colors, radii and shapes, size is bounded by checkHeader;
+        // an angle track follows with its own count
+        return size * (5 + 4 * stopCount) + ((flags & FLAG_RADII) != 0 ? size * 32 : 0)
+                + ((flags & FLAG_SHAPES) != 0 ? size * 13 : 0);
+    }
+
+    private static void skip(ByteBuffer buffer, int bytes) {
+        buffer.position(buffer.position() + bytes);
+    }
+}
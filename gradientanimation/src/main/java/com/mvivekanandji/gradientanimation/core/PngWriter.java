@@ -0,0 +1,162 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Minimal PNG encoder for ARGB buffers, 8 bit RGBA without interlacing.
+ * <p>
+ * Only java.util.zip is used, so frames can be written on a plain JVM. Every row takes the
+ * Sub or Up filter, whichever leaves smaller residuals, which turns the rows of a linear
+ * gradient into runs of zeros.
+ */
+public final class PngWriter {
+
+    private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+    private static final int FILTER_SUB = 1;
+    private static final int FILTER_UP = 2;
+
+    private PngWriter() {
+    }
+
+    /**
+     * Method to encode an ARGB buffer into PNG bytes
+     *
+     * @param pixels unpremultiplied ARGB pixels, row by row
+     * @param width  width in pixels
+     * @param height height in pixels
+     * @return PNG file content
+     */
+    public static byte[] encode(int[] pixels, int width, int height) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(pixels, width, height, out);
+        } catch (IOException e) {
+            // a ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Method to write an ARGB buffer as PNG, the stream is not closed
+     *
+     * @param pixels unpremultiplied ARGB pixels, row by row
+     * @param width  width in pixels
+     * @param height height in pixels
+     * @param out    OutputStream
+     * @throws IOException if the stream fails
+     */
+    public static void write(int[] pixels, int width, int height, OutputStream out)
+            throws IOException {
+        if (width <= 0 || height <= 0 || pixels.length < width * height)
+            throw new IllegalArgumentException("Invalid PNG size " + width + "x" + height);
+
+        out.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(8); // bit depth
+        headerData.writeByte(6); // RGBA
+        headerData.writeByte(0); // deflate
+        headerData.writeByte(0); // adaptive filtering
+        headerData.writeByte(0); // no interlace
+        writeChunk(out, "IHDR", header.toByteArray());
+
+        writeChunk(out, "IDAT", compress(pixels, width, height));
+        writeChunk(out, "IEND", new byte[0]);
+        out.flush();
+    }
+
+    private static byte[] compress(int[] pixels, int width, int height) throws IOException {
+        int stride = width * 4;
+        byte[] previous = new byte[stride];
+        byte[] current = new byte[stride];
+        byte[] sub = new byte[stride];
+        byte[] up = new byte[stride];
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, deflater, 8192);
+
+        try {
+            for (int y = 0; y < height; y++) {
+                int offset = y * width;
+                for (int x = 0; x < width; x++) {
+                    int color = pixels[offset + x];
+                    current[x * 4] = (byte) (color >> 16);
+                    current[x * 4 + 1] = (byte) (color >> 8);
+                    current[x * 4 + 2] = (byte) color;
+                    current[x * 4 + 3] = (byte) (color >>> 24);
+                }
+
+                long subCost = 0;
+                long upCost = 0;
+                for (int i = 0; i < stride; i++) {
+                    sub[i] = (byte) (current[i] - (i >= 4 ? current[i - 4] : 0));
+                    up[i] = (byte) (current[i] - previous[i]);
+                    subCost += Math.abs(sub[i]);
+                    upCost += Math.abs(up[i]);
+                }
+
+                if (upCost < subCost) {
+                    deflate.write(FILTER_UP);
+                    deflate.write(up);
+                } else {
+                    deflate.write(FILTER_SUB);
+                    deflate.write(sub);
+                }
+
+                byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+
+            deflate.finish();
+        } finally {
+            deflater.end();
+        }
+
+        return compressed.toByteArray();
+    }
+
+    private static void writeChunk(OutputStream out, String type, byte[] data) throws IOException {
+        byte[] typeBytes = type.getBytes("US-ASCII");
+
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(data.length);
+        dataOut.write(typeBytes);
+        dataOut.write(data);
+        dataOut.writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,239 @@
+package com.mvivekanandji.gradientanimation.core;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Immutable timeline of keyframe durations repeated a number of times.
+ * <p>
+ * Everything is derived from the play time, so completed cycles are counted exactly whatever
+ * the frame rate, and the end is detected on the first frame at or after it. Nothing is
+ * scheduled, seeking is setting another play time.
+ * <p>
+ * Keyframe start times are kept as cumulative times in a long array. Lookups are a binary
+ * search, with a constant time path when the keyframe of the previous lookup is passed as
+ * hint, which is the case for sequential playback of long sequences.
+ */
+public final class Timeline {
+
+    /**
+     * repeat count for a timeline that never ends
+     */
+    public static final int INFINITE = -1;
+
+    // starts[i] is the start of keyframe i within a cycle, starts[size] the cycle duration
+    private final long[] starts;
+    private final long cycleDuration;
+    private final int repeatCount;
+
+    /**
+     * Constructor
+     *
+     * @param durations   keyframe durations in milliseconds, negative values count as 0
+     * @param repeatCount number of cycles, {@link #INFINITE} to repeat forever
+     */
+    public Timeline(int[] durations, int repeatCount) {
+        this(cumulate(durations), repeatCount);
+    }
+
+    private Timeline(long[] starts, int repeatCount) {
+        this.starts = starts;
+        this.cycleDuration = starts[starts.length - 1];
+        this.repeatCount = repeatCount < 0 ? INFINITE : repeatCount;
+    }
+
+    /**
+     * Method to get a timeline with the same keyframes and another repeat count
+     *
+     * @param repeatCount number of cycles, {@link #INFINITE} to repeat forever
+     * @return Timeline, this object if the repeat count is the same
+     */
+    public Timeline withRepeatCount(int repeatCount) {
+        if ((repeatCount < 0 ? INFINITE : repeatCount) == this.repeatCount) return this;
+        // starts are never modified, the new timeline shares them
+        return new Timeline(starts, repeatCount);
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of keyframes
+     */
+    public int size() {
+        return starts.length - 1;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of cycles, {@link #INFINITE} if the timeline never ends
+     */
+    public int getRepeatCount() {
+        return repeatCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return duration of one cycle in milliseconds
+     */
+    public long getCycleDuration() {
+        return cycleDuration;
+    }
+
+    /**
+     * Getter
+     *
+     * @return duration of all cycles in milliseconds, Long.MAX_VALUE if the timeline never ends
+     */
+    public long getTotalDuration() {
+        if (repeatCount == INFINITE) return cycleDuration == 0 ? 0 : Long.MAX_VALUE;
+        return cycleDuration * repeatCount;
+    }
+
+    /**
+     * Method to check whether the timeline has ended at the play time
+     *
+     * @param playTime milliseconds since the start
+     * @return true at or after the end of the last cycle
+     */
+    public boolean isFinished(long playTime) {
+        return playTime >= getTotalDuration();
+    }
+
+    /**
+     * Method to clamp a play time into the timeline, the end maps to its last millisecond
+     *
+     * @param playTime milliseconds since the start
+     * @return play time from 0 to the total duration - 1
+     */
+    public long clamp(long playTime) {
+        if (playTime <= 0) return 0;
+        return isFinished(playTime) ? Math.max(0, getTotalDuration() - 1) : playTime;
+    }
+
+    /**
+     * Method to get the number of fully played cycles
+     *
+     * @param playTime milliseconds since the start
+     * @return completed cycles, at most the repeat count
+     */
+    public int getCompletedCycles(long playTime) {
+        if (cycleDuration == 0 || playTime <= 0) return 0;
+
+        long cycles = playTime / cycleDuration;
+        if (repeatCount != INFINITE) cycles = Math.min(cycles, repeatCount);
+        return (int) Math.min(Integer.MAX_VALUE, cycles);
+    }
+
+    /**
+     * Method to get the keyframe shown at the play time, the last one once finished
+     *
+     * @param playTime milliseconds since the start
+     * @return keyframe index, -1 for an empty timeline
+     */
+    public int indexAt(long playTime) {
+        return indexAt(playTime, -1);
+    }
+
+    /**
+     * Method to get the keyframe shown at the play time, the last one once finished
+     *
+     * @param playTime milliseconds since the start
+     * @param hint     keyframe of the previous lookup, -1 if unknown
+     * @return keyframe index, -1 for an empty timeline
+     */
+    public int indexAt(long playTime, int hint) {
+        if (size() == 0) return -1;
+        if (cycleDuration == 0) return 0;
+
+        return segmentAt(clamp(playTime) % cycleDuration, hint);
+    }
+
+    /**
+     * Method to get the keyframe containing a time within a cycle
+     *
+     * @param cycleTime milliseconds from 0 to the cycle duration - 1
+     * @param hint      keyframe of the previous lookup, -1 if unknown
+     * @return keyframe index, keyframes with a duration of 0 are never returned unless all are
+     */
+    public int segmentAt(long cycleTime, int hint) {
+        int size = size();
+
+        // sequential playback stays in the same keyframe or moves to the next one
+        if (hint >= 0 && hint < size && cycleTime >= starts[hint]) {
+            if (cycleTime < starts[hint + 1]) return hint;
+            if (hint + 1 < size && cycleTime < starts[hint + 2]) return hint + 1;
+        }
+
+        // last start <= cycleTime, skipping keyframes with a duration of 0
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= cycleTime)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Method to get the start of a keyframe within its cycle
+     *
+     * @param index keyframe index
+     * @return start in milliseconds
+     */
+    public long getStart(int index) {
+        return starts[index];
+    }
+
+    /**
+     * Getter - to get the duration of a keyframe
+     *
+     * @param index keyframe index
+     * @return duration in milliseconds
+     */
+    public int getDuration(int index) {
+        return (int) (starts[index + 1] - starts[index]);
+    }
+
+    /**
+     * Method to get the progress at the play time
+     *
+     * @param playTime milliseconds since the start
+     * @return fraction of the whole timeline from 0 to 1, of the current cycle if it never ends
+     */
+    public float getProgress(long playTime) {
+        if (cycleDuration == 0 || playTime <= 0) return 0f;
+        if (isFinished(playTime)) return 1f;
+
+        if (repeatCount == INFINITE)
+            return (playTime % cycleDuration) / (float) cycleDuration;
+        return playTime / (float) getTotalDuration();
+    }
+
+    private static long[] cumulate(int[] durations) {
+        long[] starts = new long[durations.length + 1];
+        for (int i = 0; i < durations.length; i++)
+            starts[i + 1] = starts[i] + Math.max(0, durations[i]);
+        return starts;
+    }
+}
@@ -0,0 +1,218 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.GradientGeometry;
+import com.mvivekanandji.gradientanimation.model.Gradient;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Lightweight static gradient used as AnimationDrawable frame.
+ * <p>
+ * A GradientDrawable added to an AnimationDrawable is always mutated and builds a private
+ * shader. This drawable only keeps the gradient content and takes its shader from the
+ * {@link GradientShaderCache}, so frames with the same content and size share one shader.
+ * Linear, radial and sweep gradients are supported, the shader is only replaced when the
+ * content or the bounds change.
+ */
+public class CachedGradientDrawable extends Drawable {
+
+    private int[] colors;
+    private int orientation;
+    private int type;
+    private float centerX;
+    private float centerY;
+    private float gradientRadius;
+    private final float[] radii = new float[8];
+    private boolean hasRadii;
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Path path = new Path();
+    private final RectF rect = new RectF();
+
+    /**
+     * Constructor
+     *
+     * @param gradient Gradient, its content is copied
+     */
+    public CachedGradientDrawable(@NonNull Gradient gradient) {
+        this(gradient.getColors(), gradient.getType().ordinal(), gradient.getOrientation().ordinal(),
+                gradient.getCenterX(), gradient.getCenterY(), gradient.getGradientRadius(),
+                gradient.getRadii());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param colors      color array, at least one color
+     * @param orientation Gradient.Orientation ordinal
+     * @param radii       corner radii, may be null
+     */
+    public CachedGradientDrawable(@NonNull int[] colors, int orientation, @Nullable float[] radii) {
+        set(colors, orientation, radii);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param colors         color array, at least one color
+     * @param type           GradientGeometry.LINEAR, RADIAL or SWEEP
+     * @param orientation    Gradient.Orientation ordinal of linear gradients
+     * @param centerX        radial or sweep center x as fraction of the width
+     * @param centerY        radial or sweep center y as fraction of the height
+     * @param gradientRadius radial radius as fraction of the distance to the farthest corner
+     * @param radii          corner radii, may be null
+     */
+    public CachedGradientDrawable(@NonNull int[] colors, int type, int orientation, float centerX,
+                                  float centerY, float gradientRadius, @Nullable float[] radii) {
+        set(colors, type, orientation, centerX, centerY, gradientRadius, radii);
+    }
+
+    /**
+     * Method to replace the gradient content, arrays are reused while the stop count is the same
+     *
+     * @param colors      color array, at least one color
+     * @param orientation Gradient.Orientation ordinal
+     * @param radii       corner radii, may be null
+     */
+    void set(@NonNull int[] colors, int orientation, @Nullable float[] radii) {
+        set(colors, GradientGeometry.LINEAR, orientation, 0.5f, 0.5f, 1f, radii);
+    }
+
+    /**
+     * Method to replace the gradient content and shape, arrays are reused while the stop count
+     * is the same
+     *
+     * @param colors         color array, at least one color
+     * @param type           GradientGeometry.LINEAR, RADIAL or SWEEP
+     * @param orientation    Gradient.Orientation ordinal of linear gradients
+     * @param centerX        radial or sweep center x as fraction of the width
+     * @param centerY        radial or sweep center y as fraction of the height
+     * @param gradientRadius radial radius as fraction of the distance to the farthest corner
+     * @param radii          corner radii, may be null
+     */
+    void set(@NonNull int[] colors, int type, int orientation, float centerX, float centerY,
+             float gradientRadius, @Nullable float[] radii) {
+        int stopCount = Math.max(2, colors.length);
+        if (this.colors == null || this.colors.length != stopCount)
+            this.colors = new int[stopCount];
+
+        if (colors.length == 1) {
+            this.colors[0] = colors[0];
+            this.colors[1] = colors[0];
+        } else {
+            System.arraycopy(colors, 0, this.colors, 0, stopCount);
+        }
+
+        this.orientation = orientation;
+        this.type = type;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.gradientRadius = gradientRadius;
+        hasRadii = false;
+        for (int i = 0; i < 8; i++) {
+            this.radii[i] = radii == null || i >= radii.length ? 0f : radii[i];
+            if (this.radii[i] > 0f) hasRadii = true;
+        }
+
+        updateShader(getBounds());
+        invalidateSelf();
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        updateShader(bounds);
+    }
+
+    /**
+     * Method to take the shader and outline for the given bounds
+     *
+     * @param bounds Rect
+     */
+    private void updateShader(Rect bounds) {
+        if (bounds.isEmpty()) {
+            paint.setShader(null);
+            return;
+        }
+
+        paint.setShader(GradientShaderCache.getInstance()
+                .obtain(colors, type, orientation, centerX, centerY, gradientRadius,
+                        bounds.width(), bounds.height()));
+
+        if (hasRadii) {
+            rect.set(0, 0, bounds.width(), bounds.height());
+            path.reset();
+            path.addRoundRect(rect, radii, Path.Direction.CW);
+        }
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect bounds = getBounds();
+        if (bounds.isEmpty()) return;
+
+        // shaders are shared for a gradient at the origin
+        int save = canvas.save();
+        canvas.translate(bounds.left, bounds.top);
+
+        if (hasRadii)
+            canvas.drawPath(path, paint);
+        else
+            canvas.drawRect(0, 0, bounds.width(), bounds.height(), paint);
+
+        canvas.restoreToCount(save);
+    }
+
+    @Override
+    public void setAlpha(@IntRange(from = 0, to = 255) int alpha) {
+        if (paint.getAlpha() != alpha) {
+            paint.setAlpha(alpha);
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return paint.getAlpha();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        paint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+}
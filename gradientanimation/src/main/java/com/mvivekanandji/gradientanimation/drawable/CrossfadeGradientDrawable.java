@@ -0,0 +1,253 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.core.Timeline;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Drawable which switches between keyframes with the enter and exit fades of an
+ * AnimationDrawable.
+ * <p>
+ * An AnimationDrawable holds one drawable per keyframe for its whole life. This drawable
+ * only holds the incoming and the outgoing gradient and refills them from the packed
+ * {@link Keyframes} when the keyframe changes, so memory does not grow with the length of
+ * the sequence. The current keyframe is found on the {@link Timeline} with the previous one
+ * as hint.
+ */
+public class CrossfadeGradientDrawable extends KeyframeDrawable {
+
+    private final int enterFadeDuration;
+    private final int exitFadeDuration;
+    private final int[] colors;
+    private final float[] radii = new float[8];
+
+    private CachedGradientDrawable incoming;
+    private CachedGradientDrawable outgoing;
+    private int index = -1;
+    private int outgoingIndex = -1;
+    private int incomingAlpha = 255;
+    private int outgoingAlpha;
+    private int alpha = 255;
+    private ColorFilter colorFilter;
+
+    /**
+     * Constructor
+     *
+     * @param keyframes         Keyframes to animate
+     * @param enterFadeDuration fade in duration of a keyframe in milliseconds
+     * @param exitFadeDuration  fade out duration of a keyframe in milliseconds
+     */
+    public CrossfadeGradientDrawable(@NonNull Keyframes keyframes, int enterFadeDuration,
+                                     int exitFadeDuration) {
+        super(keyframes);
+        this.enterFadeDuration = Math.max(0, enterFadeDuration);
+        this.exitFadeDuration = Math.max(0, exitFadeDuration);
+        this.colors = new int[keyframes.getStopCount()];
+        if (keyframes.size() > 0) onPlayTimeChanged(0);
+    }
+
+    /**
+     * Getter
+     *
+     * @return fade in duration in milliseconds
+     */
+    public int getEnterFadeDuration() {
+        return enterFadeDuration;
+    }
+
+    /**
+     * Getter
+     *
+     * @return fade out duration in milliseconds
+     */
+    public int getExitFadeDuration() {
+        return exitFadeDuration;
+    }
+
+    @Override
+    protected boolean onPlayTimeChanged(long playTime) {
+        Timeline timeline = getTimeline();
+        int current = timeline.indexAt(playTime, index);
+        boolean changed = current != index;
+
+        if (changed) {
+            // the old incoming gradient is the outgoing one of the next keyframe
+            CachedGradientDrawable spare = outgoing;
+            outgoing = incoming;
+            outgoingIndex = index;
+            incoming = fill(spare, current);
+            index = current;
+        }
+
+        long cycle = timeline.getCycleDuration();
+        long local = (cycle == 0 ? 0 : playTime % cycle) - timeline.getStart(current);
+        // the first keyframe of the first cycle appears without a fade, like AnimationDrawable
+        boolean hasPrevious = current > 0 || playTime >= cycle;
+
+        int nextIncomingAlpha = 255;
+        int nextOutgoingAlpha = 0;
+        if (hasPrevious) {
+            if (local < enterFadeDuration)
+                nextIncomingAlpha = (int) (255 * local / enterFadeDuration);
+            if (local < exitFadeDuration)
+                nextOutgoingAlpha = 255 - (int) (255 * local / exitFadeDuration);
+        }
+
+        if (nextOutgoingAlpha > 0) {
+            // a seek can land inside a fade without passing the previous keyframe
+            int previous = current == 0 ? timeline.size() - 1 : current - 1;
+            if (outgoingIndex != previous) {
+                outgoing = fill(outgoing, previous);
+                outgoingIndex = previous;
+                changed = true;
+            }
+        }
+
+        changed |= nextIncomingAlpha != incomingAlpha || nextOutgoingAlpha != outgoingAlpha;
+        incomingAlpha = nextIncomingAlpha;
+        outgoingAlpha = nextOutgoingAlpha;
+        return changed;
+    }
+
+    @Override
+    protected long getChangeDelay(long playTime) {
+        Timeline timeline = getTimeline();
+        long cycle = timeline.getCycleDuration();
+        if (cycle == 0) return 0;
+
+        long local = playTime % cycle - timeline.getStart(index);
+        // the next keyframe starts at the latest, held keyframes change only then
+        long next = timeline.getDuration(index);
+        if ((index == 0 && playTime < cycle)
+                || (local >= enterFadeDuration && local >= exitFadeDuration))
+            return next - local;
+
+        // alpha steps at the first time 255 * local / duration reaches the next integer
+        if (local < enterFadeDuration)
+            next = Math.min(next, ((incomingAlpha + 1) * (long) enterFadeDuration + 254) / 255);
+        if (local < exitFadeDuration) {
+            long step = 255 - outgoingAlpha + 1;
+            next = Math.min(next, (step * exitFadeDuration + 254) / 255);
+        }
+
+        return Math.max(0, next - local);
+    }
+
+    @Override
+    protected void onKeyframeColorsChanged(int index) {
+        // the gradients showing the keyframe switch to the new colors at once
+        boolean changed = false;
+        if (index == this.index && incoming != null) {
+            incoming = fill(incoming, index);
+            changed = true;
+        }
+        if (index == outgoingIndex && outgoing != null) {
+            outgoing = fill(outgoing, index);
+            changed = true;
+        }
+        if (changed) invalidateSelf();
+    }
+
+    @Override
+    protected void drawFrame(@NonNull Canvas canvas) {
+        if (outgoingAlpha > 0 && outgoing != null) {
+            outgoing.setAlpha(outgoingAlpha * alpha / 255);
+            outgoing.draw(canvas);
+        }
+
+        if (incomingAlpha > 0 && incoming != null) {
+            incoming.setAlpha(incomingAlpha * alpha / 255);
+            incoming.draw(canvas);
+        }
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        if (incoming != null) incoming.setBounds(bounds);
+        if (outgoing != null) outgoing.setBounds(bounds);
+    }
+
+    @Override
+    public void setAlpha(@IntRange(from = 0, to = 255) int alpha) {
+        if (this.alpha != alpha) {
+            this.alpha = alpha;
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        this.colorFilter = colorFilter;
+        if (incoming != null) incoming.setColorFilter(colorFilter);
+        if (outgoing != null) outgoing.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    /**
+     * Method to show a keyframe in a gradient drawable, creating it on first use
+     *
+     * @param drawable CachedGradientDrawable to reuse, may be null
+     * @param index    keyframe index
+     * @return CachedGradientDrawable showing the keyframe
+     */
+    private CachedGradientDrawable fill(@Nullable CachedGradientDrawable drawable, int index) {
+        Keyframes keyframes = getKeyframes();
+        keyframes.getColors(index, colors);
+        keyframes.getRadii(index, radii);
+
+        int type = keyframes.getType(index);
+        int orientation = keyframes.getOrientation(index);
+        float centerX = keyframes.getCenterX(index);
+        float centerY = keyframes.getCenterY(index);
+        float gradientRadius = keyframes.getGradientRadius(index);
+
+        if (drawable == null) {
+            drawable = new CachedGradientDrawable(colors, type, orientation, centerX, centerY,
+                    gradientRadius, radii);
+            drawable.setColorFilter(colorFilter);
+            drawable.setBounds(getBounds());
+        } else {
+            drawable.set(colors, type, orientation, centerX, centerY, gradientRadius, radii);
+        }
+
+        return drawable;
+    }
+}
@@ -0,0 +1,273 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Shader;
+
+import com.mvivekanandji.gradientanimation.core.FrameState;
+import com.mvivekanandji.gradientanimation.core.GradientGeometry;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+
+import java.util.Arrays;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Paints an evaluated {@link FrameState} of keyframes into bounds, the drawing half of
+ * {@link InterpolatingGradientDrawable}.
+ * <p>
+ * Linear frames are drawn from a ramp bitmap through one BitmapShader, radial and sweep frames
+ * through shader layers built for the bounds size. The ramp bitmap is written by its owner,
+ * so painters of several drawables can draw one frame and one bitmap at their own sizes.
+ */
+final class FramePainter {
+
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    private final Path path = new Path();
+    private final RectF rect = new RectF();
+    private final float[] line = new float[4];
+    private final Matrix matrix = new Matrix();
+    private final int[] stops;
+    // radial and sweep layers, a shader per keyframe placed by the points it was built for
+    private final Paint layerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Shader[] layerShaders;
+    private final float[] layerPoints;
+    private final float[] framePoints = new float[4];
+    private final Matrix layerMatrix = new Matrix();
+    private int layerWidth;
+    private int layerHeight;
+
+    private Keyframes keyframes;
+    private Bitmap bitmap;
+    private BitmapShader shader;
+    // geometry the shader matrix was computed for
+    private int matrixOrientation = -1;
+    private float matrixAngle = Float.NaN;
+    private int matrixWidth;
+    private int matrixHeight;
+
+    /**
+     * Constructor
+     *
+     * @param keyframes Keyframes of the frames to paint
+     */
+    FramePainter(Keyframes keyframes) {
+        this.keyframes = keyframes;
+        this.stops = new int[keyframes.getStopCount()];
+        this.layerShaders = new Shader[keyframes.size()];
+        this.layerPoints = new float[keyframes.size() * 4];
+        paint.setStyle(Paint.Style.FILL);
+        layerPaint.setStyle(Paint.Style.FILL);
+    }
+
+    /**
+     * Method to draw linear frames from a ramp bitmap, a new bitmap gets a new shader
+     *
+     * @param bitmap ramp bitmap, one row of ramp colors
+     */
+    void setRamp(Bitmap bitmap) {
+        if (bitmap == this.bitmap) return;
+
+        this.bitmap = bitmap;
+        shader = new BitmapShader(bitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        paint.setShader(shader);
+        matrixOrientation = -1;
+    }
+
+    /**
+     * Method to draw a frame, the ramp bitmap must hold its colors unless it has layers
+     *
+     * @param canvas Canvas
+     * @param bounds bounds to fill
+     * @param state  evaluated frame
+     */
+    void draw(Canvas canvas, Rect bounds, FrameState state) {
+        int width = bounds.width();
+        int height = bounds.height();
+        rect.set(0, 0, width, height);
+
+        if (hasLayers(state)) {
+            drawLayers(canvas, bounds, state);
+            return;
+        }
+
+        if (state.orientation != matrixOrientation
+                || Float.floatToIntBits(state.angle) != Float.floatToIntBits(matrixAngle)
+                || width != matrixWidth || height != matrixHeight)
+            updateMatrix(state, width, height);
+
+        // the shader matrix is computed for a gradient at the origin
+        int save = canvas.save();
+        canvas.translate(bounds.left, bounds.top);
+        fill(canvas, state, paint);
+        canvas.restoreToCount(save);
+    }
+
+    /**
+     * Method to check whether a frame shows a radial or sweep keyframe, drawn without the ramp
+     *
+     * @param state evaluated frame
+     * @return true if the frame is drawn as shader layers
+     */
+    boolean hasLayers(FrameState state) {
+        if (keyframes.size() == 0) return false;
+        if (keyframes.getType(state.keyframe) != GradientGeometry.LINEAR) return true;
+        return state.transition
+                && keyframes.getType(previousKeyframe(state)) != GradientGeometry.LINEAR;
+    }
+
+    /**
+     * Method to follow new colors of a keyframe, its layer shader is built again on next use
+     *
+     * @param keyframes Keyframes holding the new colors
+     * @param index     keyframe index
+     */
+    void onKeyframeColorsChanged(Keyframes keyframes, int index) {
+        this.keyframes = keyframes;
+        layerShaders[index] = null;
+    }
+
+    void setAlpha(int alpha) {
+        paint.setAlpha(alpha);
+    }
+
+    int getAlpha() {
+        return paint.getAlpha();
+    }
+
+    void setColorFilter(ColorFilter colorFilter) {
+        paint.setColorFilter(colorFilter);
+        layerPaint.setColorFilter(colorFilter);
+    }
+
+    /**
+     * Method to draw a frame involving radial or sweep keyframes as shader layers
+     */
+    private void drawLayers(Canvas canvas, Rect bounds, FrameState state) {
+        int width = bounds.width();
+        int height = bounds.height();
+        if (width <= 0 || height <= 0) return;
+
+        if (width != layerWidth || height != layerHeight) {
+            Arrays.fill(layerShaders, null);
+            layerWidth = width;
+            layerHeight = height;
+        }
+
+        // shaders are built for a gradient at the origin
+        int save = canvas.save();
+        canvas.translate(bounds.left, bounds.top);
+
+        int alpha = paint.getAlpha();
+        if (state.transition) {
+            drawLayer(canvas, state, previousKeyframe(state), alpha);
+            drawLayer(canvas, state, state.keyframe, Math.round(alpha * state.fraction));
+        } else {
+            drawLayer(canvas, state, state.keyframe, alpha);
+        }
+
+        canvas.restoreToCount(save);
+    }
+
+    /**
+     * Method to draw the shader of a keyframe placed at the geometry of the frame
+     */
+    private void drawLayer(Canvas canvas, FrameState state, int index, int alpha) {
+        int type = keyframes.getType(index);
+        int orientation = keyframes.getOrientation(index);
+
+        Shader shader = layerShaders[index];
+        if (shader == null) {
+            GradientGeometry.resolveShape(type, orientation, Float.NaN,
+                    keyframes.getCenterX(index), keyframes.getCenterY(index),
+                    keyframes.getGradientRadius(index), layerWidth, layerHeight, framePoints);
+            System.arraycopy(framePoints, 0, layerPoints, index * 4, 4);
+            keyframes.getColors(index, stops);
+            shader = GradientShaderCache.createShader(type, stops.clone(), framePoints);
+            layerShaders[index] = shader;
+        }
+
+        // moving, scaling and turning the points the shader was built for is enough
+        // to follow the animated center, radius and angle
+        GradientGeometry.resolveShape(type, orientation, state.angle, state.centerX,
+                state.centerY, state.gradientRadius, layerWidth, layerHeight, framePoints);
+        if (!layerMatrix.setPolyToPoly(layerPoints, index * 4, framePoints, 0, 2))
+            layerMatrix.reset();
+        shader.setLocalMatrix(layerMatrix);
+
+        layerPaint.setShader(shader);
+        layerPaint.setAlpha(alpha);
+        fill(canvas, state, layerPaint);
+    }
+
+    /**
+     * Method to fill the rect, rounded by the radii of the frame
+     */
+    private void fill(Canvas canvas, FrameState state, Paint paint) {
+        if (hasRadii(state)) {
+            path.reset();
+            path.addRoundRect(rect, state.radii, Path.Direction.CW);
+            canvas.drawPath(path, paint);
+        } else {
+            canvas.drawRect(rect, paint);
+        }
+    }
+
+    /**
+     * Method to lay the ramp along the gradient line of the orientation or angle of the frame
+     */
+    private void updateMatrix(FrameState state, int width, int height) {
+        int rampSize = bitmap.getWidth();
+        GradientGeometry.resolve(state.orientation, state.angle, 0, 0, width, height, line);
+        float dx = line[2] - line[0];
+        float dy = line[3] - line[1];
+        float length = (float) Math.hypot(dx, dy);
+
+        // ramp entry i is the color at i / (rampSize - 1) of the line, sampled at texel centers
+        matrix.setTranslate(-0.5f, 0f);
+        matrix.postScale(Math.max(length, 1e-3f) / (rampSize - 1), 1f);
+        matrix.postRotate((float) Math.toDegrees(Math.atan2(dy, dx)));
+        matrix.postTranslate(line[0], line[1]);
+        shader.setLocalMatrix(matrix);
+
+        matrixOrientation = state.orientation;
+        matrixAngle = state.angle;
+        matrixWidth = width;
+        matrixHeight = height;
+    }
+
+    private int previousKeyframe(FrameState state) {
+        int index = state.keyframe;
+        return index == 0 ? keyframes.size() - 1 : index - 1;
+    }
+
+    private static boolean hasRadii(FrameState state) {
+        for (float radius : state.radii)
+            if (radius > 0f) return true;
+        return false;
+    }
+}
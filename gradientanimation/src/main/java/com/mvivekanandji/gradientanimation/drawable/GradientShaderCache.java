@@ -0,0 +1,308 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+import android.graphics.SweepGradient;
+import android.util.LruCache;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.mvivekanandji.gradientanimation.core.GradientGeometry;
+import com.mvivekanandji.gradientanimation.core.GradientKey;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * LRU cache of gradient shaders keyed by gradient content and size.
+ * <p>
+ * Shaders are created for a gradient drawn at the origin and are never modified afterwards,
+ * so every drawable of the same colors, geometry and size shares one instance,
+ * eg. hundreds of list items using the same inbuilt gradient. A drawable takes a new shader
+ * only when its bounds change, never per frame. The cache has a memory budget,
+ * exposes hit/miss/eviction counters and is trimmed on onTrimMemory once installed with
+ * {@link #install(Context)}.
+ */
+public final class GradientShaderCache implements ComponentCallbacks2 {
+
+    /**
+     * default memory budget in bytes
+     */
+    public static final int DEFAULT_MAX_SIZE = 64 * 1024;
+
+    // rough size of a gradient shader with its native shader, without the color array
+    private static final int ENTRY_OVERHEAD = 192;
+
+    private static GradientShaderCache instance;
+
+    private final LruCache<Key, Shader> cache;
+    private final Key probe = new Key(new GradientKey(), GradientGeometry.LINEAR, 0.5f, 0.5f, 1f,
+            0, 0);
+    private final float[] line = new float[4];
+    private boolean installed;
+
+    private GradientShaderCache(int maxSize) {
+        cache = new LruCache<Key, Shader>(maxSize) {
+            @Override
+            protected int sizeOf(Key key, Shader value) {
+                // colors are held by the key and by the shader
+                return ENTRY_OVERHEAD + key.gradient.getColorCount() * 8;
+            }
+        };
+    }
+
+    /**
+     * Method to get the process wide cache, must be used on the main thread
+     *
+     * @return GradientShaderCache
+     */
+    @MainThread
+    @NonNull
+    public static GradientShaderCache getInstance() {
+        if (instance == null)
+            instance = new GradientShaderCache(DEFAULT_MAX_SIZE);
+        return instance;
+    }
+
+    /**
+     * Method to register the cache for memory trim callbacks, calling it again has no effect
+     *
+     * @param context any context, the application context is used
+     */
+    public void install(@NonNull Context context) {
+        if (installed) return;
+
+        context.getApplicationContext().registerComponentCallbacks(this);
+        installed = true;
+    }
+
+    /**
+     * Method to get a shared shader for a linear gradient drawn from (0, 0) to (width, height)
+     *
+     * @param colors      color array, at least two colors
+     * @param orientation Gradient.Orientation ordinal
+     * @param width       width in pixels
+     * @param height      height in pixels
+     * @return shared Shader, must not be modified
+     */
+    @NonNull
+    public Shader obtain(@NonNull int[] colors, int orientation, int width, int height) {
+        return obtain(colors, GradientGeometry.LINEAR, orientation, 0.5f, 0.5f, 1f, width, height);
+    }
+
+    /**
+     * Method to get a shared shader for a gradient of any type in the bounds (0, 0) to
+     * (width, height)
+     *
+     * @param colors      color array, at least two colors
+     * @param type        GradientGeometry.LINEAR, RADIAL or SWEEP
+     * @param orientation Gradient.Orientation ordinal of linear gradients
+     * @param centerX     radial or sweep center x as fraction of the width
+     * @param centerY     radial or sweep center y as fraction of the height
+     * @param radius      radial radius as fraction of the distance to the farthest corner
+     * @param width       width in pixels
+     * @param height      height in pixels
+     * @return shared Shader, must not be modified
+     */
+    @NonNull
+    public Shader obtain(@NonNull int[] colors, int type, int orientation, float centerX,
+                         float centerY, float radius, int width, int height) {
+        // corner radii clip the shape, they do not change the shader
+        probe.gradient.set(colors, orientation, null);
+        probe.set(type, centerX, centerY, radius, width, height);
+
+        Shader shader = cache.get(probe);
+        if (shader == null) {
+            GradientGeometry.resolveShape(type, orientation, Float.NaN, centerX, centerY, radius,
+                    width, height, line);
+            shader = createShader(type, colors.clone(), line);
+            cache.put(new Key(probe.gradient.copy(), type, centerX, centerY, radius, width,
+                    height), shader);
+        }
+
+        return shader;
+    }
+
+    /**
+     * Method to create a shader placed by the points of
+     * {@link GradientGeometry#resolveShape}
+     *
+     * @param type   GradientGeometry.LINEAR, RADIAL or SWEEP
+     * @param colors color array owned by the shader, at least two colors
+     * @param points x0, y0, x1, y1
+     * @return new Shader
+     */
+    static Shader createShader(int type, int[] colors, float[] points) {
+        if (type == GradientGeometry.LINEAR)
+            return new LinearGradient(points[0], points[1], points[2], points[3], colors, null,
+                    Shader.TileMode.CLAMP);
+
+        float dx = points[2] - points[0];
+        float dy = points[3] - points[1];
+        if (type == GradientGeometry.RADIAL)
+            return new RadialGradient(points[0], points[1],
+                    Math.max((float) Math.hypot(dx, dy), 1e-3f), colors, null, Shader.TileMode.CLAMP);
+
+        Shader shader = new SweepGradient(points[0], points[1], colors, null);
+        if (dy != 0f) {
+            // SweepGradient starts at 3 o'clock
+            Matrix matrix = new Matrix();
+            matrix.setRotate((float) Math.toDegrees(Math.atan2(dy, dx)), points[0], points[1]);
+            shader.setLocalMatrix(matrix);
+        }
+        return shader;
+    }
+
+    /**
+     * Method to change the memory budget
+     *
+     * @param maxSize budget in bytes
+     */
+    public void setMaxSize(@IntRange(from = 1) int maxSize) {
+        cache.resize(maxSize);
+    }
+
+    /**
+     * Getter
+     *
+     * @return memory budget in bytes
+     */
+    public int getMaxSize() {
+        return cache.maxSize();
+    }
+
+    /**
+     * Getter
+     *
+     * @return estimated bytes held by the cache
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of lookups that found a shared shader
+     */
+    public int getHitCount() {
+        return cache.hitCount();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of lookups that had to create a shader
+     */
+    public int getMissCount() {
+        return cache.missCount();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of shaders evicted because of the budget or memory trim
+     */
+    public int getEvictionCount() {
+        return cache.evictionCount();
+    }
+
+    /**
+     * Method to drop every cached shader, drawables already using one keep working
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_CRITICAL)
+            cache.evictAll();
+        else if (level >= TRIM_MEMORY_RUNNING_LOW)
+            cache.trimToSize(cache.maxSize() / 2);
+    }
+
+    @Override
+    public void onLowMemory() {
+        cache.evictAll();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+    }
+
+    /**
+     * Cache key, gradient content and shape plus size
+     */
+    private static final class Key {
+        final GradientKey gradient;
+        int type;
+        float centerX;
+        float centerY;
+        float radius;
+        int width;
+        int height;
+
+        Key(GradientKey gradient, int type, float centerX, float centerY, float radius,
+            int width, int height) {
+            this.gradient = gradient;
+            set(type, centerX, centerY, radius, width, height);
+        }
+
+        void set(int type, float centerX, float centerY, float radius, int width, int height) {
+            this.type = type;
+            // the shape does not matter for linear gradients
+            boolean linear = type == GradientGeometry.LINEAR;
+            this.centerX = linear ? 0.5f : centerX;
+            this.centerY = linear ? 0.5f : centerY;
+            this.radius = linear || type == GradientGeometry.SWEEP ? 1f : radius;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key other = (Key) o;
+            return width == other.width && height == other.height && type == other.type
+                    && centerX == other.centerX && centerY == other.centerY
+                    && radius == other.radius && gradient.equals(other.gradient);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = gradient.hashCode();
+            result = 31 * result + type;
+            result = 31 * result + Float.floatToIntBits(centerX);
+            result = 31 * result + Float.floatToIntBits(centerY);
+            result = 31 * result + Float.floatToIntBits(radius);
+            result = 31 * result + width;
+            return 31 * result + height;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.AngleTrack;
+import com.mvivekanandji.gradientanimation.core.ColorMath;
+import com.mvivekanandji.gradientanimation.core.FrameState;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Drawable which interpolates the color stops between keyframes and draws exactly one
+ * gradient per frame. Unlike AnimationDrawable there are never two full size gradients
+ * drawn with alpha on top of each other during a fade.
+ * <p>
+ * Frames come from the {@link SharedFrameTicker}, the drawable is only invalidated when the
+ * interpolated output actually changed. Every frame is drawn from a color ramp, a fixed number
+ * of colors sampled evenly along the gradient, so any number of color stops costs the same.
+ * Ramps of the keyframes are precomputed as {@link KeyframeRamps}, transitions fill the ramp
+ * from the interpolated stops.
+ * The ramp is written in place into one bitmap, drawn through one BitmapShader whose local
+ * matrix lays it along the gradient line; frames allocate no shader. An {@link AngleTrack}
+ * of the keyframes rotates the gradient by updating only that matrix.
+ * <p>
+ * Radial and sweep keyframes cannot be drawn from a ramp. Each gets one gradient shader, built
+ * on first use for the view size and rebuilt only when the size changes; animated centers,
+ * radii and angles move it with its local matrix. Transitions involving them draw the
+ * previous keyframe and the current one faded in on top, in sRGB like a crossfade.
+ * <p>
+ * Keyframe colors changed with {@link #setKeyframeColors(int, int[])} blend from the colors on
+ * screen over the color blend duration, without restarting; radial and sweep layers switch at once.
+ * <p>
+ * Mirrors, see {@link #createMirror()}, draw the frame of this drawable in other views at their
+ * own sizes. The frame is evaluated and the ramp written once, however many mirrors draw it.
+ */
+public class InterpolatingGradientDrawable extends KeyframeDrawable {
+
+    /**
+     * default number of ramp colors
+     */
+    public static final int DEFAULT_RAMP_SIZE = 256;
+    /**
+     * largest number of ramp colors
+     */
+    public static final int MAX_RAMP_SIZE = 4096;
+
+    private final FrameState frameState;
+    private final FrameState nextFrameState;
+    private final FramePainter painter;
+
+    private int rampSize;
+    private int[] ramp;
+    private KeyframeRamps keyframeRamps;
+    private Bitmap bitmap;
+    private boolean rampDirty = true;
+    private List<MirrorGradientDrawable> mirrors;
+    // live color changes, the colors on screen blend into the evaluated ones
+    private int colorBlendDuration = -1;
+    private int[] blendColors;
+    private int[] stops;
+    private long blendStart;
+    private int blendDuration;
+
+    /**
+     * Constructor
+     *
+     * @param keyframes Keyframes to animate
+     */
+    public InterpolatingGradientDrawable(@NonNull Keyframes keyframes) {
+        this(KeyframeRamps.build(keyframes, DEFAULT_RAMP_SIZE));
+    }
+
+    /**
+     * Constructor - to use ramps prepared ahead, eg. on a background thread
+     *
+     * @param keyframeRamps KeyframeRamps of the keyframes to animate
+     */
+    public InterpolatingGradientDrawable(@NonNull KeyframeRamps keyframeRamps) {
+        super(keyframeRamps.getKeyframes());
+        Keyframes keyframes = keyframeRamps.getKeyframes();
+        this.frameState = new FrameState(keyframes.getStopCount());
+        this.nextFrameState = new FrameState(keyframes.getStopCount());
+        this.painter = new FramePainter(keyframes);
+        if (keyframes.size() > 0) keyframes.evaluate(0, true, frameState);
+        setKeyframeRamps(keyframeRamps);
+    }
+
+    /**
+     * Method to set the number of ramp colors. Smaller ramps save memory and upload time,
+     * 256 is enough for 8 bit channels on any gradient length.
+     *
+     * @param rampSize number of colors in the range 2 to {@link #MAX_RAMP_SIZE}
+     */
+    public void setRampSize(@IntRange(from = 2, to = MAX_RAMP_SIZE) int rampSize) {
+        if (rampSize < 2 || rampSize > MAX_RAMP_SIZE)
+            throw new IllegalArgumentException("Ramp size out of range " + rampSize);
+        if (rampSize == this.rampSize) return;
+
+        setKeyframeRamps(KeyframeRamps.build(getKeyframes(), rampSize));
+    }
+
+    /**
+     * Method to switch to ramps of the keyframes of this drawable
+     *
+     * @param keyframeRamps KeyframeRamps
+     */
+    private void setKeyframeRamps(KeyframeRamps keyframeRamps) {
+        this.keyframeRamps = keyframeRamps;
+        this.rampSize = keyframeRamps.getRampSize();
+        ramp = new int[rampSize];
+
+        // mirrors may still draw the old bitmap, it is left to the garbage collector
+        bitmap = Bitmap.createBitmap(rampSize, 1, Bitmap.Config.ARGB_8888);
+        painter.setRamp(bitmap);
+
+        rampDirty = true;
+        invalidateSelf();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of ramp colors
+     */
+    public int getRampSize() {
+        return rampSize;
+    }
+
+    /**
+     * Getter - to get the memory held for ramps, the bitmap, the working ramp and the
+     * precomputed ramp of every keyframe
+     *
+     * @return size in bytes
+     */
+    public long getRampByteCount() {
+        return 4L * rampSize * 2 + keyframeRamps.getByteCount();
+    }
+
+    /**
+     * Method to set how long the colors on screen take to blend into colors set with
+     * {@link #setKeyframeColors(int, int[])}
+     *
+     * @param colorBlendDuration duration in milliseconds, negative (default) for the
+     *                           transition duration of the keyframes
+     */
+    public void setColorBlendDuration(int colorBlendDuration) {
+        this.colorBlendDuration = colorBlendDuration;
+    }
+
+    /**
+     * Getter
+     *
+     * @return blend duration of color changes in milliseconds
+     */
+    public int getColorBlendDuration() {
+        return colorBlendDuration >= 0 ? colorBlendDuration : getKeyframes().getTransitionDuration();
+    }
+
+    /**
+     * Method to create a drawable showing the frames of this drawable at its own bounds,
+     * eg. to show one animation in sync on several views. Mirrors neither evaluate frames nor
+     * animate, this drawable has to run. While it has no callback of its own, eg. it is not
+     * the background of a view, it is visible as long as any mirror is. Mirrors start hidden,
+     * the view they are set on shows them.
+     *
+     * @return new MirrorGradientDrawable
+     */
+    @NonNull
+    public MirrorGradientDrawable createMirror() {
+        if (mirrors == null) mirrors = new ArrayList<>();
+
+        MirrorGradientDrawable mirror = new MirrorGradientDrawable(this);
+        mirror.setVisible(false, false);
+        mirrors.add(mirror);
+        onMirrorVisibilityChanged();
+        return mirror;
+    }
+
+    /**
+     * Method to stop updating a mirror, it keeps its last frame
+     *
+     * @param mirror MirrorGradientDrawable created by this drawable
+     */
+    public void removeMirror(@NonNull MirrorGradientDrawable mirror) {
+        if (mirrors != null && mirrors.remove(mirror)) onMirrorVisibilityChanged();
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of mirrors updated with this drawable
+     */
+    public int getMirrorCount() {
+        return mirrors == null ? 0 : mirrors.size();
+    }
+
+    @Override
+    public void invalidateSelf() {
+        super.invalidateSelf();
+
+        if (mirrors == null) return;
+        for (int i = 0, size = mirrors.size(); i < size; i++)
+            mirrors.get(i).invalidateSelf();
+    }
+
+    @Override
+    protected boolean onPlayTimeChanged(long playTime) {
+        getKeyframes().evaluate(playTime, true, nextFrameState);
+        if (blendDuration > 0) blendColors();
+        if (nextFrameState.sameAs(frameState)) return false;
+
+        // rotation alone keeps the ramp
+        if (!Arrays.equals(nextFrameState.colors, frameState.colors)) rampDirty = true;
+        frameState.set(nextFrameState);
+        return true;
+    }
+
+    @Override
+    protected long getChangeDelay(long playTime) {
+        // a color blend moves every frame
+        if (blendDuration > 0) return 0;
+        return getKeyframes().getChangeDelay(playTime, true);
+    }
+
+    @Override
+    protected void onKeyframeColorsChanged(int index) {
+        Keyframes keyframes = getKeyframes();
+        if (stops == null) {
+            stops = new int[keyframes.getStopCount()];
+            blendColors = new int[keyframes.getStopCount()];
+        }
+        // the first change copies the ramps, other drawables may share them
+        if (keyframeRamps.getKeyframes() != keyframes)
+            keyframeRamps = keyframeRamps.copyFor(keyframes);
+        keyframeRamps.update(index, stops, ramp);
+
+        painter.onKeyframeColorsChanged(keyframes, index);
+        if (mirrors != null) {
+            for (int i = 0, size = mirrors.size(); i < size; i++)
+                mirrors.get(i).onKeyframeColorsChanged(keyframes, index);
+        }
+
+        // only a keyframe on screen blends, others show the new colors when they come up
+        int previous = frameState.keyframe == 0 ? keyframes.size() - 1 : frameState.keyframe - 1;
+        boolean shown = index == frameState.keyframe || (frameState.transition && index == previous);
+
+        int duration = getColorBlendDuration();
+        if (shown && isRunning() && duration > 0) {
+            System.arraycopy(frameState.colors, 0, blendColors, 0, blendColors.length);
+            blendStart = getCurrentPlayTime();
+            blendDuration = duration;
+        }
+
+        rampDirty = true;
+        onPlayTimeChanged(getTimeline().clamp(getCurrentPlayTime()));
+        invalidateSelf();
+    }
+
+    @Override
+    protected void drawFrame(@NonNull Canvas canvas) {
+        if (!painter.hasLayers(frameState)) prepareRamp();
+        painter.draw(canvas, getBounds(), frameState);
+    }
+
+    @Override
+    public void setAlpha(@IntRange(from = 0, to = 255) int alpha) {
+        if (painter.getAlpha() != alpha) {
+            painter.setAlpha(alpha);
+            super.invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return painter.getAlpha();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        painter.setColorFilter(colorFilter);
+        super.invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    /**
+     * Getter - to get the current frame, shared with mirrors
+     *
+     * @return FrameState
+     */
+    FrameState getFrameState() {
+        return frameState;
+    }
+
+    /**
+     * Method to get the ramp bitmap holding the colors of the current frame,
+     * written at most once per frame for this drawable and all mirrors
+     *
+     * @return Bitmap
+     */
+    Bitmap prepareRamp() {
+        if (rampDirty) updateRamp();
+        return bitmap;
+    }
+
+    /**
+     * Method called by mirrors when they are shown or hidden
+     */
+    void onMirrorVisibilityChanged() {
+        // shown by a view of its own, the view decides
+        if (getCallback() != null) return;
+
+        boolean visible = false;
+        for (int i = 0, size = mirrors.size(); i < size && !visible; i++)
+            visible = mirrors.get(i).isVisible();
+        setVisible(visible, false);
+    }
+
+    /**
+     * Method to blend the colors on screen at the last color change into the evaluated colors
+     */
+    private void blendColors() {
+        long elapsed = getCurrentPlayTime() - blendStart;
+        if (elapsed < 0 || elapsed >= blendDuration) {
+            blendDuration = 0;
+            return;
+        }
+
+        ColorMath.lerp(blendColors, 0, nextFrameState.colors, 0, elapsed / (float) blendDuration,
+                nextFrameState.colors, blendColors.length);
+    }
+
+    /**
+     * Method to write the ramp of the current frame into the bitmap
+     */
+    private void updateRamp() {
+        if (frameState.transition || blendDuration > 0 || getKeyframes().size() == 0)
+            ColorMath.resample(frameState.colors, ramp);
+        else
+            keyframeRamps.copy(frameState.keyframe, ramp);
+
+        bitmap.setPixels(ramp, 0, rampSize, 0, 0, rampSize, 1);
+        rampDirty = false;
+    }
+}
@@ -0,0 +1,389 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.graphics.Canvas;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.FrameMetrics;
+import com.mvivekanandji.gradientanimation.core.FrameTicker;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.core.Timeline;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Base of the drawables animating {@link Keyframes} on the {@link SharedFrameTicker}.
+ * <p>
+ * Playback state is only a play time measured against the {@link Timeline} of the keyframes,
+ * so repeat counts end on the exact frame and the animation can be seeked without scheduling
+ * anything. Subclasses turn the play time into their output and report whether it changed,
+ * the drawable is only invalidated when it did. Subclasses which know how long their output
+ * stays the same, eg. while a keyframe is held or during a slow blend of close colors, skip the
+ * frames until it changes.
+ */
+public abstract class KeyframeDrawable extends Drawable
+        implements Animatable, FrameTicker.DelayedCallback {
+
+    private static final String TRACE_FRAME = "GradientAnimation#frame";
+    private static final String TRACE_DRAW = "GradientAnimation#draw";
+
+    private Keyframes keyframes;
+
+    private Timeline timeline;
+    private boolean running;
+    private boolean oneShot;
+    private int repeatCount = Timeline.INFINITE;
+    private int maxFrameRate = FrameTicker.UNLIMITED;
+    private FrameMetrics metrics;
+    private boolean traceEnabled;
+    private long startTime;
+    private long playTime;
+    private long nextFrameDelay;
+
+    /**
+     * Constructor
+     *
+     * @param keyframes Keyframes to animate
+     */
+    protected KeyframeDrawable(@NonNull Keyframes keyframes) {
+        this.keyframes = keyframes;
+        this.timeline = keyframes.getTimeline().withRepeatCount(repeatCount);
+    }
+
+    /**
+     * Method to set whether the animation should play once or repeat
+     *
+     * @param oneShot true to play once
+     */
+    public void setOneShot(boolean oneShot) {
+        this.oneShot = oneShot;
+        timeline = timeline.withRepeatCount(oneShot ? 1 : repeatCount);
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if animation plays only once
+     */
+    public boolean isOneShot() {
+        return oneShot;
+    }
+
+    /**
+     * Method to set how many times the keyframes are played, ignored while one shot
+     *
+     * @param repeatCount number of cycles, {@link Timeline#INFINITE} to repeat forever
+     */
+    public void setRepeatCount(int repeatCount) {
+        this.repeatCount = repeatCount < 0 ? Timeline.INFINITE : repeatCount;
+        timeline = timeline.withRepeatCount(oneShot ? 1 : this.repeatCount);
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of cycles, {@link Timeline#INFINITE} if the animation repeats forever
+     */
+    public int getRepeatCount() {
+        return repeatCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return Timeline of the keyframes with the effective repeat count
+     */
+    @NonNull
+    public Timeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Getter - to get keyframes
+     *
+     * @return Keyframes
+     */
+    @NonNull
+    public Keyframes getKeyframes() {
+        return keyframes;
+    }
+
+    /**
+     * Method to change the colors of a keyframe while the animation runs, without restarting it.
+     * Shared keyframes are copied on the first change, later changes update that copy in place
+     * and allocate nothing.
+     *
+     * @param index  keyframe index
+     * @param colors color stops, resampled to the stop count of the keyframes
+     * @return true if the colors changed
+     * @throws IndexOutOfBoundsException if index is not below the keyframe count
+     * @throws IllegalArgumentException  if colors are missing
+     */
+    public boolean setKeyframeColors(int index, @NonNull int[] colors) {
+        // checked before copying, a bad index must not leave a copy behind
+        if (index < 0 || index >= keyframes.size())
+            throw new IndexOutOfBoundsException("Keyframe " + index + " of " + keyframes.size()
+                    + " keyframes");
+        // other drawables may share the keyframes, they keep the old colors
+        if (!keyframes.isMutable()) keyframes = keyframes.mutableCopy();
+        if (!keyframes.setColors(index, colors)) return false;
+
+        onKeyframeColorsChanged(index);
+        SharedFrameTicker.get().wake(this);
+        return true;
+    }
+
+    /**
+     * Method to cap the frame rate of this animation
+     *
+     * @param maxFrameRate frames per second, {@link FrameTicker#UNLIMITED} for the display frame rate
+     */
+    public void setMaxFrameRate(int maxFrameRate) {
+        this.maxFrameRate = Math.max(FrameTicker.UNLIMITED, maxFrameRate);
+
+        FrameTicker ticker = SharedFrameTicker.get();
+        if (ticker.isRegistered(this))
+            ticker.register(this, this.maxFrameRate);
+    }
+
+    /**
+     * Getter
+     *
+     * @return frame rate cap, {@link FrameTicker#UNLIMITED} if not capped
+     */
+    public int getMaxFrameRate() {
+        return maxFrameRate;
+    }
+
+    /**
+     * Method to report frame metrics of this animation, metrics cost nothing while no listener is set
+     *
+     * @param listener FrameMetrics.Listener, null to disable metrics
+     */
+    public void setMetricsListener(@Nullable FrameMetrics.Listener listener) {
+        metrics = listener == null ? null : new FrameMetrics(listener);
+        if (metrics != null && running && !isVisible())
+            metrics.recordPause(SystemClock.uptimeMillis());
+    }
+
+    /**
+     * Getter
+     *
+     * @return FrameMetrics, null if no listener is set
+     */
+    @Nullable
+    public FrameMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Method to wrap frames and draws in android.os.Trace sections
+     *
+     * @param traceEnabled true to emit trace sections
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if trace sections are emitted
+     */
+    public boolean isTraceEnabled() {
+        return traceEnabled;
+    }
+
+    /**
+     * Method to move the animation to the given play time, a running animation continues from there
+     *
+     * @param playTime milliseconds since the animation started, clamped to the timeline
+     */
+    public void seekTo(long playTime) {
+        this.playTime = Math.max(0, Math.min(playTime, timeline.getTotalDuration()));
+        startTime = SystemClock.uptimeMillis() - this.playTime;
+        if (keyframes.size() > 0 && onPlayTimeChanged(timeline.clamp(this.playTime)))
+            invalidateSelf();
+        SharedFrameTicker.get().wake(this);
+    }
+
+    /**
+     * Method to move the animation to the given play time, like ValueAnimator#setCurrentPlayTime
+     *
+     * @param playTime milliseconds since the animation started
+     * @see #seekTo(long)
+     */
+    public void setCurrentPlayTime(long playTime) {
+        seekTo(playTime);
+    }
+
+    /**
+     * Getter
+     *
+     * @return progress from 0 to 1 of all cycles, of the current cycle if the animation repeats forever
+     */
+    public float getProgress() {
+        return timeline.getProgress(playTime);
+    }
+
+    /**
+     * Getter
+     *
+     * @return milliseconds since the animation started
+     */
+    public long getCurrentPlayTime() {
+        return playTime;
+    }
+
+    @Override
+    public void start() {
+        if (running) return;
+
+        running = true;
+        if (timeline.isFinished(playTime)) playTime = 0;
+        if (isVisible()) resumeTicking();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+
+        running = false;
+        SharedFrameTicker.get().unregister(this);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean onFrame(long frameTimeMillis) {
+        if (traceEnabled) Trace.beginSection(TRACE_FRAME);
+        long computeStart = metrics != null ? System.nanoTime() : 0;
+
+        playTime = Math.max(0, frameTimeMillis - startTime);
+
+        if (timeline.isFinished(playTime)) {
+            playTime = timeline.getTotalDuration();
+            running = false;
+            SharedFrameTicker.get().unregister(this);
+        }
+
+        long clamped = timeline.clamp(playTime);
+        boolean changed = keyframes.size() > 0 && onPlayTimeChanged(clamped);
+
+        nextFrameDelay = 0;
+        if (running && keyframes.size() > 0) {
+            // the last frame of a finite timeline is never skipped
+            nextFrameDelay = Math.min(getChangeDelay(clamped),
+                    timeline.getTotalDuration() - playTime);
+        }
+
+        if (metrics != null) {
+            metrics.recordFrame(frameTimeMillis, System.nanoTime() - computeStart, changed);
+            metrics.recordIdle(nextFrameDelay);
+        }
+        if (traceEnabled) Trace.endSection();
+        return changed;
+    }
+
+    @Override
+    public long getNextFrameDelay() {
+        return nextFrameDelay;
+    }
+
+    @Override
+    public void onInvalidate() {
+        invalidateSelf();
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+
+        if (!visible) {
+            SharedFrameTicker.get().unregister(this);
+            if (metrics != null && running) metrics.recordPause(SystemClock.uptimeMillis());
+        } else if (running && (changed || restart)) {
+            if (restart) playTime = 0;
+            if (metrics != null) metrics.recordResume(SystemClock.uptimeMillis());
+            resumeTicking();
+        }
+
+        return changed;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (traceEnabled) Trace.beginSection(TRACE_DRAW);
+        if (keyframes.size() > 0 && !getBounds().isEmpty()) drawFrame(canvas);
+        if (traceEnabled) Trace.endSection();
+    }
+
+    /**
+     * Method to update the output for a play time, called for every ticker frame and seek
+     *
+     * @param playTime milliseconds since the start, already clamped to the timeline
+     * @return true if the output changed and the drawable has to be invalidated
+     */
+    protected abstract boolean onPlayTimeChanged(long playTime);
+
+    /**
+     * Method to get how long the output stays as {@link #onPlayTimeChanged(long)} left it,
+     * frames until then are skipped. The default is 0, a frame on every tick.
+     *
+     * @param playTime milliseconds since the start, already clamped to the timeline
+     * @return milliseconds until the output may change, 0 for the next frame
+     */
+    protected long getChangeDelay(long playTime) {
+        return 0;
+    }
+
+    /**
+     * Method called when the colors of a keyframe changed, {@link #getKeyframes()} already holds
+     * them. The default shows the new colors on the current play time at once.
+     *
+     * @param index keyframe index
+     */
+    protected void onKeyframeColorsChanged(int index) {
+        if (onPlayTimeChanged(timeline.clamp(playTime))) invalidateSelf();
+    }
+
+    /**
+     * Method to draw the current output, only called with keyframes and non empty bounds
+     *
+     * @param canvas Canvas
+     */
+    protected abstract void drawFrame(@NonNull Canvas canvas);
+
+    /**
+     * Method to continue from the current play time on the next ticker frame
+     */
+    private void resumeTicking() {
+        startTime = SystemClock.uptimeMillis() - playTime;
+        SharedFrameTicker.get().register(this, maxFrameRate);
+    }
+}
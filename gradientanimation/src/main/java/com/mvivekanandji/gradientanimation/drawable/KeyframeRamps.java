@@ -0,0 +1,136 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import com.mvivekanandji.gradientanimation.core.ColorMath;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Color ramps of every keyframe for {@link InterpolatingGradientDrawable}, the keyframe colors
+ * resampled to a fixed number of colors.
+ * <p>
+ * Immutable, so ramps can be built on a background thread and handed to a drawable on the main
+ * thread, eg. by GradientAnimation.Builder#buildAsync. Drawables with the same keyframes and ramp
+ * size can share one instance. A drawable changing colors live updates a private copy made by
+ * {@link #copyFor(Keyframes)}.
+ */
+public final class KeyframeRamps {
+
+    private final Keyframes keyframes;
+    private final int rampSize;
+    private final int[] ramps;
+
+    private KeyframeRamps(Keyframes keyframes, int rampSize, int[] ramps) {
+        this.keyframes = keyframes;
+        this.rampSize = rampSize;
+        this.ramps = ramps;
+    }
+
+    /**
+     * Method to build the ramps of keyframes, may be called on any thread
+     *
+     * @param keyframes Keyframes
+     * @param rampSize  number of colors in the range 2 to
+     *                  {@link InterpolatingGradientDrawable#MAX_RAMP_SIZE}
+     * @return KeyframeRamps
+     * @throws IllegalArgumentException if the ramp size is out of range
+     */
+    @NonNull
+    public static KeyframeRamps build(@NonNull Keyframes keyframes,
+                                      @IntRange(from = 2, to = InterpolatingGradientDrawable.MAX_RAMP_SIZE) int rampSize) {
+        if (rampSize < 2 || rampSize > InterpolatingGradientDrawable.MAX_RAMP_SIZE)
+            throw new IllegalArgumentException("Ramp size out of range " + rampSize);
+
+        int[] stops = new int[keyframes.getStopCount()];
+        int[] ramp = new int[rampSize];
+        int[] ramps = new int[keyframes.size() * rampSize];
+        for (int i = 0; i < keyframes.size(); i++) {
+            keyframes.getColors(i, stops);
+            ColorMath.resample(stops, ramp);
+            System.arraycopy(ramp, 0, ramps, i * rampSize, rampSize);
+        }
+
+        return new KeyframeRamps(keyframes, rampSize, ramps);
+    }
+
+    /**
+     * Getter - to get keyframes
+     *
+     * @return Keyframes the ramps were built from
+     */
+    @NonNull
+    public Keyframes getKeyframes() {
+        return keyframes;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of colors of every ramp
+     */
+    public int getRampSize() {
+        return rampSize;
+    }
+
+    /**
+     * Getter
+     *
+     * @return memory held by the ramps in bytes
+     */
+    public long getByteCount() {
+        return 4L * ramps.length;
+    }
+
+    /**
+     * Method to copy the ramp of a keyframe into output array
+     *
+     * @param index keyframe index
+     * @param out   output array of at least the ramp size
+     */
+    void copy(int index, int[] out) {
+        System.arraycopy(ramps, index * rampSize, out, 0, rampSize);
+    }
+
+    /**
+     * Method to copy the ramps for a mutable copy of their keyframes
+     *
+     * @param keyframes mutable copy of the keyframes of these ramps
+     * @return new KeyframeRamps, owned by the caller
+     */
+    KeyframeRamps copyFor(Keyframes keyframes) {
+        return new KeyframeRamps(keyframes, rampSize, ramps.clone());
+    }
+
+    /**
+     * Method to rebuild the ramp of a keyframe whose colors changed, only on copies
+     *
+     * @param index keyframe index
+     * @param stops working array of the stop count
+     * @param ramp  working array of the ramp size
+     */
+    void update(int index, int[] stops, int[] ramp) {
+        keyframes.getColors(index, stops);
+        ColorMath.resample(stops, ramp);
+        System.arraycopy(ramp, 0, ramps, index * rampSize, rampSize);
+    }
+}
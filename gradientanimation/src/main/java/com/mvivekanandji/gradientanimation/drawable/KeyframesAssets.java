@@ -0,0 +1,82 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import androidx.annotation.NonNull;
+
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.core.KeyframesFormat;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Loader of {@link KeyframesFormat} files packaged as assets.
+ * <p>
+ * Assets stored uncompressed are memory mapped from the APK, add
+ * <code>aaptOptions { noCompress 'gakf' }</code> to the app module for that. Compressed assets
+ * are streamed instead. Either way no drawable or XML parser is involved.
+ */
+public final class KeyframesAssets {
+
+    private KeyframesAssets() {
+    }
+
+    /**
+     * Method to load keyframes from an asset
+     *
+     * @param assets    AssetManager
+     * @param assetPath path inside the assets folder, eg. "anim.gakf"
+     * @return Keyframes
+     * @throws IOException if the asset is missing or not valid
+     */
+    @NonNull
+    public static Keyframes load(@NonNull AssetManager assets, @NonNull String assetPath)
+            throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = assets.openFd(assetPath);
+        } catch (FileNotFoundException e) {
+            // compressed assets have no file descriptor
+            InputStream in = assets.open(assetPath, AssetManager.ACCESS_STREAMING);
+            try {
+                return KeyframesFormat.read(in);
+            } finally {
+                in.close();
+            }
+        }
+
+        FileInputStream in = descriptor.createInputStream();
+        try {
+            FileChannel channel = in.getChannel();
+            return KeyframesFormat.read(channel.map(FileChannel.MapMode.READ_ONLY,
+                    descriptor.getStartOffset(), descriptor.getLength()));
+        } finally {
+            in.close();
+            descriptor.close();
+        }
+    }
+}
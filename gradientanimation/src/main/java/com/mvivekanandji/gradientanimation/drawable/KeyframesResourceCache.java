@@ -0,0 +1,299 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.TypedValue;
+
+import androidx.annotation.ArrayRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.mvivekanandji.gradientanimation.core.ColorParser;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.model.Gradient;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Cache of {@link Keyframes} parsed from array resources, keyed by resource ID.
+ * <p>
+ * The gradients array is either a string-array with one keyframe per item, colors separated
+ * by spaces or commas and an optional orientation name, eg. "#17EAD9 #6078EA tl_br", or an
+ * integer-array (or array of color references) whose colors are split into keyframes of
+ * stopCount colors. Keyframes are immutable, so every view inflated from the same
+ * attributes shares one instance, eg. a RecyclerView inflating a hundred rows parses once.
+ * The cache is cleared on configuration changes, color resources may differ per configuration.
+ */
+public final class KeyframesResourceCache implements ComponentCallbacks2 {
+
+    private static KeyframesResourceCache instance;
+
+    private final Map<Key, Keyframes> cache = new HashMap<>();
+    private final Key probe = new Key();
+    private boolean installed;
+    private int hitCount;
+    private int missCount;
+
+    private KeyframesResourceCache() {
+    }
+
+    /**
+     * Method to get the process wide cache, must be used on the main thread
+     *
+     * @return KeyframesResourceCache
+     */
+    @MainThread
+    @NonNull
+    public static KeyframesResourceCache getInstance() {
+        if (instance == null)
+            instance = new KeyframesResourceCache();
+        return instance;
+    }
+
+    /**
+     * Method to register the cache for configuration and memory callbacks,
+     * calling it again has no effect
+     *
+     * @param context any context, the application context is used
+     */
+    public void install(@NonNull Context context) {
+        if (installed) return;
+
+        context.getApplicationContext().registerComponentCallbacks(this);
+        installed = true;
+    }
+
+    /**
+     * Method to get the keyframes of array resources, parsed on first use
+     *
+     * @param resources   Resources
+     * @param gradientsId string-array, integer-array or array resource of the gradients
+     * @param durationsId integer-array resource of per keyframe durations, 0 for none
+     * @param orientation Gradient.Orientation ordinal of keyframes without their own
+     * @param duration    duration of keyframes without an entry in the durations array
+     * @param stopCount   colors per keyframe of integer arrays
+     * @return Keyframes
+     * @throws IllegalArgumentException if the gradients array holds no color, or an integer
+     *                                  array does not hold stopCount colors per keyframe
+     */
+    @NonNull
+    public Keyframes obtain(@NonNull Resources resources, @ArrayRes int gradientsId,
+                            @ArrayRes int durationsId, int orientation, int duration,
+                            int stopCount) {
+        probe.set(gradientsId, durationsId, orientation, duration, stopCount);
+
+        Keyframes keyframes = cache.get(probe);
+        if (keyframes != null) {
+            hitCount++;
+            return keyframes;
+        }
+
+        missCount++;
+        keyframes = parse(resources, gradientsId, durationsId, orientation, duration, stopCount);
+
+        Key key = new Key();
+        key.set(gradientsId, durationsId, orientation, duration, stopCount);
+        cache.put(key, keyframes);
+        return keyframes;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of lookups that found parsed keyframes
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of lookups that parsed resources
+     */
+    public int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Method to drop every cached keyframes, views already using them keep working
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_BACKGROUND) cache.clear();
+    }
+
+    @Override
+    public void onLowMemory() {
+        cache.clear();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        cache.clear();
+    }
+
+    /**
+     * Method to parse the gradients and durations arrays
+     *
+     * @return Keyframes
+     */
+    private static Keyframes parse(Resources resources, int gradientsId, int durationsId,
+                                   int orientation, int duration, int stopCount) {
+        int[] durations = durationsId != 0 ? resources.getIntArray(durationsId) : new int[0];
+        Keyframes.Builder builder = new Keyframes.Builder();
+        TypedArray array = resources.obtainTypedArray(gradientsId);
+        TypedValue value = new TypedValue();
+
+        try {
+            int length = array.length();
+            boolean strings = length > 0 && array.getValue(0, value)
+                    && value.type == TypedValue.TYPE_STRING;
+
+            if (strings) {
+                int[] colors = new int[Keyframes.MAX_STOPS];
+                for (int i = 0; i < length; i++)
+                    addItem(builder, array.getString(i), colors, orientation,
+                            durationAt(durations, i, duration));
+            } else {
+                stopCount = Math.max(1, stopCount);
+                if (length % stopCount != 0)
+                    throw new IllegalArgumentException(length + " colors in array resource "
+                            + resources.getResourceEntryName(gradientsId)
+                            + " are not a multiple of ga_stop_count " + stopCount);
+
+                int[] colors = new int[stopCount];
+                for (int i = 0; i < length; i += stopCount) {
+                    for (int j = 0; j < stopCount; j++)
+                        colors[j] = array.getColor(i + j, 0);
+                    builder.add(colors, orientation, null,
+                            durationAt(durations, i / stopCount, duration));
+                }
+            }
+        } finally {
+            array.recycle();
+        }
+
+        Keyframes keyframes = builder.build();
+        if (keyframes.size() == 0)
+            throw new IllegalArgumentException("No gradient in array resource "
+                    + resources.getResourceEntryName(gradientsId));
+        return keyframes;
+    }
+
+    /**
+     * Method to add a keyframe described by a string-array item
+     */
+    private static void addItem(Keyframes.Builder builder, String item, int[] colors,
+                                int orientation, int duration) {
+        if (item == null) return;
+
+        int count = 0;
+        int length = item.length();
+        int start = 0;
+
+        while (start < length) {
+            // tokens are separated by whitespace or commas
+            while (start < length && isSeparator(item.charAt(start))) start++;
+            if (start == length) break;
+
+            int end = start;
+            while (end < length && !isSeparator(item.charAt(end))) end++;
+
+            if (item.charAt(start) == '#') {
+                if (count == colors.length)
+                    throw new IllegalArgumentException("More than " + colors.length
+                            + " colors in " + item);
+                colors[count++] = ColorParser.parse(item, start, end, false);
+            } else {
+                orientation = parseOrientation(item.substring(start, end));
+            }
+            start = end;
+        }
+
+        if (count == 0) return;
+        builder.add(Arrays.copyOf(colors, count), orientation, null, duration);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ',' || Character.isWhitespace(c);
+    }
+
+    private static int parseOrientation(String name) {
+        for (Gradient.Orientation value : Gradient.Orientation.values())
+            if (value.name().equalsIgnoreCase(name)) return value.ordinal();
+
+        throw new IllegalArgumentException("Unknown orientation " + name);
+    }
+
+    private static int durationAt(int[] durations, int index, int duration) {
+        return index < durations.length ? durations[index] : duration;
+    }
+
+    /**
+     * Cache key, the resource IDs and the values filling in for missing ones
+     */
+    private static final class Key {
+        int gradientsId;
+        int durationsId;
+        int orientation;
+        int duration;
+        int stopCount;
+
+        void set(int gradientsId, int durationsId, int orientation, int duration, int stopCount) {
+            this.gradientsId = gradientsId;
+            this.durationsId = durationsId;
+            this.orientation = orientation;
+            this.duration = duration;
+            this.stopCount = stopCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key other = (Key) o;
+            return gradientsId == other.gradientsId && durationsId == other.durationsId
+                    && orientation == other.orientation && duration == other.duration
+                    && stopCount == other.stopCount;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = gradientsId;
+            result = 31 * result + durationsId;
+            result = 31 * result + orientation;
+            result = 31 * result + duration;
+            return 31 * result + stopCount;
+        }
+    }
+}
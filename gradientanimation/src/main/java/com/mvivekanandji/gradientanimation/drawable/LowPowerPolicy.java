@@ -0,0 +1,206 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.content.BroadcastReceiver;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.database.ContentObserver;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.provider.Settings;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.mvivekanandji.gradientanimation.core.FrameTicker;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Automatic low power policy for the {@link SharedFrameTicker}.
+ * <p>
+ * While battery saver is on, gradient animations drop to {@link #getPowerSaveFrameRate()}
+ * (15 fps by default). While "remove animations" is on (animator duration scale 0), every
+ * animation is frozen on its current frame. The policy follows both settings once installed
+ * with {@link #install(Context)}; the savings show up in the ticker frame and skip counters.
+ */
+public final class LowPowerPolicy {
+
+    /**
+     * default frame rate while battery saver is on
+     */
+    public static final int DEFAULT_POWER_SAVE_FRAME_RATE = 15;
+
+    /**
+     * power save frame rate holding every animation on its current frame
+     */
+    public static final int FREEZE = -1;
+
+    private static LowPowerPolicy instance;
+
+    private Context context;
+    private int powerSaveFrameRate = DEFAULT_POWER_SAVE_FRAME_RATE;
+    private boolean freezeWhenAnimationsDisabled = true;
+    private boolean powerSaveMode;
+    private boolean animationsDisabled;
+
+    private final BroadcastReceiver powerSaveReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            update();
+        }
+    };
+
+    private final ContentObserver animatorScaleObserver =
+            new ContentObserver(new Handler(Looper.getMainLooper())) {
+                @Override
+                public void onChange(boolean selfChange) {
+                    update();
+                }
+            };
+
+    private LowPowerPolicy() {
+    }
+
+    /**
+     * Method to get the process wide policy, must be used on the main thread
+     *
+     * @return LowPowerPolicy
+     */
+    @MainThread
+    @NonNull
+    public static LowPowerPolicy getInstance() {
+        if (instance == null)
+            instance = new LowPowerPolicy();
+        return instance;
+    }
+
+    /**
+     * Method to start following battery saver and animator duration scale,
+     * calling it again has no effect
+     *
+     * @param context any context, the application context is used
+     */
+    public void install(@NonNull Context context) {
+        if (this.context != null) return;
+
+        this.context = context.getApplicationContext();
+        this.context.registerReceiver(powerSaveReceiver,
+                new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+        this.context.getContentResolver().registerContentObserver(
+                Settings.Global.getUriFor(Settings.Global.ANIMATOR_DURATION_SCALE),
+                false, animatorScaleObserver);
+        update();
+    }
+
+    /**
+     * Method to stop following the system settings and lift any cap set by the policy
+     */
+    public void uninstall() {
+        if (context == null) return;
+
+        context.unregisterReceiver(powerSaveReceiver);
+        context.getContentResolver().unregisterContentObserver(animatorScaleObserver);
+        context = null;
+        powerSaveMode = false;
+        animationsDisabled = false;
+        SharedFrameTicker.setLowPowerState(FrameTicker.UNLIMITED, false);
+    }
+
+    /**
+     * Method to set the frame rate used while battery saver is on
+     *
+     * @param powerSaveFrameRate frames per second, {@link FrameTicker#UNLIMITED} to keep
+     *                           the normal frame rate or {@link #FREEZE} to stop on the current frame
+     */
+    public void setPowerSaveFrameRate(int powerSaveFrameRate) {
+        this.powerSaveFrameRate = Math.max(FREEZE, powerSaveFrameRate);
+        apply();
+    }
+
+    /**
+     * Getter
+     *
+     * @return frame rate used while battery saver is on
+     */
+    public int getPowerSaveFrameRate() {
+        return powerSaveFrameRate;
+    }
+
+    /**
+     * Method to set whether animations freeze while "remove animations" is on
+     *
+     * @param freeze true to freeze, default is true
+     */
+    public void setFreezeWhenAnimationsDisabled(boolean freeze) {
+        this.freezeWhenAnimationsDisabled = freeze;
+        apply();
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if battery saver was on at the last update
+     */
+    public boolean isPowerSaveMode() {
+        return powerSaveMode;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if the animator duration scale was 0 at the last update
+     */
+    public boolean areAnimationsDisabled() {
+        return animationsDisabled;
+    }
+
+    /**
+     * Method to read the system settings again and apply them
+     */
+    private void update() {
+        if (context == null) return;
+
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        powerSaveMode = powerManager != null && powerManager.isPowerSaveMode();
+
+        ContentResolver resolver = context.getContentResolver();
+        animationsDisabled =
+                Settings.Global.getFloat(resolver, Settings.Global.ANIMATOR_DURATION_SCALE, 1f) == 0f;
+
+        apply();
+    }
+
+    /**
+     * Method to push the current state to the SharedFrameTicker
+     */
+    private void apply() {
+        if (context == null) return;
+
+        boolean frozen = (animationsDisabled && freezeWhenAnimationsDisabled)
+                || (powerSaveMode && powerSaveFrameRate == FREEZE);
+        int frameRate = powerSaveMode && powerSaveFrameRate > 0
+                ? powerSaveFrameRate : FrameTicker.UNLIMITED;
+
+        SharedFrameTicker.setLowPowerState(frameRate, frozen);
+    }
+}
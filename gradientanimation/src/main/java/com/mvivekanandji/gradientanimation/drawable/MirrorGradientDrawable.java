@@ -0,0 +1,118 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.FrameState;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Drawable showing the current frame of an {@link InterpolatingGradientDrawable} at its own
+ * bounds, created by {@link InterpolatingGradientDrawable#createMirror()}.
+ * <p>
+ * A mirror holds no animation state. The source evaluates every frame once and invalidates its
+ * mirrors when the frame changed; a mirror only lays out the shared frame and ramp bitmap for its
+ * size, so all mirrors are always in phase. Alpha and color filter are per mirror.
+ */
+public class MirrorGradientDrawable extends Drawable {
+
+    private final InterpolatingGradientDrawable source;
+    private final FramePainter painter;
+
+    /**
+     * Constructor
+     *
+     * @param source drawable evaluating the frames
+     */
+    MirrorGradientDrawable(InterpolatingGradientDrawable source) {
+        this.source = source;
+        this.painter = new FramePainter(source.getKeyframes());
+    }
+
+    /**
+     * Getter - to get the drawable evaluating the frames
+     *
+     * @return InterpolatingGradientDrawable
+     */
+    @NonNull
+    public InterpolatingGradientDrawable getSource() {
+        return source;
+    }
+
+    /**
+     * Method called by the source when the colors of a keyframe changed
+     *
+     * @param keyframes Keyframes of the source
+     * @param index     keyframe index
+     */
+    void onKeyframeColorsChanged(Keyframes keyframes, int index) {
+        painter.onKeyframeColorsChanged(keyframes, index);
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect bounds = getBounds();
+        if (source.getKeyframes().size() == 0 || bounds.isEmpty()) return;
+
+        FrameState frameState = source.getFrameState();
+        if (!painter.hasLayers(frameState)) painter.setRamp(source.prepareRamp());
+        painter.draw(canvas, bounds, frameState);
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+        if (changed) source.onMirrorVisibilityChanged();
+        return changed;
+    }
+
+    @Override
+    public void setAlpha(@IntRange(from = 0, to = 255) int alpha) {
+        if (painter.getAlpha() != alpha) {
+            painter.setAlpha(alpha);
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return painter.getAlpha();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        painter.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+}
@@ -0,0 +1,140 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.view.Choreographer;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.mvivekanandji.gradientanimation.core.FrameTicker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Process wide FrameTicker driven by the main thread Choreographer.
+ * All gradient drawables register here, so a screen full of animations costs one
+ * vsync callback per frame instead of one Handler message per animation.
+ * <p>
+ * The app wide frame rate cap set with {@link #setMaxFrameRate(int)} is combined with the
+ * state reported by {@link LowPowerPolicy}, the lower frame rate wins.
+ */
+public final class SharedFrameTicker {
+
+    private static FrameTicker ticker;
+    private static int maxFrameRate = FrameTicker.UNLIMITED;
+    private static int lowPowerFrameRate = FrameTicker.UNLIMITED;
+    private static boolean lowPowerFrozen;
+
+    private SharedFrameTicker() {
+    }
+
+    /**
+     * Method to get the shared ticker, must be called on the main thread
+     *
+     * @return FrameTicker
+     */
+    @MainThread
+    @NonNull
+    public static FrameTicker get() {
+        if (ticker == null) {
+            ticker = new FrameTicker(new ChoreographerFrameSource());
+            apply();
+        }
+        return ticker;
+    }
+
+    /**
+     * Method to cap the frame rate of every gradient animation in the app
+     *
+     * @param maxFrameRate frames per second, {@link FrameTicker#UNLIMITED} for the display frame rate
+     */
+    @MainThread
+    public static void setMaxFrameRate(int maxFrameRate) {
+        SharedFrameTicker.maxFrameRate = Math.max(FrameTicker.UNLIMITED, maxFrameRate);
+        apply();
+    }
+
+    /**
+     * Getter
+     *
+     * @return app wide frame rate cap set with {@link #setMaxFrameRate(int)}
+     */
+    public static int getMaxFrameRate() {
+        return maxFrameRate;
+    }
+
+    /**
+     * Method called by LowPowerPolicy when the power state changes
+     *
+     * @param frameRate frame rate cap, {@link FrameTicker#UNLIMITED} if not capped
+     * @param frozen    true to hold every animation on its current frame
+     */
+    @MainThread
+    static void setLowPowerState(int frameRate, boolean frozen) {
+        lowPowerFrameRate = frameRate;
+        lowPowerFrozen = frozen;
+        apply();
+    }
+
+    /**
+     * Method to apply the lower of the app and low power frame rate caps to the ticker
+     */
+    private static void apply() {
+        if (ticker == null) return;
+
+        int frameRate;
+        if (maxFrameRate == FrameTicker.UNLIMITED)
+            frameRate = lowPowerFrameRate;
+        else if (lowPowerFrameRate == FrameTicker.UNLIMITED)
+            frameRate = maxFrameRate;
+        else
+            frameRate = Math.min(maxFrameRate, lowPowerFrameRate);
+
+        ticker.setMaxFrameRate(frameRate);
+        ticker.setPaused(lowPowerFrozen);
+    }
+
+    /**
+     * FrameSource posting Choreographer frame callbacks
+     */
+    private static class ChoreographerFrameSource
+            implements FrameTicker.FrameSource, Choreographer.FrameCallback {
+
+        private FrameTicker ticker;
+
+        @Override
+        public void postFrame(FrameTicker ticker, long delayMillis) {
+            this.ticker = ticker;
+            Choreographer.getInstance().postFrameCallbackDelayed(this, delayMillis);
+        }
+
+        @Override
+        public void cancelFrame(FrameTicker ticker) {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            // Choreographer frame time uses System.nanoTime(), the same clock as uptimeMillis()
+            ticker.doFrame(TimeUnit.NANOSECONDS.toMillis(frameTimeNanos));
+        }
+    }
+}
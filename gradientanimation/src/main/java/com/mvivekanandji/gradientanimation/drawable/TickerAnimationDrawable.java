@@ -0,0 +1,429 @@
+package com.mvivekanandji.gradientanimation.drawable;
+
+import android.graphics.Canvas;
+import android.graphics.drawable.AnimationDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mvivekanandji.gradientanimation.core.FrameMetrics;
+import com.mvivekanandji.gradientanimation.core.FrameTicker;
+import com.mvivekanandji.gradientanimation.core.Timeline;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * AnimationDrawable whose frame switches and fade steps run on the {@link SharedFrameTicker}.
+ * <p>
+ * Frames are picked from a {@link Timeline} of the frame durations at every ticker frame
+ * instead of AnimationDrawable scheduling itself, so repeat counts end on the exact frame,
+ * the animation can be seeked and a stopped animation resumes where it was.
+ * The DrawableContainer fade runnable still goes through scheduleSelf, it is kept in a small
+ * pending table and run from the ticker frame once it is due.
+ * <p>
+ * While a frame is held and no fade step is pending nothing changes, so the ticker is not asked
+ * for frames until the next frame switch or fade step is due.
+ */
+public class TickerAnimationDrawable extends AnimationDrawable
+        implements FrameTicker.DelayedCallback {
+
+    private static final String TRACE_FRAME = "GradientAnimation#frame";
+    private static final String TRACE_DRAW = "GradientAnimation#draw";
+
+    // the DrawableContainer fade runnable, one spare slot
+    private final Runnable[] pending = new Runnable[2];
+    private final long[] pendingTimes = new long[2];
+    private final Runnable[] due = new Runnable[2];
+    private int maxFrameRate = FrameTicker.UNLIMITED;
+    private FrameMetrics metrics;
+    private boolean traceEnabled;
+
+    private Timeline timeline;
+    private int repeatCount = Timeline.INFINITE;
+    private int frameIndex;
+    private boolean running;
+    private long startTime;
+    private long playTime;
+    private long nextFrameDelay;
+
+    /**
+     * Method to copy frames of an inflated AnimationDrawable into a new TickerAnimationDrawable
+     *
+     * @param source AnimationDrawable, eg. inflated from an animation-list resource
+     * @return new TickerAnimationDrawable with the same frames and durations
+     */
+    @NonNull
+    public static TickerAnimationDrawable from(@NonNull AnimationDrawable source) {
+        TickerAnimationDrawable drawable = new TickerAnimationDrawable();
+
+        for (int i = 0; i < source.getNumberOfFrames(); i++)
+            drawable.addFrame(source.getFrame(i), source.getDuration(i));
+
+        drawable.setOneShot(source.isOneShot());
+        return drawable;
+    }
+
+    /**
+     * Method to cap the frame rate of frame switches and fade steps
+     *
+     * @param maxFrameRate frames per second, {@link FrameTicker#UNLIMITED} for the display frame rate
+     */
+    public void setMaxFrameRate(int maxFrameRate) {
+        this.maxFrameRate = Math.max(FrameTicker.UNLIMITED, maxFrameRate);
+
+        FrameTicker ticker = SharedFrameTicker.get();
+        if (ticker.isRegistered(this))
+            ticker.register(this, this.maxFrameRate);
+    }
+
+    /**
+     * Getter
+     *
+     * @return frame rate cap, {@link FrameTicker#UNLIMITED} if not capped
+     */
+    public int getMaxFrameRate() {
+        return maxFrameRate;
+    }
+
+    /**
+     * Method to report frame metrics of this animation, metrics cost nothing while no listener is set.
+     * A frame counts as invalidating when a frame switch or fade step ran in it.
+     *
+     * @param listener FrameMetrics.Listener, null to disable metrics
+     */
+    public void setMetricsListener(@Nullable FrameMetrics.Listener listener) {
+        metrics = listener == null ? null : new FrameMetrics(listener);
+    }
+
+    /**
+     * Getter
+     *
+     * @return FrameMetrics, null if no listener is set
+     */
+    @Nullable
+    public FrameMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Method to wrap frames and draws in android.os.Trace sections
+     *
+     * @param traceEnabled true to emit trace sections
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if trace sections are emitted
+     */
+    public boolean isTraceEnabled() {
+        return traceEnabled;
+    }
+
+    /**
+     * Method to set how many times the frames are played, ignored while one shot
+     *
+     * @param repeatCount number of cycles, {@link Timeline#INFINITE} to repeat forever
+     */
+    public void setRepeatCount(int repeatCount) {
+        this.repeatCount = repeatCount < 0 ? Timeline.INFINITE : repeatCount;
+        timeline = null;
+    }
+
+    /**
+     * Getter
+     *
+     * @return number of cycles, {@link Timeline#INFINITE} if the animation repeats forever
+     */
+    public int getRepeatCount() {
+        return repeatCount;
+    }
+
+    /**
+     * Getter
+     *
+     * @return Timeline of the frame durations with the effective repeat count
+     */
+    @NonNull
+    public Timeline getTimeline() {
+        if (timeline == null) {
+            int[] durations = new int[getNumberOfFrames()];
+            for (int i = 0; i < durations.length; i++)
+                durations[i] = getDuration(i);
+            timeline = new Timeline(durations, isOneShot() ? 1 : repeatCount);
+        }
+        return timeline;
+    }
+
+    /**
+     * Method to move the animation to the given play time, a running animation continues from there
+     *
+     * @param playTime milliseconds since the animation started, clamped to the timeline
+     */
+    public void seekTo(long playTime) {
+        this.playTime = Math.max(0, Math.min(playTime, getTimeline().getTotalDuration()));
+        startTime = SystemClock.uptimeMillis() - this.playTime;
+        showFrame(getTimeline().indexAt(this.playTime));
+        SharedFrameTicker.get().wake(this);
+    }
+
+    /**
+     * Getter
+     *
+     * @return milliseconds since the animation started
+     */
+    public long getCurrentPlayTime() {
+        return playTime;
+    }
+
+    /**
+     * Getter
+     *
+     * @return progress from 0 to 1 of all cycles, of the current cycle if the animation repeats forever
+     */
+    public float getProgress() {
+        return getTimeline().getProgress(playTime);
+    }
+
+    @Override
+    public void addFrame(@NonNull Drawable frame, int duration) {
+        super.addFrame(frame, duration);
+        timeline = null;
+    }
+
+    @Override
+    public void setOneShot(boolean oneShot) {
+        super.setOneShot(oneShot);
+        timeline = null;
+    }
+
+    @Override
+    public void start() {
+        if (running) return;
+
+        if (getTimeline().isFinished(playTime)) playTime = 0;
+        running = true;
+        startTime = SystemClock.uptimeMillis() - playTime;
+        updateRegistration();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+
+        running = false;
+        updateRegistration();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean selectDrawable(int index) {
+        // AnimationDrawable picks frames on its own when visibility changes, the timeline decides
+        if (getNumberOfFrames() > 0) index = frameIndex;
+        return super.selectDrawable(index);
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+
+        if (visible && running && (changed || restart)) {
+            if (restart) playTime = 0;
+            startTime = SystemClock.uptimeMillis() - playTime;
+        }
+
+        if (metrics != null && changed) {
+            if (!visible && running)
+                metrics.recordPause(SystemClock.uptimeMillis());
+            else if (visible)
+                metrics.recordResume(SystemClock.uptimeMillis());
+        }
+
+        updateRegistration();
+        return changed;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (traceEnabled) Trace.beginSection(TRACE_DRAW);
+        super.draw(canvas);
+        if (traceEnabled) Trace.endSection();
+    }
+
+    @Override
+    public void scheduleSelf(@NonNull Runnable what, long when) {
+        int free = -1;
+
+        for (int i = 0; i < pending.length; i++) {
+            if (pending[i] == what) {
+                pendingTimes[i] = when;
+                updateRegistration();
+                SharedFrameTicker.get().wake(this);
+                return;
+            }
+            if (pending[i] == null && free < 0) free = i;
+        }
+
+        if (free < 0) {
+            // unexpected third runnable, fall back to the view's handler
+            super.scheduleSelf(what, when);
+            return;
+        }
+
+        pending[free] = what;
+        pendingTimes[free] = when;
+        updateRegistration();
+        // a held frame may be waiting for its next switch
+        SharedFrameTicker.get().wake(this);
+    }
+
+    @Override
+    public void unscheduleSelf(@NonNull Runnable what) {
+        for (int i = 0; i < pending.length; i++)
+            if (pending[i] == what) pending[i] = null;
+
+        super.unscheduleSelf(what);
+        updateRegistration();
+    }
+
+    @Override
+    public boolean onFrame(long frameTimeMillis) {
+        if (traceEnabled) Trace.beginSection(TRACE_FRAME);
+        long computeStart = metrics != null ? System.nanoTime() : 0;
+        boolean changed = false;
+
+        if (running && isVisible()) {
+            Timeline timeline = getTimeline();
+            playTime = Math.max(0, frameTimeMillis - startTime);
+
+            // ends on the first frame at or after the end, holding the last frame
+            if (timeline.isFinished(playTime)) {
+                playTime = timeline.getTotalDuration();
+                running = false;
+            }
+
+            changed = showFrame(timeline.indexAt(playTime, frameIndex));
+        }
+
+        int dueCount = 0;
+
+        // collect first, a runnable may schedule itself again while running
+        for (int i = 0; i < pending.length; i++) {
+            if (pending[i] != null && pendingTimes[i] <= frameTimeMillis) {
+                due[dueCount++] = pending[i];
+                pending[i] = null;
+            }
+        }
+
+        for (int i = 0; i < dueCount; i++) {
+            due[i].run();
+            due[i] = null;
+        }
+
+        updateRegistration();
+        nextFrameDelay = computeNextFrameDelay(frameTimeMillis);
+
+        if (metrics != null) {
+            metrics.recordFrame(frameTimeMillis, System.nanoTime() - computeStart,
+                    changed || dueCount > 0);
+            metrics.recordIdle(nextFrameDelay);
+        }
+        if (traceEnabled) Trace.endSection();
+
+        // frame switches and fade steps invalidate the drawable themselves
+        return false;
+    }
+
+    @Override
+    public long getNextFrameDelay() {
+        return nextFrameDelay;
+    }
+
+    @Override
+    public void onInvalidate() {
+        invalidateSelf();
+    }
+
+    /**
+     * Method to get the time until the next frame switch or fade step, whichever comes first
+     *
+     * @param frameTimeMillis time of the current ticker frame
+     * @return milliseconds, 0 for the next frame
+     */
+    private long computeNextFrameDelay(long frameTimeMillis) {
+        long delay = Long.MAX_VALUE;
+
+        if (running && isVisible()) {
+            Timeline timeline = getTimeline();
+            long cycle = timeline.getCycleDuration();
+            if (cycle <= 0) return 0;
+
+            long time = playTime % cycle;
+            int index = timeline.segmentAt(time, frameIndex);
+            delay = timeline.getStart(index) + timeline.getDuration(index) - time;
+        }
+
+        for (int i = 0; i < pending.length; i++)
+            if (pending[i] != null) delay = Math.min(delay, pendingTimes[i] - frameTimeMillis);
+
+        return delay == Long.MAX_VALUE ? 0 : Math.max(0, delay);
+    }
+
+    /**
+     * Method to switch to a frame, with the enter and exit fades
+     *
+     * @param index frame index, ignored if negative or already shown
+     * @return true if the frame changed
+     */
+    private boolean showFrame(int index) {
+        if (index < 0 || index == frameIndex) return false;
+
+        frameIndex = index;
+        return selectDrawable(index);
+    }
+
+    /**
+     * Method to be on the ticker while the timeline runs visibly or a fade step is pending
+     */
+    private void updateRegistration() {
+        FrameTicker ticker = SharedFrameTicker.get();
+
+        if ((running && isVisible()) || hasPending())
+            ticker.register(this, maxFrameRate);
+        else
+            ticker.unregister(this);
+    }
+
+    private boolean hasPending() {
+        for (Runnable runnable : pending)
+            if (runnable != null) return true;
+        return false;
+    }
+}
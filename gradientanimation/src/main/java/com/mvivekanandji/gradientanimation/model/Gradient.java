@@ -5,6 +5,8 @@ import android.graphics.drawable.GradientDrawable;
 
 import androidx.annotation.NonNull;
 
+import com.mvivekanandji.gradientanimation.core.ColorParser;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -72,9 +74,32 @@ public class Gradient {
         TL_BR,
     }
 
+    /**
+     * enum for gradient type
+     */
+    public enum Type {
+        /**
+         * colors change along a line given by the orientation
+         */
+        LINEAR,
+        /**
+         * colors spread in circles from the center
+         */
+        RADIAL,
+        /**
+         * colors go clockwise around the center, starting at 3 o'clock
+         */
+        SWEEP,
+    }
+
     private float[] radii = new float[]{0f,0f,0f,0f,0f,0f,0f,0f};
     private int[] colors;
     private Orientation orientation;
+    private Type type = Type.LINEAR;
+    private float centerX = 0.5f;
+    private float centerY = 0.5f;
+    private float gradientRadius = 1f;
+    private boolean immutable;
 
     /**
      * Method to get GradientDrawable.Orientation value corresponding to Gradient.Orientation
@@ -109,21 +134,23 @@ public class Gradient {
     /**
      * Constructor
      *
-     * @param colors string array of color codes
+     * @param colors string array of color codes, #RGB, #RRGGBB or #AARRGGBB, the '#' is optional,
+     *               or color names known to {@link Color#parseColor(String)}, eg. "red"
      * @param orientation Gradient.Orientation
+     * @throws IllegalArgumentException if a color code or name is not valid
      */
     public Gradient(String[] colors, Orientation orientation){
         this.colors = new int[colors.length];
         this.orientation = orientation;
 
-        for(int i=0; i<colors.length; i++)
-            this.colors[i] = Color.parseColor(colors[i]);
+        for (int i = 0; i < colors.length; i++)
+            this.colors[i] = parseColor(colors[i], i);
     }
 
     /**
      * Constructor
      *
-     * @param colors string array of color codes
+     * @param colors string array of color codes or color names
      */
     public Gradient(String[] colors){
         this(colors, Orientation.BOTTOM_TOP);
@@ -239,6 +266,7 @@ public class Gradient {
      * @return this object
      */
     public Gradient setRadius(float radius){
+        checkMutable();
         setRadii(new float[]{radius,radius,radius,radius,radius,radius,radius,radius});
         return this;
     }
@@ -265,6 +293,7 @@ public class Gradient {
      * @return this object
      */
     public Gradient setRadii(float[] radii) {
+        checkMutable();
         this.radii = radii;
         return this;
     }
@@ -285,6 +314,7 @@ public class Gradient {
      * @return this object
      */
     public Gradient setColors(int[] colors) {
+        checkMutable();
         this.colors = colors;
         return this;
     }
@@ -305,12 +335,170 @@ public class Gradient {
      * @return this object
      */
     public Gradient setOrientation(Orientation orientation) {
+        checkMutable();
         this.orientation = orientation;
         return this;
     }
 
+    /**
+     * Getter - to get Gradient.Type
+     *
+     * @return Gradient.Type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Setter - to set Gradient.Type, default is LINEAR
+     *
+     * @param type Gradient.Type
+     * @return this object
+     */
+    public Gradient setType(@NonNull Type type) {
+        checkMutable();
+        this.type = type;
+        return this;
+    }
+
+    /**
+     * Getter - to get center x of radial and sweep gradients
+     *
+     * @return fraction of the width
+     */
+    public float getCenterX() {
+        return centerX;
+    }
+
+    /**
+     * Getter - to get center y of radial and sweep gradients
+     *
+     * @return fraction of the height
+     */
+    public float getCenterY() {
+        return centerY;
+    }
+
+    /**
+     * Setter - to set center of radial and sweep gradients, default is 0.5, 0.5
+     *
+     * @param centerX fraction of the width
+     * @param centerY fraction of the height
+     * @return this object
+     */
+    public Gradient setCenter(float centerX, float centerY) {
+        checkMutable();
+        this.centerX = centerX;
+        this.centerY = centerY;
+        return this;
+    }
+
+    /**
+     * Getter - to get radius of radial gradients
+     *
+     * @return fraction of the distance from the center to the farthest corner
+     */
+    public float getGradientRadius() {
+        return gradientRadius;
+    }
+
+    /**
+     * Setter - to set radius of radial gradients, default is 1,
+     * the last color reaches the farthest corner
+     *
+     * @param gradientRadius fraction of the distance from the center to the farthest corner
+     * @return this object
+     * @throws IllegalArgumentException if the radius is not positive
+     */
+    public Gradient setGradientRadius(float gradientRadius) {
+        checkMutable();
+        if (!(gradientRadius > 0f))
+            throw new IllegalArgumentException("Gradient radius must be positive " + gradientRadius);
+        this.gradientRadius = gradientRadius;
+        return this;
+    }
+
+    /**
+     * Getter - to check whether this gradient can be modified.
+     * Shared instances, eg. from {@link InbuiltGradients#get(CharSequence)}, are immutable,
+     * and their arrays must not be modified either.
+     *
+     * @return true if setters throw
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    /**
+     * Method to get a mutable copy of this gradient
+     *
+     * @return new Gradient object
+     */
+    public Gradient copy() {
+        Gradient gradient = new Gradient(colors.clone(), orientation);
+        gradient.radii = radii.clone();
+        gradient.type = type;
+        gradient.centerX = centerX;
+        gradient.centerY = centerY;
+        gradient.gradientRadius = gradientRadius;
+        return gradient;
+    }
+
+    /**
+     * Method to make this gradient immutable, used for shared instances
+     *
+     * @return this object
+     */
+    Gradient makeImmutable() {
+        immutable = true;
+        return this;
+    }
+
+    /**
+     * Method to throw UnsupportedOperationException if this gradient is shared
+     */
+    private void checkMutable() {
+        if (immutable)
+            throw new UnsupportedOperationException("Gradient is shared and immutable, use copy()");
+    }
+
+    /**
+     * Method to parse a color code, or a color name known to {@link Color#parseColor(String)}
+     *
+     * @param color color code or name
+     * @param index position of the color, for the error message
+     * @return packed ARGB color
+     * @throws IllegalArgumentException if the color is not valid
+     */
+    private static int parseColor(String color, int index) {
+        if (color == null)
+            throw new IllegalArgumentException("Color " + index + ": Invalid color null");
+
+        // hex codes are parsed in place, only names go through the framework, eg. "darkgray"
+        if (!ColorParser.isValid(color, true)) {
+            String name = color.trim();
+            if (!name.isEmpty() && Character.isLetter(name.charAt(0))) {
+                try {
+                    return Color.parseColor(name);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Color " + index + ": Unknown color \""
+                            + name + "\"", e);
+                }
+            }
+        }
+
+        try {
+            return ColorParser.parse(color, 0, color.length(), true);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Color " + index + ": " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Method to get inbuilt gradients.
+     * The lookup goes through {@link InbuiltGradients}, this method only adds a copy so the
+     * returned gradient can be modified. Use {@link InbuiltGradients#get(CharSequence)} for the
+     * shared instance without any allocation.
      *
      * @param name gradient name see https://webgradients.com/.
      *             "name" can be in any case, with or without space, with or without _"
@@ -319,43 +507,11 @@ public class Gradient {
      * @return new Gradient object
      */
     public static Gradient getInbuiltGradient(@NonNull String name) {
-        name = name.replaceAll("\\s", "");
-        name = name.replaceAll("_", "");
-
-
-        switch (name.toLowerCase()) {
-            case "warmflame":
-                return new Gradient("#ff9a9e", "#fad0c4", Orientation.BOTTOM_TOP);
-            case "nightfade":
-                return new Gradient("#a18cd1", "#fbc2eb", Orientation.BOTTOM_TOP);
-            case "springwarmth":
-                return new Gradient("#fad0c4", "#ffd1ff", Orientation.BOTTOM_TOP);
-            case "juicypeach":
-                return new Gradient("#ffecd2", "#fcb69f", Orientation.BOTTOM_TOP);
-            case "youngpassion":
-                return new Gradient(new String[]{"#ff8177","#ff867a","#ff8c7f","#f99185","#cf556c","#b12a5b"}, Orientation.BOTTOM_TOP);
-            case "ladylips":
-                return new Gradient("#ff9a9e", "#fecfef", Orientation.BOTTOM_TOP);
-            case "sundaymorning":
-                return new Gradient("#f6d365", "#fda085", Orientation.BOTTOM_TOP);
-            case "rainyashville":
-                return new Gradient("#fbc2eb", "#a6c1ee", Orientation.BOTTOM_TOP);
-            case "frozendreams":
-                return new Gradient("#fdcbf1", "#e6dee9", Orientation.BOTTOM_TOP);
-            case "winterneva":
-                return new Gradient("#a1c4fd", "#c2e9fb", Orientation.BOTTOM_TOP);
-            case "dustygrass":
-                return new Gradient("#d4fc79", "#96e6a1", Orientation.BOTTOM_TOP);
-            case "temptingazure":
-                return new Gradient("#84fab0", "#8fd3f4", Orientation.BOTTOM_TOP);
-            case "heavyrain":
-                return new Gradient("#cfd9df", "#e2ebf0", Orientation.BOTTOM_TOP);
-            case "amycrisp":
-                return new Gradient("#a6c0fe", "#f68084", Orientation.BOTTOM_TOP);
-            case "meanfruit":
-                return new Gradient("#fccb90", "#d57eeb", Orientation.BOTTOM_TOP);
-            default:
-                return new Gradient("#ff9a9e", "#fad0c7", Orientation.BOTTOM_TOP);
-        }
+        Gradient gradient = InbuiltGradients.get(name);
+
+        if (gradient == null)
+            return new Gradient(0xffff9a9e, 0xfffad0c7, Orientation.BOTTOM_TOP);
+
+        return gradient.copy();
     }
 }
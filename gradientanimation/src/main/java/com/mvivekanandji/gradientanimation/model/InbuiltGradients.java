@@ -0,0 +1,287 @@
+package com.mvivekanandji.gradientanimation.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Registry of the inbuilt gradients, see https://webgradients.com/.
+ * <p>
+ * The catalog is kept as one compact string constant and decoded the first time any lookup
+ * happens, so loading the library does not pay for it. Decoding precomputes the normalized
+ * names, packed colors and a hash table; after that a lookup allocates nothing and returns
+ * the same immutable Gradient instance every time. Color stop positions of the original CSS
+ * gradients are dropped and every gradient is drawn {@link Gradient.Orientation#BOTTOM_TOP},
+ * same as the earlier inbuilt gradients.
+ */
+public final class InbuiltGradients {
+
+    // "Name:rrggbbrrggbb...;" per entry
+    private static final String CATALOG =
+            "Warm Flame:ff9a9efad0c4;Night Fade:a18cd1fbc2eb;Spring Warmth:fad0c4ffd1ff;"
+            + "Juicy Peach:ffecd2fcb69f;Young Passion:ff8177ff867aff8c7ff99185cf556cb12a5b;"
+            + "Lady Lips:ff9a9efecfef;Sunny Morning:f6d365fda085;Rainy Ashville:fbc2eba6c1ee;"
+            + "Frozen Dreams:fdcbf1e6dee9;Winter Neva:a1c4fdc2e9fb;Dusty Grass:d4fc7996e6a1;"
+            + "Tempting Azure:84fab08fd3f4;Heavy Rain:cfd9dfe2ebf0;Amy Crisp:a6c0fef68084;"
+            + "Mean Fruit:fccb90d57eeb;Deep Blue:e0c3fc8ec5fc;Ripe Malinka:f093fbf5576c;"
+            + "Cloudy Knoxville:fdfbfbebedee;Malibu Beach:4facfe00f2fe;New Life:43e97b38f9d7;"
+            + "True Sunset:fa709afee140;Morpheus Den:30cfd0330867;Rare Wind:a8edeafed6e3;"
+            + "Near Moon:5ee7dfb490ca;Wild Apple:d299c2fef9d7;Saint Petersburg:f5f7fac3cfe2;"
+            + "Arielle's Smile:16d9e330c7ec46aef7;Plum Plate:667eea764ba2;"
+            + "Everlasting Sky:fdfcfbe2d1c3;Happy Fisher:89f7fe66a6ff;Blessing:fddb92d1fdff;"
+            + "Sharpeye Eagle:9890e3b1f4cf;Ladoga Bottom:ebc0fdd9ded8;Lemon Gate:96fbc4f9f586;"
+            + "Itmeo Branding:2af598009efd;Zeus Miracle:cd9cf2f6f3ff;"
+            + "Old Hat:e4afcbb8cbb8b8cbb8e2c58bc2ce9c7edbdc;"
+            + "Star Wine:b8cbb8b8cbb8b465dacf6cc9ee609cee609c;Happy Acid:37ecba72afd3;"
+            + "Awesome Pine:ebbba7cfc7f8;New York:fff1ebace0f9;"
+            + "Shy Rainbow:eea2a2bbc1bf57c6e1b49fda7ac5d8;Mixed Hopes:c471f5fa71cd;"
+            + "Fly High:48c6ef6f86d6;Strong Bliss:f78ca0f9748ffd868cfe9a8b;Fresh Milk:feada6f5efef;"
+            + "Snow Again:e6e9f0eef1f5;February Ink:accbeee7f0fd;Kind Steel:e9defafbfcdb;"
+            + "Soft Grass:c1dfc4deecdd;Grown Early:0ba3603cba92;Sharp Blues:00c6fb005bea;"
+            + "Shady Water:74ebd59face6;Dirty Beauty:6a85b6bac8e0;Great Whale:a3bded6991c7;"
+            + "Teen Notebook:9795f0fbc8d4;Polite Rumors:a7a6cb8989ba;"
+            + "Sweet Period:3f51b15a55ae7b5fac8f6aaea86aa4cc6b8ef18271f3a469f7c978;"
+            + "Wide Matrix:fcc5e4fda34bff7882c8699e7046aa0c1db8020f75;"
+            + "Soft Cherish:dbdcd7dddcd7e2c9cce7627db8235a8013573d16351c1a27;"
+            + "Red Salvation:f43b47453a94;"
+            + "Burning Spring:4fb57644c48928a9ae28a2b74c77886c4f63432c39;Night Party:0250c5d43f8d;"
+            + "Sky Glider:88d3ce6e45e2;Heaven Peach:d9afd997d9e1;Purple Division:7028e4e5b2ca;"
+            + "Aqua Splash:13547a80d0c7;"
+            + "Spiky Naga:505285585e9265689f7474b07e7ebb8389c79795d4a2a1dcb5aee4;"
+            + "Love Kiss:ff0844ffb199;Clean Mirror:93a5cfe4efe9;Premium Dark:434343000000;"
+            + "Cold Evening:0c3483a2b6df6b8ccea2b6df;Cochiti Lake:93a5cfe4efe9;"
+            + "Summer Games:92fe9d00c9ff;Passionate Bed:ff758cff7eb3;Mountain Rock:868f96596164;"
+            + "Desert Hump:c79081dfa579;Jungle Day:8baaaaae8b9c;Phoenix Start:f83600f9d423;"
+            + "October Silence:b721ff21d4fd;Faraway River:6e45e288d3ce;Alchemist Lab:d558c824d292;"
+            + "Over Sun:abecd6fbed96;Premium White:d5d4d0d5d4d0eeeeecefeeece9e9e7;"
+            + "Mars Party:5f72bd9b23ea;Eternal Constance:09203f537895;Japan Blush:ddd6f3faaca8;"
+            + "Smiling Rain:dcb0ed99c99c;Cloudy Apple:f3e7e9e3eeff;Big Mango:c71d6fd09693;"
+            + "Healthy Water:96deda50c9c3;Amour Amour:f77062fe5196;"
+            + "Risky Concrete:c4c5c7dcdddfebebeb;Strong Stick:a8caba5d4157;"
+            + "Vicious Stance:29323c485563;Palo Alto:16a085f4d03f;Happy Memories:ff5858f09819;"
+            + "Midnight Bloom:2b58764e4376;Crystalline:00cdac8ddad5;"
+            + "Confident Cloud:dad4ecdad4ecf3e7e9;Le Cocktail:874da2c43a30;River City:4481eb04befe;"
+            + "Frozen Berry:e8198bc7eafd;Child Care:f794a4fdd6bd;Flying Lemon:64b3f4c2e59c;"
+            + "New Retrowave:3b41c5a981bbffc8a9;Hidden Jaguar:0fd850f9f047;"
+            + "Above The Sky:d3d3d3d3d3d3e0e0e0efefefd9d9d9bcbcbc;Nega:ee9ca7ffdde1;"
+            + "Dense Water:3ab5b03d99be56317a;Seashore:209cff68e0cf;Marble Wall:bdc2e8bdc2e8e6dee9;"
+            + "Cheerful Caramel:e6b980eacda3;Night Sky:1e3c721e3c722a5298;"
+            + "Magic Lake:d5dee7ffafbdc9ffbf;Young Grass:9be15d00e3ae;Colorful Peach:ed6ea0ec8c69;"
+            + "Gentle Care:ffc3a0ffafbd;Plum Bath:cc208e6713d2;Happy Unicorn:b3ffab12fff7;"
+            + "African Field:65bd605ac1a83ec6edb7ddb7fef381;Solid Stone:243949517fa4;"
+            + "Orange Juice:fc6076ff9a44;Glass Water:dfe9f3ffffff;Slick Carbon:3232323f3f3f1c1c1c;"
+            + "North Miracle:00dbdefc00ff;Fruit Blend:f9d423ff4e50;Millennium Pine:50cc7ff5d100;"
+            + "High Flight:0acffe495aff;Mole Hall:6161619bc5c3;"
+            + "Space Shift:3d33932b76b92cacd135eb93;Forest Inei:df89b5bfd9fe;"
+            + "Royal Garden:ed6ea0ec8c69;Rich Metal:d7d2cc304352;Juicy Cake:e14fadf9d423;"
+            + "Smart Indigo:b224ef7579ff;Sand Strike:c1c161c1c161d4d4b1;Norse Beauty:ec77ab7873f5;"
+            + "Aqua Guidance:007adf00ecbc;Sun Veggie:20e2d7f9fea5;Sea Lord:2cd8d5c5c1ffffbac3;"
+            + "Black Sea:2cd8d56b8dd68e37d7;Grass Shampoo:dfffcd90f9c439f3bb;"
+            + "Landing Aircraft:5d9fffb8dcff6bbbff;Witch Dance:a8bfff884d80;"
+            + "Sleepless Night:5271c4b19fffeca1fe;Angel Care:ffe29fffa99fff719a;"
+            + "Crystal River:22e1ff1d8fe1625eb1;Soft Lipstick:b6cee8f578dc;"
+            + "Salt Mountain:fffeffd7fffe;Perfect White:e3fdf5ffe6fa;Fresh Oasis:7de2fcb9b6e5;"
+            + "Strict November:cbbacc2580b3;Morning Salad:b7f8db50a7c2;"
+            + "Deep Relief:7085b687a7d9def3f8;Sea Strike:77ffd26297db1eecff;"
+            + "Night Call:ac32e47918f24801ff;Supreme Sky:d4ffec57f2cc4596fb;"
+            + "Light Blue:9efbd357e9f245d4fb;Mind Crawl:473b7b3584a730d2be;"
+            + "Lily Meadow:65379b886aea6457c6;Sugar Lollipop:a445b2d41872ff0066;"
+            + "Sweet Dessert:7742b2f180fffd8bd9;Magic Ray:ff3cac562b7c2b86c5;"
+            + "Teen Party:ff057c8d0b93321575;Frozen Heat:ff057c7c64d54cc3ff;"
+            + "Gagarin View:69eacbeaccf86654f1;Fabled Sunset:23155744107aff1361fff800;"
+            + "Perfect Blue:3d4e815753c96e7ff3;";
+
+    // old names kept working, {alias, name}
+    private static final String[][] ALIASES = {
+            {"Sunday Morning", "Sunny Morning"},
+    };
+
+    private InbuiltGradients() {
+    }
+
+    /**
+     * Method to get a shared inbuilt gradient, does not allocate.
+     *
+     * @param name gradient name, case, spaces, "_", "-" and "'" are ignored
+     *             (eg. "warmFlame", "Warm Flame", "WARM_FLAME" are the same)
+     * @return shared immutable Gradient, or null if there is no gradient with this name
+     */
+    @Nullable
+    public static Gradient get(@NonNull CharSequence name) {
+        Catalog catalog = Catalog.INSTANCE;
+        int index = catalog.indexOf(name);
+        return index < 0 ? null : catalog.gradients[index];
+    }
+
+    /**
+     * Method to get a shared inbuilt gradient by catalog position
+     *
+     * @param index position in the range 0 to {@link #size()} - 1
+     * @return shared immutable Gradient
+     */
+    @NonNull
+    public static Gradient get(int index) {
+        return Catalog.INSTANCE.gradients[index];
+    }
+
+    /**
+     * Method to check whether an inbuilt gradient exists
+     *
+     * @param name gradient name, matched like {@link #get(CharSequence)}
+     * @return true if there is a gradient with this name
+     */
+    public static boolean contains(@NonNull CharSequence name) {
+        return Catalog.INSTANCE.indexOf(name) >= 0;
+    }
+
+    /**
+     * Getter - to get the display name of an inbuilt gradient
+     *
+     * @param index position in the range 0 to {@link #size()} - 1
+     * @return name, eg. "Warm Flame"
+     */
+    @NonNull
+    public static String getName(int index) {
+        return Catalog.INSTANCE.names[index];
+    }
+
+    /**
+     * Getter - to get the number of inbuilt gradients
+     *
+     * @return number of gradients
+     */
+    public static int size() {
+        return Catalog.INSTANCE.names.length;
+    }
+
+    /**
+     * Decoded catalog, created on first use by the class loader
+     */
+    private static final class Catalog {
+
+        static final Catalog INSTANCE = new Catalog();
+
+        final String[] names;
+        final Gradient[] gradients;
+
+        // open addressing table of catalog index + 1, 0 is empty
+        private final int[] table;
+        private final String[] tableKeys;
+        private final int mask;
+
+        private Catalog() {
+            int count = 0;
+            for (int i = 0; i < CATALOG.length(); i++)
+                if (CATALOG.charAt(i) == ';') count++;
+
+            names = new String[count];
+            gradients = new Gradient[count];
+
+            int capacity = Integer.highestOneBit((count + ALIASES.length) * 2 - 1) << 1;
+            table = new int[capacity];
+            tableKeys = new String[capacity];
+            mask = capacity - 1;
+
+            int start = 0;
+            for (int index = 0; index < count; index++) {
+                int colon = CATALOG.indexOf(':', start);
+                int end = CATALOG.indexOf(';', colon);
+
+                names[index] = CATALOG.substring(start, colon);
+                gradients[index] = new Gradient(decodeColors(colon + 1, end),
+                        Gradient.Orientation.BOTTOM_TOP).makeImmutable();
+                insert(names[index], index);
+
+                start = end + 1;
+            }
+
+            for (String[] alias : ALIASES)
+                insert(alias[0], indexOf(alias[1]));
+        }
+
+        int indexOf(CharSequence name) {
+            int slot = hash(name) & mask;
+
+            while (table[slot] != 0) {
+                if (matches(name, tableKeys[slot])) return table[slot] - 1;
+                slot = (slot + 1) & mask;
+            }
+
+            return -1;
+        }
+
+        private void insert(String name, int index) {
+            String key = normalize(name);
+            int slot = hash(key) & mask;
+
+            while (table[slot] != 0)
+                slot = (slot + 1) & mask;
+
+            table[slot] = index + 1;
+            tableKeys[slot] = key;
+        }
+
+        private static int[] decodeColors(int start, int end) {
+            int[] colors = new int[(end - start) / 6];
+
+            for (int i = 0; i < colors.length; i++) {
+                int rgb = 0;
+                for (int j = start + i * 6; j < start + i * 6 + 6; j++)
+                    rgb = (rgb << 4) | Character.digit(CATALOG.charAt(j), 16);
+                colors[i] = 0xff000000 | rgb;
+            }
+
+            return colors;
+        }
+
+        private static boolean ignored(char c) {
+            return c == '_' || c == '-' || c == '\'' || Character.isWhitespace(c);
+        }
+
+        private static String normalize(String name) {
+            StringBuilder builder = new StringBuilder(name.length());
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (!ignored(c)) builder.append(Character.toLowerCase(c));
+            }
+            return builder.toString();
+        }
+
+        private static int hash(CharSequence name) {
+            int hash = 0;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (!ignored(c)) hash = 31 * hash + Character.toLowerCase(c);
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean matches(CharSequence name, String key) {
+            int j = 0;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (ignored(c)) continue;
+                if (j >= key.length() || Character.toLowerCase(c) != key.charAt(j++)) return false;
+            }
+            return j == key.length();
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package com.mvivekanandji.gradientanimation.render;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import com.mvivekanandji.gradientanimation.core.AngleTrack;
+import com.mvivekanandji.gradientanimation.core.ColorRamps;
+import com.mvivekanandji.gradientanimation.core.FrameState;
+import com.mvivekanandji.gradientanimation.core.GradientRasterizer;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.core.PngWriter;
+import com.mvivekanandji.gradientanimation.core.Timeline;
+import com.mvivekanandji.gradientanimation.model.Gradient;
+import com.mvivekanandji.gradientanimation.model.GradientItem;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Headless renderer of gradient animations, for pre-baking frames and golden image tests on a
+ * plain JVM without a device.
+ * <p>
+ * Gradients and GradientItems are turned into the same {@link Keyframes} as
+ * GradientAnimation.RenderMode#INTERPOLATE and sampled at a fixed frame rate. Frames are
+ * rasterized by {@link GradientRasterizer} into ARGB buffers or written as PNG files, with the
+ * work split into row blocks and frames across a ForkJoinPool.
+ */
+public class OfflineRenderer {
+
+    // rows rendered by one task, small enough to balance a single large frame across cores
+    private static final int ROWS_PER_TASK = 32;
+
+    private static ForkJoinPool defaultPool;
+
+    private final Keyframes keyframes;
+    private final Timeline timeline;
+    private final int width;
+    private final int height;
+    private final int frameRate;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor
+     *
+     * @param builder OfflineRenderer.Builder
+     */
+    private OfflineRenderer(@NonNull Builder builder) {
+        this.keyframes = builder.keyframesBuilder.build();
+        if (keyframes.size() == 0)
+            throw new IllegalArgumentException("Add at least one Gradient or GradientItem");
+
+        this.timeline = keyframes.getTimeline().withRepeatCount(builder.repeatCount);
+        this.width = builder.width;
+        this.height = builder.height;
+        this.frameRate = builder.frameRate;
+        this.pool = builder.pool != null ? builder.pool : getDefaultPool();
+    }
+
+    /**
+     * Getter - to get keyframes
+     *
+     * @return Keyframes
+     */
+    @NonNull
+    public Keyframes getKeyframes() {
+        return keyframes;
+    }
+
+    /**
+     * Getter
+     *
+     * @return frame width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Getter
+     *
+     * @return frame height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Getter
+     *
+     * @return frames per second
+     */
+    public int getFrameRate() {
+        return frameRate;
+    }
+
+    /**
+     * Getter - to get number of frames covering every cycle, the last frame is the end state
+     *
+     * @return frame count, at least 1
+     */
+    public int getFrameCount() {
+        long total = timeline.getTotalDuration();
+        return (int) Math.min(Integer.MAX_VALUE - 1, total * frameRate / 1000) + 1;
+    }
+
+    /**
+     * Getter - to get the play time of a frame
+     *
+     * @param frame frame index
+     * @return milliseconds since the start
+     */
+    public long getFrameTime(int frame) {
+        return frame * 1000L / frameRate;
+    }
+
+    /**
+     * Method to evaluate the gradient shown by a frame
+     *
+     * @param frame frame index
+     * @return new FrameState
+     */
+    @NonNull
+    public FrameState getFrameState(int frame) {
+        FrameState state = new FrameState(keyframes.getStopCount());
+        keyframes.evaluate(timeline.clamp(getFrameTime(frame)), true, state);
+        return state;
+    }
+
+    /**
+     * Method to render one frame, row blocks are rendered in parallel
+     *
+     * @param frame frame index
+     * @return ARGB pixels, row by row
+     */
+    @NonNull
+    public int[] renderFrame(int frame) {
+        return renderFrames(frame, 1)[0];
+    }
+
+    /**
+     * Method to render consecutive frames, row blocks of all frames are rendered in parallel
+     *
+     * @param from  first frame index
+     * @param count number of frames
+     * @return ARGB pixels of every frame, row by row
+     */
+    @NonNull
+    public int[][] renderFrames(int from, int count) {
+        FrameState[] states = new FrameState[count];
+        int[][] pixels = new int[count][];
+        for (int i = 0; i < count; i++) {
+            states[i] = getFrameState(from + i);
+            pixels[i] = new int[width * height];
+        }
+
+        int blocks = (height + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        if (count > 0) pool.invoke(new RowsTask(states, pixels, blocks, 0, count * blocks));
+        return pixels;
+    }
+
+    /**
+     * Method to write every frame as PNG file named prefix followed by the frame index,
+     * frames are rendered and encoded in parallel
+     *
+     * @param directory existing output directory
+     * @param prefix    file name prefix
+     * @return number of files written
+     * @throws IOException if a file cannot be written
+     */
+    public int writePngs(@NonNull File directory, @NonNull String prefix) throws IOException {
+        int count = getFrameCount();
+
+        try {
+            pool.invoke(new PngTask(directory, prefix, 0, count));
+        } catch (RuntimeException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause())
+                if (cause instanceof IOException) throw (IOException) cause;
+            throw e;
+        }
+
+        return count;
+    }
+
+    /**
+     * Method to get the file name of a frame written by {@link #writePngs(File, String)}
+     *
+     * @param prefix file name prefix
+     * @param frame  frame index
+     * @return file name
+     */
+    @NonNull
+    public static String getPngName(@NonNull String prefix, int frame) {
+        return String.format(Locale.US, "%s%05d.png", prefix, frame);
+    }
+
+    private static synchronized ForkJoinPool getDefaultPool() {
+        // worker threads are daemon threads, the pool never keeps a JVM alive
+        if (defaultPool == null)
+            defaultPool = new ForkJoinPool();
+        return defaultPool;
+    }
+
+    /**
+     * Task rendering a range of row blocks, unit i is block i % blocks of frame i / blocks
+     */
+    private class RowsTask extends RecursiveAction {
+        private final FrameState[] states;
+        private final int[][] pixels;
+        private final int blocks;
+        private final int from;
+        private final int to;
+
+        RowsTask(FrameState[] states, int[][] pixels, int blocks, int from, int to) {
+            this.states = states;
+            this.pixels = pixels;
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowsTask(states, pixels, blocks, from, middle),
+                        new RowsTask(states, pixels, blocks, middle, to));
+                return;
+            }
+
+            FrameState state = states[from / blocks];
+            int fromRow = (from % blocks) * ROWS_PER_TASK;
+            int toRow = Math.min(height, fromRow + ROWS_PER_TASK);
+            GradientRasterizer.renderRows(state, width, height, fromRow, toRow,
+                    pixels[from / blocks]);
+        }
+    }
+
+    /**
+     * Task rendering and writing a range of frames, one frame per leaf
+     */
+    private class PngTask extends RecursiveAction {
+        private final File directory;
+        private final String prefix;
+        private final int from;
+        private final int to;
+
+        PngTask(File directory, String prefix, int from, int to) {
+            this.directory = directory;
+            this.prefix = prefix;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PngTask(directory, prefix, from, middle),
+                        new PngTask(directory, prefix, middle, to));
+                return;
+            }
+
+            int[] pixels = new int[width * height];
+            GradientRasterizer.render(getFrameState(from), width, height, pixels);
+
+            OutputStream out = null;
+            try {
+                out = new FileOutputStream(new File(directory, getPngName(prefix, from)));
+                PngWriter.write(pixels, width, height, out);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                if (out != null) {
+                    try {
+                        out.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder class
+     */
+    public static class Builder {
+        private final Keyframes.Builder keyframesBuilder = new Keyframes.Builder();
+        private int duration;
+        private int width;
+        private int height;
+        private int frameRate;
+        private int repeatCount;
+        private ForkJoinPool pool;
+
+        /**
+         * Constructor
+         *
+         * @param width  frame width in pixels
+         * @param height frame height in pixels
+         */
+        public Builder(@IntRange(from = 1) int width, @IntRange(from = 1) int height) {
+            if (width <= 0 || height <= 0)
+                throw new IllegalArgumentException("Invalid frame size " + width + "x" + height);
+
+            this.width = width;
+            this.height = height;
+            duration = 2000;
+            frameRate = 60;
+            repeatCount = 1;
+        }
+
+        /**
+         * Method to add new GradientItem
+         *
+         * @param gradientItem GradientItem
+         * @return this object
+         */
+        public Builder addGradientItem(@NonNull GradientItem gradientItem) {
+            add(gradientItem.getGradient(), gradientItem.getDuration());
+            return this;
+        }
+
+        /**
+         * Method to add new Gradient, shown for the duration set with {@link #setDuration(int)}
+         * at the time it is added
+         *
+         * @param gradient Gradient
+         * @return this object
+         */
+        public Builder addGradient(@NonNull Gradient gradient) {
+            add(gradient, duration);
+            return this;
+        }
+
+        /**
+         * Method to set duration of gradients added afterwards, default is 2000
+         *
+         * @param duration duration in milliseconds
+         * @return this object
+         */
+        public Builder setDuration(@IntRange(from = 0) int duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Method to set blend duration at the start of every keyframe, like the fade durations
+         * of an interpolating GradientAnimation
+         *
+         * @param transitionDuration duration in milliseconds
+         * @return this object
+         */
+        public Builder setTransitionDuration(@IntRange(from = 0) int transitionDuration) {
+            keyframesBuilder.setTransitionDuration(transitionDuration);
+            return this;
+        }
+
+        /**
+         * Method to set the color space blends are interpolated in
+         *
+         * @param interpolation {@link ColorRamps#SRGB} (default), {@link ColorRamps#LINEAR_RGB}
+         *                      or {@link ColorRamps#OKLAB}
+         * @return this object
+         */
+        public Builder setInterpolation(int interpolation) {
+            keyframesBuilder.setInterpolation(interpolation);
+            return this;
+        }
+
+        /**
+         * Method to rotate the gradient over the cycle instead of using the orientations
+         *
+         * @param angleTrack AngleTrack, or null (default) to use the orientations
+         * @return this object
+         */
+        public Builder setAngleTrack(AngleTrack angleTrack) {
+            keyframesBuilder.setAngleTrack(angleTrack);
+            return this;
+        }
+
+        /**
+         * Method to set frame rate, default is 60
+         *
+         * @param frameRate frames per second
+         * @return this object
+         */
+        public Builder setFrameRate(@IntRange(from = 1) int frameRate) {
+            this.frameRate = Math.max(1, frameRate);
+            return this;
+        }
+
+        /**
+         * Method to set number of cycles to render, default is 1
+         *
+         * @param repeatCount number of cycles
+         * @return this object
+         */
+        public Builder setRepeatCount(@IntRange(from = 1) int repeatCount) {
+            this.repeatCount = Math.max(1, repeatCount);
+            return this;
+        }
+
+        /**
+         * Method to set the pool rendering frames, a shared pool with one worker per core by default
+         *
+         * @param pool ForkJoinPool
+         * @return this object
+         */
+        public Builder setPool(@NonNull ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * Method to build OfflineRenderer
+         *
+         * @return OfflineRenderer
+         */
+        public OfflineRenderer build() {
+            return new OfflineRenderer(this);
+        }
+
+        private void add(Gradient gradient, int duration) {
+            keyframesBuilder.add(gradient.getColors(), gradient.getType().ordinal(),
+                    gradient.getOrientation().ordinal(), gradient.getCenterX(),
+                    gradient.getCenterY(), gradient.getGradientRadius(), gradient.getRadii(),
+                    duration);
+        }
+    }
+}
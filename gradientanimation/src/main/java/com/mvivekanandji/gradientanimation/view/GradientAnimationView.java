@@ -2,15 +2,33 @@ package com.mvivekanandji.gradientanimation.view;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Rect;
 import android.graphics.drawable.AnimationDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.util.AttributeSet;
 import android.view.View;
+import android.view.ViewTreeObserver;
 
+import androidx.annotation.ArrayRes;
 import androidx.annotation.DrawableRes;
 import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.mvivekanandji.gradientanimation.R;
+import com.mvivekanandji.gradientanimation.core.FrameMetrics;
+import com.mvivekanandji.gradientanimation.core.FrameTicker;
+import com.mvivekanandji.gradientanimation.core.Keyframes;
+import com.mvivekanandji.gradientanimation.drawable.CrossfadeGradientDrawable;
+import com.mvivekanandji.gradientanimation.drawable.KeyframeDrawable;
+import com.mvivekanandji.gradientanimation.drawable.KeyframesAssets;
+import com.mvivekanandji.gradientanimation.drawable.KeyframesResourceCache;
+import com.mvivekanandji.gradientanimation.drawable.LowPowerPolicy;
+import com.mvivekanandji.gradientanimation.drawable.TickerAnimationDrawable;
+import com.mvivekanandji.gradientanimation.model.Gradient;
+
+import java.io.IOException;
 
 
 /**
@@ -34,11 +52,31 @@ import com.mvivekanandji.gradientanimation.R;
  * @version 1.0
  *
  * A view class to use in layout xml
+ * <p>
+ * The animation pauses by itself while the view is detached, not visible (including its
+ * ancestors and the window), scrolled out of the window, or its window has no focus, so
+ * invisible gradients cost no CPU. Hosts can add {@link GradientLifecycleObserver} to also
+ * pause between ON_STOP and ON_START.
+ * <p>
+ * ga_animation_asset can replace ga_drawable with a binary keyframes asset, and ga_gradients with
+ * an array resource of inline gradients (see {@link KeyframesResourceCache}), ga_durations and
+ * ga_orientation. Neither inflates any drawable.
+ * <p>
+ * Constructors only read the attributes. Drawables and keyframes are built when the view is first
+ * attached or laid out, so views inflated in bulk, eg. list rows, cost no drawable inflation up
+ * front, and setters called in between are applied to the first animation that is built.
  */
 public class GradientAnimationView extends View {
 
     @DrawableRes
     private int drawable;
+    private String animationAsset;
+    @ArrayRes
+    private int gradients;
+    @ArrayRes
+    private int durations;
+    private int orientation;
+    private int stopCount;
     private int duration;
     private int enterDuration;
     private int exitDuration;
@@ -47,7 +85,31 @@ public class GradientAnimationView extends View {
     private boolean loop;
     @IntRange(from=1,to=Integer.MAX_VALUE)
     private int loopCount;
-    private int gradientCount;
+    private int maxFrameRate;
+    private FrameMetrics.Listener metricsListener;
+    private boolean traceEnabled;
+
+    private TickerAnimationDrawable animationDrawable;
+    private KeyframeDrawable keyframeDrawable;
+    private boolean animationInitialized;
+    private boolean released;
+    private long pendingSeek = -1;
+
+    private boolean paused;
+    private boolean attached;
+    private boolean visibleToUser = true;
+    private boolean onScreen = true;
+    private boolean windowFocused;
+    private boolean hostStarted = true;
+    private final Rect visibleRect = new Rect();
+
+    private final ViewTreeObserver.OnScrollChangedListener scrollChangedListener =
+            new ViewTreeObserver.OnScrollChangedListener() {
+                @Override
+                public void onScrollChanged() {
+                    updateOnScreen();
+                }
+            };
 
 
     /**
@@ -58,7 +120,7 @@ public class GradientAnimationView extends View {
      */
     public GradientAnimationView(Context context) {
         super(context);
-        initAnimation();
+        initAttributes(null, 0, 0);
     }
 
     /**
@@ -78,28 +140,7 @@ public class GradientAnimationView extends View {
      */
     public GradientAnimationView(Context context, @Nullable AttributeSet attrs) {
         super(context, attrs);
-
-        TypedArray typedArray = getContext().
-                obtainStyledAttributes(attrs, R.styleable.GradientAnimationView,0,0);
-
-        drawable = typedArray.getResourceId(R.styleable.GradientAnimationView_ga_drawable,R.drawable.anim_blue_purple);
-        duration = typedArray.getInt(R.styleable.GradientAnimationView_ga_duration, 1000);
-        enterDuration = typedArray.getInt(R.styleable.GradientAnimationView_ga_enter_duration, 1000);
-        exitDuration = typedArray.getInt(R.styleable.GradientAnimationView_ga_exit_duration, 1000);
-
-        if(!typedArray.hasValue(R.styleable.GradientAnimationView_ga_enter_duration))
-            enterDuration = duration/2;
-        if(!typedArray.hasValue(R.styleable.GradientAnimationView_ga_exit_duration))
-            enterDuration = duration/2;
-
-        alpha = typedArray.getInt(R.styleable.GradientAnimationView_ga_alpha,255);
-        loop = typedArray.getBoolean(R.styleable.GradientAnimationView_ga_loop,true);
-        loopCount = typedArray.getInt(R.styleable.GradientAnimationView_ga_loop_count, -1);
-        gradientCount = typedArray.getInt(R.styleable.GradientAnimationView_ga_loop_count, 2);
-
-        typedArray.recycle();
-
-        initAnimation();
+        initAttributes(attrs, 0, 0);
     }
 
     /**
@@ -120,7 +161,7 @@ public class GradientAnimationView extends View {
      */
     public GradientAnimationView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        initAnimation();
+        initAttributes(attrs, defStyleAttr, 0);
     }
 
     /**
@@ -158,37 +199,447 @@ public class GradientAnimationView extends View {
     public GradientAnimationView(Context context, @Nullable AttributeSet attrs,
                                  int defStyleAttr, int defStyleRes) {
         super(context, attrs, defStyleAttr, defStyleRes);
+        initAttributes(attrs, defStyleAttr, defStyleRes);
+    }
+
+
+    /**
+     * Method to animate an animation-list drawable, replaces asset and gradients.
+     * A running animation is rebuilt and starts again.
+     *
+     * @param drawable animation-list drawable resource, 0 for no animation
+     */
+    public void setAnimationResource(@DrawableRes int drawable) {
+        this.drawable = drawable;
+        this.animationAsset = null;
+        this.gradients = 0;
+        reloadAnimation();
+    }
+
+    /**
+     * Method to animate a binary keyframes asset, see {@link KeyframesAssets}.
+     * A running animation is rebuilt and starts again.
+     *
+     * @param animationAsset path of the asset
+     */
+    public void setAnimationAsset(@NonNull String animationAsset) {
+        this.animationAsset = animationAsset;
+        reloadAnimation();
+    }
+
+    /**
+     * Method to animate an array resource of inline gradients, see {@link KeyframesResourceCache}.
+     * A running animation is rebuilt and starts again.
+     *
+     * @param gradients array resource of gradients
+     * @param durations integer array resource of durations, 0 for the ga_duration of every gradient
+     */
+    public void setGradients(@ArrayRes int gradients, @ArrayRes int durations) {
+        this.gradients = gradients;
+        this.durations = durations;
+        this.animationAsset = null;
+        reloadAnimation();
+    }
+
+    /**
+     * Method to set the fade durations between gradients.
+     * A running animation is rebuilt and starts again.
+     *
+     * @param enterDuration fade in duration in milliseconds
+     * @param exitDuration  fade out duration in milliseconds
+     */
+    public void setFadeDurations(int enterDuration, int exitDuration) {
+        this.enterDuration = enterDuration;
+        this.exitDuration = exitDuration;
+        reloadAnimation();
+    }
+
+    /**
+     * Method to set whether the animation loops.
+     * A running animation is rebuilt and starts again.
+     *
+     * @param loop      true to loop
+     * @param loopCount number of loops, -1 to loop forever
+     */
+    public void setLoop(boolean loop, int loopCount) {
+        this.loop = loop;
+        this.loopCount = loopCount;
+        reloadAnimation();
+    }
+
+    /**
+     * Method to set alpha of the animation
+     *
+     * @param alpha integer in the range 0 to 255
+     */
+    public void setGradientAlpha(@IntRange(from = 0, to = 255) int alpha) {
+        this.alpha = alpha;
+        if (keyframeDrawable != null) keyframeDrawable.setAlpha(alpha);
+        if (animationDrawable != null) animationDrawable.setAlpha(alpha);
+    }
+
+    /**
+     * Method to cap the frame rate of the animation
+     *
+     * @param maxFrameRate frames per second, {@link FrameTicker#UNLIMITED} for the display frame rate
+     */
+    public void setMaxFrameRate(@IntRange(from = 0) int maxFrameRate) {
+        this.maxFrameRate = maxFrameRate;
+        if (keyframeDrawable != null) keyframeDrawable.setMaxFrameRate(maxFrameRate);
+        if (animationDrawable != null) animationDrawable.setMaxFrameRate(maxFrameRate);
+    }
+
+    /**
+     * Getter
+     *
+     * @return frame rate cap, {@link FrameTicker#UNLIMITED} if not capped
+     */
+    public int getMaxFrameRate() {
+        return maxFrameRate;
+    }
+
+    /**
+     * Method to report frame metrics of the animation, including time spent auto paused
+     *
+     * @param listener FrameMetrics.Listener, null to disable metrics
+     */
+    public void setMetricsListener(@Nullable FrameMetrics.Listener listener) {
+        this.metricsListener = listener;
+        if (keyframeDrawable != null) keyframeDrawable.setMetricsListener(listener);
+        if (animationDrawable != null) animationDrawable.setMetricsListener(listener);
+    }
+
+    /**
+     * Getter
+     *
+     * @return FrameMetrics, null if no listener is set
+     */
+    @Nullable
+    public FrameMetrics getMetrics() {
+        if (keyframeDrawable != null) return keyframeDrawable.getMetrics();
+        return animationDrawable != null ? animationDrawable.getMetrics() : null;
+    }
+
+    /**
+     * Method to wrap animation frames and draws in android.os.Trace sections
+     *
+     * @param traceEnabled true to emit trace sections
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        this.traceEnabled = traceEnabled;
+        if (keyframeDrawable != null) keyframeDrawable.setTraceEnabled(traceEnabled);
+        if (animationDrawable != null) animationDrawable.setTraceEnabled(traceEnabled);
+    }
+
+    /**
+     * Method to move the animation to the given play time, a running animation continues from there.
+     * Before the animation is built the play time is kept for it.
+     *
+     * @param playTime milliseconds since the animation started
+     */
+    public void seekTo(@IntRange(from = 0) long playTime) {
+        if (!animationInitialized) pendingSeek = playTime;
+        if (keyframeDrawable != null) keyframeDrawable.seekTo(playTime);
+        if (animationDrawable != null) animationDrawable.seekTo(playTime);
+    }
+
+    /**
+     * Getter
+     *
+     * @return progress from 0 to 1 of all loops, of the current loop if the animation loops forever,
+     * 0 before the animation is built
+     */
+    public float getProgress() {
+        if (keyframeDrawable != null) return keyframeDrawable.getProgress();
+        return animationDrawable != null ? animationDrawable.getProgress() : 0f;
+    }
+
+    /**
+     * Getter
+     *
+     * @return true if the animation is paused because the view cannot be seen
+     */
+    public boolean isAnimationPaused() {
+        return paused;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        attached = true;
+        ensureAnimation();
+        getViewTreeObserver().addOnScrollChangedListener(scrollChangedListener);
+        windowFocused = hasWindowFocus();
+        visibleToUser = isShown();
+        updatePausedState();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        getViewTreeObserver().removeOnScrollChangedListener(scrollChangedListener);
+        attached = false;
+        updatePausedState();
+
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    public void onVisibilityAggregated(boolean isVisible) {
+        super.onVisibilityAggregated(isVisible);
+
+        visibleToUser = isVisible;
+        updatePausedState();
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+
+        // onVisibilityAggregated is only called from API 24
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+            visibleToUser = isShown();
+            updatePausedState();
+        }
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+            visibleToUser = visibility == VISIBLE && isShown();
+            updatePausedState();
+        }
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+
+        windowFocused = hasWindowFocus;
+        updatePausedState();
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+
+        if (!animationInitialized) {
+            ensureAnimation();
+            updatePausedState();
+        }
+        if (changed) updateOnScreen();
+    }
+
+    /**
+     * Method called by GradientLifecycleObserver when the host is started or stopped
+     *
+     * @param started true between ON_START and ON_STOP
+     */
+    void setHostStarted(boolean started) {
+        hostStarted = started;
+        updatePausedState();
+    }
+
+    /**
+     * Method called by GradientLifecycleObserver when the host is destroyed,
+     * stops the animation and drops the drawable
+     */
+    void release() {
+        // a released view is not built again, not even by setters
+        released = true;
+        animationInitialized = true;
+        dropAnimation();
+    }
+
+    /**
+     * Method to build the animation on first attach or layout, with the configuration set so far
+     */
+    private void ensureAnimation() {
+        if (animationInitialized) return;
+
+        animationInitialized = true;
         initAnimation();
+
+        if (pendingSeek >= 0) {
+            seekTo(pendingSeek);
+            pendingSeek = -1;
+        }
+    }
+
+    /**
+     * Method to apply a changed configuration, rebuilds a built animation right away
+     * while attached and on next attach or layout otherwise
+     */
+    private void reloadAnimation() {
+        if (!animationInitialized || released) return;
+
+        dropAnimation();
+        animationInitialized = false;
+
+        if (attached) {
+            ensureAnimation();
+            updatePausedState();
+        }
+    }
+
+    /**
+     * Method to stop the animation and drop the drawables, clears the background
+     */
+    private void dropAnimation() {
+        if (keyframeDrawable != null) {
+            keyframeDrawable.stop();
+            keyframeDrawable.setVisible(false, false);
+            keyframeDrawable = null;
+        }
+
+        if (animationDrawable != null) {
+            animationDrawable.stop();
+            animationDrawable.setVisible(false, false);
+            animationDrawable = null;
+        }
+
+        setBackground(null);
+    }
+
+    /**
+     * Method to check whether any part of the view is inside the window
+     */
+    private void updateOnScreen() {
+        boolean visible = attached && getGlobalVisibleRect(visibleRect);
+        if (visible != onScreen) {
+            onScreen = visible;
+            updatePausedState();
+        }
+    }
+
+    /**
+     * Method to pause or resume the animation depending on whether the view can be seen.
+     * Pausing hides the drawable, which unschedules it from the frame ticker while keeping
+     * its current frame and play time, so loops are still counted exactly.
+     * The drawable visibility is applied on every call, because View also changes the
+     * background visibility on its own.
+     */
+    private void updatePausedState() {
+        if (animationDrawable == null && keyframeDrawable == null) return;
+
+        boolean shouldPause = !(attached && visibleToUser && onScreen && windowFocused && hostStarted);
+
+        paused = shouldPause;
+        if (keyframeDrawable != null) keyframeDrawable.setVisible(!paused, false);
+        if (animationDrawable != null) animationDrawable.setVisible(!paused, false);
     }
 
+    /**
+     * Method to read the view attributes, used by every constructor
+     *
+     * @param attrs        AttributeSet, may be null
+     * @param defStyleAttr default style attribute, 0 for none
+     * @param defStyleRes  default style resource, 0 for none
+     */
+    private void initAttributes(@Nullable AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        TypedArray typedArray = getContext().obtainStyledAttributes(attrs,
+                R.styleable.GradientAnimationView, defStyleAttr, defStyleRes);
+
+        drawable = typedArray.getResourceId(R.styleable.GradientAnimationView_ga_drawable,R.drawable.anim_blue_purple);
+        animationAsset = typedArray.getString(R.styleable.GradientAnimationView_ga_animation_asset);
+        gradients = typedArray.getResourceId(R.styleable.GradientAnimationView_ga_gradients, 0);
+        durations = typedArray.getResourceId(R.styleable.GradientAnimationView_ga_durations, 0);
+        orientation = typedArray.getInt(R.styleable.GradientAnimationView_ga_orientation,
+                Gradient.Orientation.BOTTOM_TOP.ordinal());
+        stopCount = typedArray.getInt(R.styleable.GradientAnimationView_ga_stop_count, 2);
+        duration = typedArray.getInt(R.styleable.GradientAnimationView_ga_duration, 1000);
+        enterDuration = typedArray.getInt(R.styleable.GradientAnimationView_ga_enter_duration, duration/2);
+        exitDuration = typedArray.getInt(R.styleable.GradientAnimationView_ga_exit_duration, duration/2);
+        alpha = typedArray.getInt(R.styleable.GradientAnimationView_ga_alpha,255);
+        loop = typedArray.getBoolean(R.styleable.GradientAnimationView_ga_loop,true);
+        loopCount = typedArray.getInt(R.styleable.GradientAnimationView_ga_loop_count, -1);
+        maxFrameRate = typedArray.getInt(R.styleable.GradientAnimationView_ga_max_fps, FrameTicker.UNLIMITED);
+
+        typedArray.recycle();
+    }
 
     /**
      * Method to initialize AnimationDrawable and start animation
+     *
+     * @throws IllegalArgumentException if ga_drawable is not an animation-list drawable
      */
     private void initAnimation(){
-        setBackgroundResource(drawable);
-        final AnimationDrawable animationDrawable = (AnimationDrawable) getBackground();
+        if (animationAsset != null) {
+            initKeyframeAnimation(loadAsset());
+            return;
+        }
+
+        if (gradients != 0) {
+            KeyframesResourceCache cache = KeyframesResourceCache.getInstance();
+            cache.install(getContext());
+            initKeyframeAnimation(cache.obtain(getResources(), gradients, durations,
+                    orientation, duration, stopCount));
+            return;
+        }
+
+        if (drawable == 0) return;
+
+        Drawable source = getContext().getDrawable(drawable);
+        if (!(source instanceof AnimationDrawable))
+            throw new IllegalArgumentException("ga_drawable must be an animation-list drawable");
+
+        animationDrawable = TickerAnimationDrawable.from((AnimationDrawable) source);
+        setBackground(animationDrawable);
+
+        LowPowerPolicy.getInstance().install(getContext());
+        animationDrawable.setMaxFrameRate(maxFrameRate);
+        animationDrawable.setMetricsListener(metricsListener);
+        animationDrawable.setTraceEnabled(traceEnabled);
 
         animationDrawable.setEnterFadeDuration(enterDuration);
         animationDrawable.setExitFadeDuration(exitDuration);
         animationDrawable.setAlpha(alpha);
 
-        animationDrawable.start();
-
         if(!loop) animationDrawable.setOneShot(true);
+        else if(loopCount > 0) animationDrawable.setRepeatCount(loopCount);
 
-        else if(loopCount > 0) {
-            long loopTime = new Long(loopCount) * gradientCount * (enterDuration + exitDuration);
+        // not attached yet, stays paused until the view can be seen
+        paused = true;
+        updatePausedState();
+        animationDrawable.start();
+    }
 
-            postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    animationDrawable.stop();
-                }
-            },loopTime);
+    /**
+     * Method to load keyframes of the animation asset
+     *
+     * @return Keyframes
+     */
+    private Keyframes loadAsset() {
+        try {
+            return KeyframesAssets.load(getContext().getAssets(), animationAsset);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot load animation asset " + animationAsset, e);
         }
-
     }
 
+    /**
+     * Method to initialize keyframe drawable and start animation
+     *
+     * @param keyframes Keyframes to animate
+     */
+    private void initKeyframeAnimation(Keyframes keyframes) {
+        keyframeDrawable = new CrossfadeGradientDrawable(keyframes, enterDuration, exitDuration);
+        setBackground(keyframeDrawable);
 
+        LowPowerPolicy.getInstance().install(getContext());
+        keyframeDrawable.setMaxFrameRate(maxFrameRate);
+        keyframeDrawable.setMetricsListener(metricsListener);
+        keyframeDrawable.setTraceEnabled(traceEnabled);
+        keyframeDrawable.setAlpha(alpha);
+
+        if(!loop) keyframeDrawable.setOneShot(true);
+        else if(loopCount > 0) keyframeDrawable.setRepeatCount(loopCount);
+
+        // not attached yet, stays paused until the view can be seen
+        paused = true;
+        updatePausedState();
+        keyframeDrawable.start();
+    }
 }
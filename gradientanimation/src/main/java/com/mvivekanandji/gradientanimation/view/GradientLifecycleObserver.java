@@ -0,0 +1,107 @@
+package com.mvivekanandji.gradientanimation.view;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.OnLifecycleEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copyright 2019 Vivekanand Mishra.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created by Vivekanand Mishra on 16/10/26.
+ *
+ * @author vivekanand
+ * @version 1.0
+ * <p>
+ * Opt-in bridge between a LifecycleOwner (Activity, Fragment) and GradientAnimationViews.
+ * Views are paused on ON_STOP and resumed on ON_START. On ON_DESTROY the views drop their
+ * drawables and the observer removes itself. Shared shaders are left to the cache budget and
+ * to memory trims, other screens may still use them.
+ * <p>
+ * eg. {@code GradientLifecycleObserver.bind(this, gradientAnimationView);}
+ */
+public class GradientLifecycleObserver implements LifecycleObserver {
+
+    private final Lifecycle lifecycle;
+    private final List<GradientAnimationView> views = new ArrayList<>();
+
+    /**
+     * Method to create an observer and add it to the owner's lifecycle
+     *
+     * @param owner LifecycleOwner hosting the views
+     * @param views views to pause and resume
+     * @return GradientLifecycleObserver, views can be added later with {@link #addView(GradientAnimationView)}
+     */
+    @NonNull
+    public static GradientLifecycleObserver bind(@NonNull LifecycleOwner owner,
+                                                 @NonNull GradientAnimationView... views) {
+        GradientLifecycleObserver observer = new GradientLifecycleObserver(owner.getLifecycle());
+        observer.views.addAll(Arrays.asList(views));
+        owner.getLifecycle().addObserver(observer);
+        return observer;
+    }
+
+    private GradientLifecycleObserver(Lifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+    }
+
+    /**
+     * Method to add a view, it takes the current lifecycle state right away
+     *
+     * @param view GradientAnimationView
+     */
+    public void addView(@NonNull GradientAnimationView view) {
+        if (views.contains(view)) return;
+
+        views.add(view);
+        view.setHostStarted(lifecycle.getCurrentState().isAtLeast(Lifecycle.State.STARTED));
+    }
+
+    /**
+     * Method to remove a view, it is no longer paused by the lifecycle
+     *
+     * @param view GradientAnimationView
+     */
+    public void removeView(@NonNull GradientAnimationView view) {
+        if (views.remove(view))
+            view.setHostStarted(true);
+    }
+
+    @OnLifecycleEvent(Lifecycle.Event.ON_START)
+    void onStart() {
+        for (GradientAnimationView view : views)
+            view.setHostStarted(true);
+    }
+
+    @OnLifecycleEvent(Lifecycle.Event.ON_STOP)
+    void onStop() {
+        for (GradientAnimationView view : views)
+            view.setHostStarted(false);
+    }
+
+    @OnLifecycleEvent(Lifecycle.Event.ON_DESTROY)
+    void onDestroy() {
+        for (GradientAnimationView view : views)
+            view.release();
+
+        views.clear();
+        lifecycle.removeObserver(this);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Angle track evaluation and free angle gradient lines.
+ */
+public class AngleTrackTest {
+
+    @Test
+    public void evaluate_interpolatesAndHolds() {
+        AngleTrack track = new AngleTrack.Builder()
+                .add(1000, 0f)
+                .add(2000, 90f)
+                .add(2000, 180f)
+                .add(4000, 360f)
+                .build();
+
+        assertEquals(0f, track.evaluate(0), 0f);
+        assertEquals(45f, track.evaluate(1500), 1e-4f);
+        // equal times jump, the last key applies
+        assertEquals(180f, track.evaluate(2000), 0f);
+        assertEquals(270f, track.evaluate(3000), 1e-4f);
+        assertEquals(360f, track.evaluate(9000), 0f);
+    }
+
+    @Test
+    public void keyframes_shareTimelineWithTrack() {
+        Keyframes keyframes = new Keyframes.Builder()
+                .setAngleTrack(AngleTrack.rotation(4000, 0f, 1f))
+                .add(new int[]{0xff000000, 0xffffffff}, GradientGeometry.TOP_BOTTOM, null, 2000)
+                .add(new int[]{0xffffffff, 0xff000000}, GradientGeometry.TOP_BOTTOM, null, 2000)
+                .build();
+
+        FrameState state = new FrameState(keyframes.getStopCount());
+        keyframes.evaluate(5000, true, state);
+        assertEquals(90f, state.angle, 1e-3f);
+        assertEquals(0, state.keyframe);
+
+        keyframes.evaluate(7000, true, state);
+        assertEquals(270f, state.angle, 1e-3f);
+        assertEquals(1, state.keyframe);
+    }
+
+    @Test
+    public void resolveAngle_coversBounds() {
+        float[] line = new float[4];
+
+        GradientGeometry.resolveAngle(0f, 0, 0, 200, 100, line);
+        assertArrayEquals(new float[]{0, 50, 200, 50}, line, 1e-3f);
+
+        GradientGeometry.resolveAngle(90f, 0, 0, 200, 100, line);
+        assertArrayEquals(new float[]{100, 100, 100, 0}, line, 1e-3f);
+
+        // on a square, 45 degrees runs from corner to corner
+        GradientGeometry.resolveAngle(45f, 0, 0, 100, 100, line);
+        assertArrayEquals(new float[]{0, 100, 100, 0}, line, 1e-3f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builder_rejectsUnorderedKeys() {
+        new AngleTrack.Builder().add(1000, 0f).add(500, 90f);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Hex color parsing, strict and lenient.
+ */
+public class ColorParserTest {
+
+    @Test
+    public void parse_allLengths() {
+        assertEquals(0xffff9a9e, ColorParser.parse("#ff9a9e"));
+        assertEquals(0xffFF9A9E, ColorParser.parse("#FF9A9E"));
+        assertEquals(0x80fad0c4, ColorParser.parse("#80fad0c4"));
+        assertEquals(0xffaabbcc, ColorParser.parse("#abc"));
+        assertEquals(0xff6078ea, ColorParser.parse("x #6078ea y", 2, 9, false));
+    }
+
+    @Test
+    public void parse_strictRejectsWithReason() {
+        assertRejected("ffffff", "missing '#'");
+        assertRejected("#fffff", "expected #RGB");
+        assertRejected("#ff9g9e", "'g' at index 4");
+        assertRejected("", "empty");
+        assertRejected(" #ffffff", "missing '#'");
+    }
+
+    @Test
+    public void parse_lenient() {
+        assertEquals(0xffffffff, ColorParser.parse(" ffffff ", 0, 8, true));
+        assertEquals(0xff000000, ColorParser.parseOrDefault("#000", 1));
+        assertEquals(1, ColorParser.parseOrDefault("red", 1));
+        assertEquals(1, ColorParser.parseOrDefault(null, 1));
+        assertTrue(ColorParser.isValid("ffffff", true));
+        assertFalse(ColorParser.isValid("ffffff", false));
+    }
+
+    @Test
+    public void parse_arrays() {
+        int[] out = new int[5];
+        ColorParser.parse(new String[]{"#000000", "#aaaaaa", "ffffff", "#eeeeee"}, out, 1, true);
+        assertArrayEquals(new int[]{0, 0xff000000, 0xffaaaaaa, 0xffffffff, 0xffeeeeee}, out);
+
+        assertEquals(1, ColorParser.parseOrDefault(new String[]{"#123", "nope"}, out, 0, 7));
+        assertEquals(0xff112233, out[0]);
+        assertEquals(7, out[1]);
+
+        try {
+            ColorParser.parse(new String[]{"#000000", "ffffff"}, out, 0, false);
+            fail("accepted missing '#'");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Color 1: "));
+        }
+    }
+
+    private static void assertRejected(String color, String reason) {
+        try {
+            ColorParser.parse(color);
+            fail("accepted " + color);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(reason));
+        }
+    }
+}
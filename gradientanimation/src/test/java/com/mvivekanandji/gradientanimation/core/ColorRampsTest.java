@@ -0,0 +1,94 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Interpolation ramps against direct color space math.
+ */
+public class ColorRampsTest {
+
+    private static final int[] COLORS = {0xffff0000, 0xff0000ff, 0x8000ff00, 0xffffffff};
+
+    @Test
+    public void build_srgbNeedsNoRamps() {
+        assertNull(ColorRamps.build(COLORS, 2, 2, ColorRamps.SRGB));
+    }
+
+    @Test
+    public void evaluate_endsAreExact() {
+        int[] ramps = ColorRamps.build(COLORS, 2, 2, ColorRamps.OKLAB);
+        int[] out = new int[2];
+
+        // keyframe 1 blends from keyframe 0
+        ColorRamps.evaluate(ramps, 1, 2, 0f, out);
+        assertArrayEquals(new int[]{0xffff0000, 0xff0000ff}, out);
+        ColorRamps.evaluate(ramps, 1, 2, 1f, out);
+        assertArrayEquals(new int[]{0x8000ff00, 0xffffffff}, out);
+    }
+
+    @Test
+    public void evaluate_matchesDirectMath() {
+        for (int space = ColorRamps.LINEAR_RGB; space <= ColorRamps.OKLAB; space++) {
+            int[] ramps = ColorRamps.build(COLORS, 2, 2, space);
+            int[] out = new int[2];
+
+            for (int step = 0; step <= 100; step++) {
+                float fraction = step / 100f;
+                ColorRamps.evaluate(ramps, 1, 2, fraction, out);
+                assertClose(ColorRamps.mix(0xffff0000, 0x8000ff00, fraction, space), out[0]);
+                assertClose(ColorRamps.mix(0xff0000ff, 0xffffffff, fraction, space), out[1]);
+            }
+        }
+    }
+
+    @Test
+    public void mix_perceptualMidpointIsBrighter() {
+        int srgb = ColorRamps.mix(0xffff0000, 0xff00ff00, 0.5f, ColorRamps.SRGB);
+        int oklab = ColorRamps.mix(0xffff0000, 0xff00ff00, 0.5f, ColorRamps.OKLAB);
+        int linear = ColorRamps.mix(0xffff0000, 0xff00ff00, 0.5f, ColorRamps.LINEAR_RGB);
+
+        assertTrue(sum(oklab) > sum(srgb));
+        assertTrue(sum(linear) > sum(srgb));
+    }
+
+    @Test
+    public void keyframes_useRamps() {
+        Keyframes keyframes = new Keyframes.Builder()
+                .setTransitionDuration(1000)
+                .setInterpolation(ColorRamps.OKLAB)
+                .add(new int[]{0xffff0000}, GradientGeometry.TOP_BOTTOM, null, 1000)
+                .add(new int[]{0xff00ff00}, GradientGeometry.TOP_BOTTOM, null, 1000)
+                .build();
+
+        FrameState state = new FrameState(keyframes.getStopCount());
+        keyframes.evaluate(1500, true, state);
+        assertClose(ColorRamps.mix(0xffff0000, 0xff00ff00, 0.5f, ColorRamps.OKLAB), state.colors[0]);
+    }
+
+    @Test
+    public void update_matchesBuild() {
+        int[] colors = COLORS.clone();
+        int[] ramps = ColorRamps.build(colors, 2, 2, ColorRamps.OKLAB);
+
+        colors[2] = 0xff00ffff;
+        colors[3] = 0xff000000;
+        ColorRamps.update(ramps, colors, 2, 2, ColorRamps.OKLAB, 1,
+                new float[ColorRamps.SCRATCH_SIZE]);
+
+        assertArrayEquals(ColorRamps.build(colors, 2, 2, ColorRamps.OKLAB), ramps);
+    }
+
+    private static int sum(int color) {
+        return ((color >> 16) & 0xff) + ((color >> 8) & 0xff) + (color & 0xff);
+    }
+
+    private static void assertClose(int expected, int actual) {
+        // lerping ramp samples is off by up to 8 levels where a channel leaves 0
+        for (int shift = 0; shift < 32; shift += 8) {
+            int difference = Math.abs(((expected >>> shift) & 0xff) - ((actual >>> shift) & 0xff));
+            assertTrue(String.format("%08x != %08x", expected, actual), difference <= 8);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Counting, histogram and reporting of FrameMetrics.
+ */
+public class FrameMetricsTest {
+
+    private int reports;
+    private FrameMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new FrameMetrics(new FrameMetrics.Listener() {
+            @Override
+            public void onFrameMetrics(FrameMetrics metrics) {
+                reports++;
+            }
+        }, 100);
+    }
+
+    @Test
+    public void countsChangedAndUnchangedFrames() {
+        for (int i = 0; i < 10; i++)
+            metrics.recordFrame(i * 16, 1000, i % 3 == 0);
+
+        assertEquals(10, metrics.getFrameCount());
+        assertEquals(4, metrics.getInvalidationCount());
+        assertEquals(6, metrics.getUnchangedCount());
+        assertEquals(10000, metrics.getTotalComputeNanos());
+    }
+
+    @Test
+    public void histogramBucketsDouble() {
+        metrics.recordFrame(0, 1000, true);       // below 4 us
+        metrics.recordFrame(16, 5000, true);      // 4 to 8 us
+        metrics.recordFrame(32, 20000000, true);  // 20 ms, last bucket
+
+        assertEquals(1, metrics.getBucketCount(0));
+        assertEquals(1, metrics.getBucketCount(1));
+        assertEquals(1, metrics.getBucketCount(FrameMetrics.BUCKET_COUNT - 1));
+        assertEquals(8192, FrameMetrics.getBucketUpperBoundNanos(1));
+        assertEquals(8192, metrics.getComputeNanosPercentile(50));
+        assertEquals(20000000, metrics.getComputeNanosPercentile(100));
+    }
+
+    @Test
+    public void reportsOncePerInterval() {
+        for (int i = 0; i <= 62; i++)
+            metrics.recordFrame(i * 16, 1000, true);
+
+        // 16 ms frames reach the 100 ms interval every 112 ms: 112, 224, ... 896
+        assertEquals(8, reports);
+    }
+
+    @Test
+    public void pausedTimeAccumulates() {
+        metrics.recordPause(1000);
+        metrics.recordPause(1200);
+        assertTrue(metrics.isPaused());
+        metrics.recordResume(1500);
+        metrics.recordPause(2000);
+        metrics.recordResume(2100);
+
+        assertEquals(600, metrics.getPausedTimeMillis());
+        assertEquals(2, reports);
+    }
+}
@@ -0,0 +1,321 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Headless harness driving simulated animations through FrameTicker from a virtual clock.
+ */
+public class FrameTickerTest {
+
+    private static final int ANIMATIONS = 1000;
+    private static final long FRAME_INTERVAL = 16;
+
+    private VirtualFrameSource frameSource;
+    private FrameTicker ticker;
+
+    @Before
+    public void setUp() {
+        frameSource = new VirtualFrameSource();
+        ticker = new FrameTicker(frameSource);
+    }
+
+    @Test
+    public void onePassPerFrame_forThousandAnimations() {
+        List<SimulatedAnimation> animations = startAnimations(ANIMATIONS, false);
+
+        int frames = 300;
+        frameSource.run(ticker, frames);
+
+        assertEquals(frames, ticker.getFrameCount());
+        // the next frame is already requested after the last delivered one
+        assertEquals(frames + 1, frameSource.posts);
+        assertEquals((long) frames * ANIMATIONS, ticker.getCallbackCount());
+        for (SimulatedAnimation animation : animations)
+            assertEquals(frames, animation.frames);
+    }
+
+    @Test
+    public void invalidatesOnlyChangedOutput() {
+        List<SimulatedAnimation> animations = startAnimations(ANIMATIONS, false);
+
+        frameSource.run(ticker, 500);
+
+        long invalidations = 0;
+        for (SimulatedAnimation animation : animations) {
+            assertEquals(animation.changes, animation.invalidations);
+            invalidations += animation.invalidations;
+        }
+
+        assertEquals(invalidations, ticker.getInvalidationCount());
+        // keyframes hold for half of their duration, so many frames must be skipped
+        assertTrue(ticker.getInvalidationCount() < ticker.getCallbackCount());
+    }
+
+    @Test
+    public void finishedAnimationsUnregisterDuringFrame() {
+        startAnimations(ANIMATIONS, true);
+
+        frameSource.run(ticker, 1000);
+
+        assertEquals(0, ticker.getRegisteredCount());
+        assertFalse(frameSource.pending);
+        assertTrue(ticker.getFrameCount() < 1000);
+    }
+
+    @Test
+    public void globalFrameRateCap_skipsVsyncs() {
+        startAnimations(ANIMATIONS, false);
+        ticker.setMaxFrameRate(30);
+
+        int vsyncs = 300;
+        frameSource.run(ticker, vsyncs);
+
+        // 30 fps on a 16 ms display is every second vsync, the others are never delivered
+        assertEquals(vsyncs / 2, ticker.getFrameCount());
+        assertEquals(ticker.getFrameCount() * ANIMATIONS, ticker.getCallbackCount());
+        assertEquals(0, ticker.getSkippedCount());
+    }
+
+    @Test
+    public void perCallbackFrameRateCap_skipsOnlyCappedAnimations() {
+        SimulatedAnimation fast = new SimulatedAnimation(keyframes(1000), 0, false);
+        SimulatedAnimation slow = new SimulatedAnimation(keyframes(1000), 0, false);
+        ticker.register(fast);
+        ticker.register(slow, 15);
+
+        int vsyncs = 400;
+        frameSource.run(ticker, vsyncs);
+
+        assertEquals(vsyncs, ticker.getFrameCount());
+        assertEquals(vsyncs, fast.frames);
+        assertEquals(vsyncs / 4, slow.frames);
+        assertEquals(vsyncs - vsyncs / 4, ticker.getSkippedCount());
+    }
+
+    @Test
+    public void cappedAnimationsOnly_requestDelayedFrames() {
+        SimulatedAnimation slow = new SimulatedAnimation(keyframes(1000), 0, false);
+        ticker.register(slow, 15);
+
+        int vsyncs = 400;
+        frameSource.run(ticker, vsyncs);
+
+        assertEquals(vsyncs / 4, ticker.getFrameCount());
+        assertEquals(0, ticker.getSkippedCount());
+
+        // a new animation is not held back by the delayed frame
+        SimulatedAnimation fast = new SimulatedAnimation(keyframes(1000), 0, false);
+        ticker.register(fast);
+        frameSource.run(ticker, 1);
+        assertEquals(1, fast.frames);
+    }
+
+    @Test
+    public void delayedCallbacks_skipFramesWithoutChange() {
+        // a slow fade of close colors changes a channel about every 60 ms
+        Keyframes keyframes = new Keyframes.Builder()
+                .setTransitionDuration(4000)
+                .add(new int[]{0xff303030, 0xff404040}, GradientGeometry.LEFT_RIGHT, null, 4000)
+                .add(new int[]{0xff6f6f6f, 0xff7f7f7f}, GradientGeometry.LEFT_RIGHT, null, 4000)
+                .build();
+        SimulatedAnimation every = new SimulatedAnimation(keyframes, 0, false);
+        SimulatedAnimation delayed = new DelayedAnimation(keyframes, 0, false);
+        ticker.register(every);
+        ticker.register(delayed);
+
+        frameSource.run(ticker, 1000);
+
+        // every change is still shown, on the same frame
+        assertEquals(every.changes, delayed.changes);
+        assertArrayEquals(every.current.colors, delayed.current.colors);
+        assertTrue(delayed.frames < every.frames / 2);
+        assertEquals(every.frames - delayed.frames, ticker.getDeferredCount());
+        assertEquals(0, ticker.getSkippedCount());
+
+        // alone, the delayed animation requests no frames in between
+        ticker.unregister(every);
+        int frames = (int) ticker.getFrameCount();
+        frameSource.run(ticker, 1000);
+        assertTrue(ticker.getFrameCount() - frames < 500);
+
+        // waking calls it on the next frame
+        int before = delayed.frames;
+        ticker.wake(delayed);
+        frameSource.run(ticker, 1);
+        assertEquals(before + 1, delayed.frames);
+    }
+
+    @Test
+    public void heldKeyframes_requestNoFramesUntilNextBlend() {
+        // 200 ms blends between 3 s holds
+        Keyframes keyframes = new Keyframes.Builder()
+                .setTransitionDuration(200)
+                .add(new int[]{0xffff9a9e, 0xfffad0c4}, GradientGeometry.BOTTOM_TOP, null, 3200)
+                .add(new int[]{0xff84fab0, 0xff8fd3f4}, GradientGeometry.BOTTOM_TOP, null, 3200)
+                .build();
+        SimulatedAnimation animation = new DelayedAnimation(keyframes, 0, false);
+        ticker.register(animation);
+
+        // two cycles, the first keyframe of the first cycle appears without a blend
+        int vsyncs = (int) (2 * keyframes.getTotalDuration() / FRAME_INTERVAL);
+        frameSource.run(ticker, vsyncs);
+
+        // about 13 frames per blend and one at the start of every hold
+        assertTrue(ticker.getFrameCount() < 3 * 20);
+        assertEquals(ticker.getFrameCount(), animation.frames);
+        assertTrue(frameSource.pending);
+    }
+
+    @Test
+    public void paused_requestsNoFrames() {
+        startAnimations(10, false);
+        frameSource.run(ticker, 10);
+
+        ticker.setPaused(true);
+        assertFalse(frameSource.pending);
+        frameSource.run(ticker, 10);
+        assertEquals(10, ticker.getFrameCount());
+
+        ticker.setPaused(false);
+        assertTrue(frameSource.pending);
+        frameSource.run(ticker, 10);
+        assertEquals(20, ticker.getFrameCount());
+    }
+
+    @Test
+    public void registerTwice_isIgnored() {
+        SimulatedAnimation animation = new SimulatedAnimation(keyframes(1000), 0, false);
+
+        ticker.register(animation);
+        ticker.register(animation);
+
+        assertEquals(1, ticker.getRegisteredCount());
+        assertEquals(1, frameSource.posts);
+    }
+
+    private List<SimulatedAnimation> startAnimations(int count, boolean oneShot) {
+        List<SimulatedAnimation> animations = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            // spread durations and start times so animations are in different phases
+            SimulatedAnimation animation =
+                    new SimulatedAnimation(keyframes(400 + i % 7 * 100), i % 13 * 5, oneShot);
+            animations.add(animation);
+            ticker.register(animation);
+        }
+
+        return animations;
+    }
+
+    private static Keyframes keyframes(int duration) {
+        return new Keyframes.Builder()
+                .setTransitionDuration(duration / 2)
+                .add(new int[]{0xffff9a9e, 0xfffad0c4}, GradientGeometry.BOTTOM_TOP, null, duration)
+                .add(new int[]{0xff84fab0, 0xff8fd3f4}, GradientGeometry.LEFT_RIGHT, null, duration)
+                .add(new int[]{0xffa18cd1, 0xfffbc2eb, 0xff000000}, GradientGeometry.TL_BR, null, duration)
+                .build();
+    }
+
+    /**
+     * Virtual display with a vsync every FRAME_INTERVAL milliseconds,
+     * delivers the requested frame on the first vsync after its delay
+     */
+    private static class VirtualFrameSource implements FrameTicker.FrameSource {
+        long now;
+        long dueTime;
+        int posts;
+        boolean pending;
+
+        @Override
+        public void postFrame(FrameTicker ticker, long delayMillis) {
+            assertFalse("frame posted twice", pending);
+            pending = true;
+            dueTime = now + delayMillis;
+            posts++;
+        }
+
+        @Override
+        public void cancelFrame(FrameTicker ticker) {
+            pending = false;
+        }
+
+        void run(FrameTicker ticker, int vsyncs) {
+            for (int i = 0; i < vsyncs && pending; i++) {
+                now += FRAME_INTERVAL;
+                if (now < dueTime) continue;
+
+                pending = false;
+                ticker.doFrame(now);
+            }
+        }
+    }
+
+    /**
+     * Animation skipping the frames its keyframes cannot change
+     */
+    private class DelayedAnimation extends SimulatedAnimation
+            implements FrameTicker.DelayedCallback {
+
+        DelayedAnimation(Keyframes keyframes, long startTime, boolean oneShot) {
+            super(keyframes, startTime, oneShot);
+        }
+
+        @Override
+        public long getNextFrameDelay() {
+            return keyframes.getChangeDelay(playTime, !oneShot);
+        }
+    }
+
+    /**
+     * Animation evaluating real keyframes, like InterpolatingGradientDrawable does
+     */
+    private class SimulatedAnimation implements FrameTicker.Callback {
+        final Keyframes keyframes;
+        final long startTime;
+        final boolean oneShot;
+        final FrameState current;
+        final FrameState next;
+        int frames;
+        int changes;
+        int invalidations;
+        long playTime;
+
+        SimulatedAnimation(Keyframes keyframes, long startTime, boolean oneShot) {
+            this.keyframes = keyframes;
+            this.startTime = startTime;
+            this.oneShot = oneShot;
+            this.current = new FrameState(keyframes.getStopCount());
+            this.next = new FrameState(keyframes.getStopCount());
+            keyframes.evaluate(0, true, current);
+        }
+
+        @Override
+        public boolean onFrame(long frameTimeMillis) {
+            frames++;
+            playTime = Math.max(0, frameTimeMillis - startTime);
+
+            keyframes.evaluate(playTime, !oneShot, next);
+            boolean changed = !next.sameAs(current);
+            if (changed) {
+                current.set(next);
+                changes++;
+            }
+
+            if (oneShot && playTime >= keyframes.getTotalDuration())
+                ticker.unregister(this);
+
+            return changed;
+        }
+
+        @Override
+        public void onInvalidate() {
+            invalidations++;
+        }
+    }
+}
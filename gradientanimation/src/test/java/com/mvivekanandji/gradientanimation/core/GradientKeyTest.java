@@ -0,0 +1,70 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Content equality of GradientKey, probe reuse and independent copies.
+ */
+public class GradientKeyTest {
+
+    private static final int[] COLORS = {0xffff9a9e, 0xfffad0c4};
+
+    @Test
+    public void equalContent_equalKeys() {
+        GradientKey a = new GradientKey(COLORS, GradientGeometry.BOTTOM_TOP, null);
+        GradientKey b = new GradientKey(COLORS.clone(), GradientGeometry.BOTTOM_TOP, null);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(2, a.getColorCount());
+    }
+
+    @Test
+    public void differentContent_differentKeys() {
+        GradientKey key = new GradientKey(COLORS, GradientGeometry.BOTTOM_TOP, null);
+
+        assertNotEquals(key, new GradientKey(COLORS, GradientGeometry.LEFT_RIGHT, null));
+        assertNotEquals(key, new GradientKey(new int[]{0xffff9a9e, 0xfffad0c5},
+                GradientGeometry.BOTTOM_TOP, null));
+        assertNotEquals(key, new GradientKey(new int[]{0xffff9a9e, 0xfffad0c4, 0xfffad0c4},
+                GradientGeometry.BOTTOM_TOP, null));
+        assertNotEquals(key, new GradientKey(COLORS, GradientGeometry.BOTTOM_TOP,
+                new float[]{8f, 8f, 8f, 8f, 8f, 8f, 8f, 8f}));
+    }
+
+    @Test
+    public void missingAndZeroRadii_areTheSameCorners() {
+        GradientKey none = new GradientKey(COLORS, GradientGeometry.BOTTOM_TOP, null);
+        GradientKey zero = new GradientKey(COLORS, GradientGeometry.BOTTOM_TOP, new float[8]);
+
+        assertEquals(none, zero);
+        assertEquals(none.hashCode(), zero.hashCode());
+    }
+
+    @Test
+    public void probeWithoutRadii_matchesGradientsOfAnyRadii() {
+        // shaders do not depend on the corners, so cache lookups leave the radii out
+        float[] rounded = {16f, 16f, 16f, 16f, 0f, 0f, 0f, 0f};
+        GradientKey stored = new GradientKey(COLORS, GradientGeometry.BOTTOM_TOP, null);
+        GradientKey probe = new GradientKey();
+
+        probe.set(COLORS, GradientGeometry.BOTTOM_TOP, null);
+        assertEquals(stored, probe);
+        assertNotEquals(stored, probe.set(COLORS, GradientGeometry.BOTTOM_TOP, rounded));
+    }
+
+    @Test
+    public void copy_doesNotFollowTheProbeArrays() {
+        int[] colors = COLORS.clone();
+        GradientKey probe = new GradientKey().set(colors, GradientGeometry.TL_BR, null);
+        GradientKey copy = probe.copy();
+
+        colors[0] = 0xff000000;
+        probe.set(colors, GradientGeometry.TL_BR, null);
+
+        assertNotEquals(copy, probe);
+        assertEquals(new GradientKey(COLORS, GradientGeometry.TL_BR, null), copy);
+    }
+}
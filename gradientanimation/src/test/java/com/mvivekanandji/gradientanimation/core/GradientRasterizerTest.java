@@ -0,0 +1,127 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.*;
+
+/**
+ * Orientation semantics, radial and sweep types, clamped ends and rounded corners of
+ * GradientRasterizer, and PNG output.
+ */
+public class GradientRasterizerTest {
+
+    private static final int RED = 0xffff0000;
+    private static final int BLUE = 0xff0000ff;
+
+    @Test
+    public void orientation_startColorAtTheStartEdge() {
+        int[] pixels = new int[64 * 32];
+
+        GradientRasterizer.renderRows(new int[]{RED, BLUE}, GradientGeometry.LEFT_RIGHT, null,
+                64, 32, 0, 32, pixels);
+        assertTrue(red(pixels[0]) > 250);
+        assertTrue(blue(pixels[63]) > 250);
+        // horizontal gradients are constant down a column
+        assertEquals(pixels[10], pixels[31 * 64 + 10]);
+
+        GradientRasterizer.renderRows(new int[]{RED, BLUE}, GradientGeometry.BOTTOM_TOP, null,
+                64, 32, 0, 32, pixels);
+        assertTrue(red(pixels[31 * 64]) > 240);
+        assertTrue(blue(pixels[0]) > 240);
+    }
+
+    @Test
+    public void middleStopIsHitAtTheCenter() {
+        int[] pixels = new int[101];
+
+        GradientRasterizer.renderRows(new int[]{RED, 0xff00ff00, BLUE},
+                GradientGeometry.LEFT_RIGHT, null, 101, 1, 0, 1, pixels);
+        assertEquals(0xff00ff00, pixels[50]);
+    }
+
+    @Test
+    public void radial_spreadsFromTheCenter() {
+        FrameState state = new FrameState(2);
+        state.colors[0] = RED;
+        state.colors[1] = BLUE;
+        state.type = GradientGeometry.RADIAL;
+        state.centerX = 0.25f;
+        int[] pixels = new int[40 * 20];
+
+        GradientRasterizer.render(state, 40, 20, pixels);
+        assertTrue(red(pixels[10 * 40 + 10]) > 240);
+        // the last color reaches the farthest corner
+        assertTrue(blue(pixels[40 * 20 - 1]) > 240);
+        // symmetric around the center
+        assertEquals(pixels[5 * 40 + 10], pixels[14 * 40 + 9]);
+
+        state.gradientRadius = 0.25f;
+        GradientRasterizer.render(state, 40, 20, pixels);
+        assertEquals(BLUE, pixels[10 * 40 + 30]);
+    }
+
+    @Test
+    public void sweep_goesClockwiseFromTheAngle() {
+        FrameState state = new FrameState(3);
+        state.colors[0] = RED;
+        state.colors[1] = 0xff00ff00;
+        state.colors[2] = BLUE;
+        state.type = GradientGeometry.SWEEP;
+        int[] pixels = new int[41 * 41];
+
+        GradientRasterizer.render(state, 41, 41, pixels);
+        // 3 o'clock starts, 9 o'clock is half way
+        assertTrue(red(pixels[20 * 41 + 40]) > 240);
+        assertTrue(green(pixels[20 * 41]) > 240);
+
+        // a quarter turn counterclockwise starts at 12 o'clock
+        state.angle = 90f;
+        GradientRasterizer.render(state, 41, 41, pixels);
+        assertTrue(red(pixels[20]) > 240);
+        assertTrue(green(pixels[40 * 41 + 20]) > 240);
+    }
+
+    @Test
+    public void roundedCornersAreTransparent() {
+        int[] pixels = new int[40 * 40];
+        float[] radii = {100f, 100f, 0f, 0f, 0f, 0f, 0f, 0f};
+
+        GradientRasterizer.renderRows(new int[]{RED, RED}, GradientGeometry.TOP_BOTTOM, radii,
+                40, 40, 0, 40, pixels);
+        // the radius is scaled down to the 40px edge
+        assertEquals(0, pixels[0] >>> 24);
+        assertEquals(0xff, pixels[20 * 40 + 20] >>> 24);
+        assertEquals(RED, pixels[40 * 40 - 1]);
+    }
+
+    @Test
+    public void png_roundTrip() throws Exception {
+        int[] pixels = new int[17 * 9];
+        GradientRasterizer.renderRows(new int[]{RED, BLUE}, GradientGeometry.TL_BR,
+                new float[]{4f, 4f, 4f, 4f, 4f, 4f, 4f, 4f}, 17, 9, 0, 9, pixels);
+
+        BufferedImage image = ImageIO.read(
+                new ByteArrayInputStream(PngWriter.encode(pixels, 17, 9)));
+        assertEquals(17, image.getWidth());
+        for (int y = 0; y < 9; y++)
+            for (int x = 0; x < 17; x++)
+                assertEquals(pixels[y * 17 + x], image.getRGB(x, y));
+    }
+
+    private static int red(int color) {
+        return (color >> 16) & 0xff;
+    }
+
+    private static int green(int color) {
+        return (color >> 8) & 0xff;
+    }
+
+    private static int blue(int color) {
+        return color & 0xff;
+    }
+}
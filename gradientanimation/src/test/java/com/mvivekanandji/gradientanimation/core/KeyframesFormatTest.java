@@ -0,0 +1,128 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round trips and validation of the binary keyframes format.
+ */
+public class KeyframesFormatTest {
+
+    private final Keyframes keyframes = new Keyframes.Builder()
+            .setTransitionDuration(300)
+            .add(new int[]{0xff17ead9, 0xff6078ea}, GradientGeometry.BL_TR, null, 2000)
+            .add(new int[]{0xff5b247a, 0xff1bcedf, 0xff000000}, GradientGeometry.TOP_BOTTOM,
+                    new float[]{1, 2, 3, 4, 5, 6, 7, 8}, 1500)
+            .build();
+
+    @Test
+    public void roundTrip_buffer() throws IOException {
+        assertSameKeyframes(keyframes, KeyframesFormat.read(ByteBuffer.wrap(KeyframesFormat.encode(keyframes))));
+    }
+
+    @Test
+    public void roundTrip_stream() throws IOException {
+        byte[] encoded = KeyframesFormat.encode(keyframes);
+        assertSameKeyframes(keyframes, KeyframesFormat.read(new ByteArrayInputStream(encoded)));
+    }
+
+    @Test
+    public void roundTrip_interpolation() throws IOException {
+        Keyframes oklab = new Keyframes.Builder()
+                .setInterpolation(ColorRamps.OKLAB)
+                .add(new int[]{0xff17ead9, 0xff6078ea}, GradientGeometry.BL_TR, null, 2000)
+                .build();
+
+        Keyframes read = KeyframesFormat.read(ByteBuffer.wrap(KeyframesFormat.encode(oklab)));
+        assertSameKeyframes(oklab, read);
+        assertEquals(ColorRamps.OKLAB, read.getInterpolation());
+    }
+
+    @Test
+    public void roundTrip_angleTrack() throws IOException {
+        Keyframes rotating = new Keyframes.Builder()
+                .setAngleTrack(new AngleTrack.Builder().add(0, 10f).add(1500, 190f).build())
+                .add(new int[]{0xff17ead9, 0xff6078ea}, GradientGeometry.BL_TR, null, 2000)
+                .build();
+        byte[] encoded = KeyframesFormat.encode(rotating);
+
+        for (Keyframes read : new Keyframes[]{KeyframesFormat.read(ByteBuffer.wrap(encoded)),
+                KeyframesFormat.read(new ByteArrayInputStream(encoded))}) {
+            assertSameKeyframes(rotating, read);
+            AngleTrack track = read.getAngleTrack();
+            assertEquals(2, track.size());
+            assertEquals(1500, track.getTime(1));
+            assertEquals(190f, track.getAngle(1), 0f);
+        }
+    }
+
+    @Test
+    public void roundTrip_shapes() throws IOException {
+        Keyframes shaped = new Keyframes.Builder()
+                .add(new int[]{0xff17ead9, 0xff6078ea}, GradientGeometry.BL_TR, null, 2000)
+                .addRadial(new int[]{0xffff9a9e, 0xfffad0c7}, 0.25f, 0.75f, 0.5f, null, 1000)
+                .addSweep(new int[]{0xff17ead9, 0xff6078ea, 0xff17ead9}, 0.5f, 0.4f, null, 1500)
+                .build();
+        byte[] encoded = KeyframesFormat.encode(shaped);
+
+        for (Keyframes read : new Keyframes[]{KeyframesFormat.read(ByteBuffer.wrap(encoded)),
+                KeyframesFormat.read(new ByteArrayInputStream(encoded))}) {
+            assertSameKeyframes(shaped, read);
+            assertEquals(GradientGeometry.RADIAL, read.getType(1));
+            assertEquals(GradientGeometry.SWEEP, read.getType(2));
+        }
+    }
+
+    @Test
+    public void rejectsInvalidContent() {
+        byte[] encoded = KeyframesFormat.encode(keyframes);
+
+        byte[] badMagic = encoded.clone();
+        badMagic[0] = 'X';
+        assertInvalid(badMagic);
+        assertInvalid(Arrays.copyOf(encoded, encoded.length - 1));
+        assertInvalid(Arrays.copyOf(encoded, 6));
+    }
+
+    private static void assertInvalid(byte[] content) {
+        try {
+            KeyframesFormat.read(ByteBuffer.wrap(content));
+            fail("accepted invalid content");
+        } catch (IOException expected) {
+        }
+    }
+
+    private static void assertSameKeyframes(Keyframes expected, Keyframes actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getStopCount(), actual.getStopCount());
+        assertEquals(expected.getTransitionDuration(), actual.getTransitionDuration());
+        assertEquals(expected.getTotalDuration(), actual.getTotalDuration());
+
+        int[] expectedColors = new int[expected.getStopCount()];
+        int[] actualColors = new int[actual.getStopCount()];
+        float[] expectedRadii = new float[8];
+        float[] actualRadii = new float[8];
+        for (int i = 0; i < expected.size(); i++) {
+            expected.getColors(i, expectedColors);
+            actual.getColors(i, actualColors);
+            assertArrayEquals(expectedColors, actualColors);
+
+            expected.getRadii(i, expectedRadii);
+            actual.getRadii(i, actualRadii);
+            assertArrayEquals(expectedRadii, actualRadii, 0f);
+
+            assertEquals(expected.getOrientation(i), actual.getOrientation(i));
+            assertEquals(expected.getType(i), actual.getType(i));
+            assertEquals(expected.getCenterX(i), actual.getCenterX(i), 0f);
+            assertEquals(expected.getCenterY(i), actual.getCenterY(i), 0f);
+            assertEquals(expected.getGradientRadius(i), actual.getGradientRadius(i), 0f);
+            assertEquals(expected.getDuration(i), actual.getDuration(i));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Live color changes, change delays and holds of Keyframes.
+ */
+public class KeyframesTest {
+
+    private static final int[] COLORS = {0xffff0000, 0xff0000ff, 0x8000ff00, 0xffffffff};
+
+    @Test
+    public void mutableCopyChangesColorsInPlace() {
+        Keyframes keyframes = new Keyframes.Builder()
+                .setTransitionDuration(1000)
+                .setInterpolation(ColorRamps.OKLAB)
+                .add(new int[]{0xffff0000}, GradientGeometry.TOP_BOTTOM, null, 1000)
+                .add(new int[]{0xff00ff00}, GradientGeometry.TOP_BOTTOM, null, 1000)
+                .build();
+        Keyframes copy = keyframes.mutableCopy();
+        FrameState state = new FrameState(keyframes.getStopCount());
+
+        assertFalse(copy.setColors(1, new int[]{0xff00ff00}));
+        assertTrue(copy.setColors(1, new int[]{0xff0000ff}));
+
+        copy.evaluate(1500, true, state);
+        assertClose(ColorRamps.mix(0xffff0000, 0xff0000ff, 0.5f, ColorRamps.OKLAB), state.colors[0]);
+        // the shared keyframes keep their colors
+        keyframes.evaluate(1500, true, state);
+        assertClose(ColorRamps.mix(0xffff0000, 0xff00ff00, 0.5f, ColorRamps.OKLAB), state.colors[0]);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void sharedAreImmutable() {
+        new Keyframes.Builder()
+                .add(new int[]{0xffff0000}, GradientGeometry.TOP_BOTTOM, null, 1000)
+                .build()
+                .setColors(0, new int[]{0xff0000ff});
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void setColors_rejectsIndexPastTheLastKeyframe() {
+        new Keyframes.Builder()
+                .add(new int[]{0xffff0000}, GradientGeometry.TOP_BOTTOM, null, 1000)
+                .build()
+                .mutableCopy()
+                .setColors(1, new int[]{0xff0000ff});
+    }
+
+    @Test
+    public void changeDelayHoldsOutput() {
+        for (int space = ColorRamps.SRGB; space <= ColorRamps.OKLAB; space++) {
+            Keyframes keyframes = new Keyframes.Builder()
+                    .setTransitionDuration(3000)
+                    .setInterpolation(space)
+                    .add(COLORS, GradientGeometry.LEFT_RIGHT, null, 3000)
+                    .add(new int[]{0xff7b9ef0, 0xffe0c3fc}, GradientGeometry.TOP_BOTTOM, null, 3000)
+                    .build();
+            FrameState state = new FrameState(keyframes.getStopCount());
+            FrameState next = new FrameState(keyframes.getStopCount());
+
+            long skipped = 0;
+            for (long time = 0; time < 12000; time++) {
+                long delay = keyframes.getChangeDelay(time, true);
+                keyframes.evaluate(time, true, state);
+                for (long later = time + 1; later < time + delay; later++) {
+                    keyframes.evaluate(later, true, next);
+                    assertTrue("changed at " + later + " in space " + space, next.sameAs(state));
+                }
+                skipped += delay;
+            }
+            assertTrue(skipped > 0);
+        }
+    }
+
+    @Test
+    public void holdDelayLastsUntilTheNextBlend() {
+        Keyframes keyframes = new Keyframes.Builder()
+                .setTransitionDuration(500)
+                .add(COLORS, GradientGeometry.LEFT_RIGHT, null, 3000)
+                .add(new int[]{0xff7b9ef0, 0xffe0c3fc}, GradientGeometry.TOP_BOTTOM, null, 3000)
+                .build();
+        FrameState state = new FrameState(keyframes.getStopCount());
+        FrameState next = new FrameState(keyframes.getStopCount());
+
+        // the first keyframe of the first cycle is held until the second one starts
+        assertEquals(3000, keyframes.getChangeDelay(0, true));
+        // holds after a blend, also across the end of the cycle
+        assertEquals(2000, keyframes.getChangeDelay(1000, true));
+        assertEquals(2000, keyframes.getChangeDelay(4000, true));
+        assertEquals(1, keyframes.getChangeDelay(5999, true));
+        // a running blend is not a hold
+        assertTrue(keyframes.getChangeDelay(6100, true) < 400);
+
+        for (long time = 500; time < 3000; time += 250) {
+            keyframes.evaluate(time, true, state);
+            keyframes.evaluate(time + keyframes.getChangeDelay(time, true) - 1, true, next);
+            assertTrue("changed before " + time, next.sameAs(state));
+        }
+    }
+
+    private static void assertClose(int expected, int actual) {
+        // lerping ramp samples is off by up to 8 levels where a channel leaves 0
+        for (int shift = 0; shift < 32; shift += 8) {
+            int difference = Math.abs(((expected >>> shift) & 0xff) - ((actual >>> shift) & 0xff));
+            assertTrue(String.format("%08x != %08x", expected, actual), difference <= 8);
+        }
+    }
+}
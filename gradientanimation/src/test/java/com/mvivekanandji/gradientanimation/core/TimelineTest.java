@@ -0,0 +1,68 @@
+package com.mvivekanandji.gradientanimation.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Exact cycle counting, end detection and seeking of Timeline.
+ */
+public class TimelineTest {
+
+    // per keyframe durations differ, the old loop time formula assumed equal ones
+    private final Timeline timeline = new Timeline(new int[]{1000, 3000, 500}, 2);
+
+    @Test
+    public void durationsUseEveryKeyframe() {
+        assertEquals(4500, timeline.getCycleDuration());
+        assertEquals(9000, timeline.getTotalDuration());
+    }
+
+    @Test
+    public void indexAt_findsKeyframeInEveryCycle() {
+        assertEquals(0, timeline.indexAt(0));
+        assertEquals(1, timeline.indexAt(1000));
+        assertEquals(2, timeline.indexAt(4499));
+        assertEquals(0, timeline.indexAt(4500));
+        assertEquals(1, timeline.indexAt(5500));
+    }
+
+    @Test
+    public void endsOnTheExactFrame() {
+        assertFalse(timeline.isFinished(8999));
+        assertTrue(timeline.isFinished(9000));
+        assertEquals(2, timeline.getCompletedCycles(20000));
+        // the last keyframe is held once finished
+        assertEquals(2, timeline.indexAt(20000));
+        assertEquals(8999, timeline.clamp(20000));
+    }
+
+    @Test
+    public void progress() {
+        assertEquals(0f, timeline.getProgress(0), 0f);
+        assertEquals(0.5f, timeline.getProgress(4500), 1e-6f);
+        assertEquals(1f, timeline.getProgress(9000), 0f);
+
+        Timeline infinite = timeline.withRepeatCount(Timeline.INFINITE);
+        assertFalse(infinite.isFinished(Long.MAX_VALUE - 1));
+        assertEquals(0.5f, infinite.getProgress(4500 * 7 + 2250), 1e-6f);
+        assertEquals(7, infinite.getCompletedCycles(4500 * 7 + 2250));
+    }
+
+    @Test
+    public void segmentAt_hintAndBinarySearchAgree() {
+        int[] durations = new int[10000];
+        for (int i = 0; i < durations.length; i++)
+            durations[i] = i % 7 == 0 ? 0 : 10 + i % 13;
+        Timeline longTimeline = new Timeline(durations, Timeline.INFINITE);
+
+        int hint = -1;
+        for (long t = 0; t < longTimeline.getCycleDuration(); t += 3) {
+            int index = longTimeline.segmentAt(t, hint);
+            assertEquals(longTimeline.segmentAt(t, -1), index);
+            assertTrue(longTimeline.getStart(index) <= t);
+            assertTrue(t < longTimeline.getStart(index) + longTimeline.getDuration(index));
+            hint = index;
+        }
+    }
+}
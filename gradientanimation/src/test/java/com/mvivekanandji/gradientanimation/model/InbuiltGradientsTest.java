@@ -0,0 +1,79 @@
+package com.mvivekanandji.gradientanimation.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Name lookup of InbuiltGradients and the copies returned by Gradient.getInbuiltGradient.
+ */
+public class InbuiltGradientsTest {
+
+    private static final int[] WARM_FLAME = {0xffff9a9e, 0xfffad0c4};
+
+    @Test
+    public void get_ignoresCaseSpacesAndSeparators() {
+        Gradient gradient = InbuiltGradients.get("Warm Flame");
+
+        assertNotNull(gradient);
+        assertArrayEquals(WARM_FLAME, gradient.getColors());
+        assertEquals(Gradient.Orientation.BOTTOM_TOP, gradient.getOrientation());
+        for (String name : new String[]{"warmFlame", "warmflame", "WARM_FLAME", "warm-flame",
+                " warm  flame "})
+            assertSame(name, gradient, InbuiltGradients.get(name));
+        assertSame(InbuiltGradients.get("Arielle's Smile"), InbuiltGradients.get("ariellessmile"));
+    }
+
+    @Test
+    public void get_resolvesAliases() {
+        assertSame(InbuiltGradients.get("Sunny Morning"), InbuiltGradients.get("sunday_morning"));
+    }
+
+    @Test
+    public void get_unknownNameIsNull() {
+        assertNull(InbuiltGradients.get("no such gradient"));
+        assertNull(InbuiltGradients.get("warm flames"));
+        assertNull(InbuiltGradients.get(""));
+        assertFalse(InbuiltGradients.contains("warm flam"));
+    }
+
+    @Test
+    public void catalog_namesAndIndicesAgree() {
+        assertTrue(InbuiltGradients.size() > 100);
+        for (int i = 0; i < InbuiltGradients.size(); i++) {
+            String name = InbuiltGradients.getName(i);
+            assertSame(name, InbuiltGradients.get(i), InbuiltGradients.get(name));
+        }
+    }
+
+    @Test
+    public void getInbuiltGradient_unknownNameFallsBack() {
+        Gradient gradient = Gradient.getInbuiltGradient("no such gradient");
+
+        assertArrayEquals(new int[]{0xffff9a9e, 0xfffad0c7}, gradient.getColors());
+        assertEquals(Gradient.Orientation.BOTTOM_TOP, gradient.getOrientation());
+        assertFalse(gradient.isImmutable());
+    }
+
+    @Test
+    public void getInbuiltGradient_returnsMutableCopy() {
+        Gradient shared = InbuiltGradients.get("warm flame");
+        Gradient copy = Gradient.getInbuiltGradient("warm flame");
+
+        assertNotSame(shared, copy);
+        assertNotSame(shared.getColors(), copy.getColors());
+        assertFalse(copy.isImmutable());
+
+        copy.setColors(new int[]{0xff000000, 0xffffffff}).setRadius(8f);
+        assertArrayEquals(WARM_FLAME, shared.getColors());
+        assertEquals(0f, shared.getRadius(), 0f);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void sharedGradient_settersThrow() {
+        Gradient shared = InbuiltGradients.get("warm flame");
+
+        assertTrue(shared.isImmutable());
+        shared.setOrientation(Gradient.Orientation.LEFT_RIGHT);
+    }
+}
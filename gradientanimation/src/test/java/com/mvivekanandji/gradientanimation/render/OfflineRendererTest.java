@@ -0,0 +1,93 @@
+package com.mvivekanandji.gradientanimation.render;
+
+import com.mvivekanandji.gradientanimation.core.FrameState;
+import com.mvivekanandji.gradientanimation.core.GradientRasterizer;
+import com.mvivekanandji.gradientanimation.model.Gradient;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.*;
+
+/**
+ * Parallel rendering of OfflineRenderer against the serial rasterizer, frame count and PNG output.
+ */
+public class OfflineRendererTest {
+
+    private static final int[] FIRST = {0xffff9a9e, 0xfffad0c4};
+    private static final int[] SECOND = {0xff84fab0, 0xff8fd3f4};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void renderFrames_matchesSerialRasterizer() {
+        // 100 rows are four row blocks per frame
+        OfflineRenderer renderer = renderer(37, 100, 1);
+        int from = 2;
+        int count = 6;
+
+        int[][] frames = renderer.renderFrames(from, count);
+
+        assertEquals(count, frames.length);
+        int[] expected = new int[37 * 100];
+        for (int i = 0; i < count; i++) {
+            GradientRasterizer.render(renderer.getFrameState(from + i), 37, 100, expected);
+            assertArrayEquals("frame " + (from + i), expected, frames[i]);
+        }
+        assertArrayEquals(frames[0], renderer.renderFrame(from));
+    }
+
+    @Test
+    public void frameCount_endsOnTheLastFrameOfTheLastCycle() {
+        OfflineRenderer renderer = renderer(8, 8, 2);
+
+        // two cycles of 1000 ms at 10 fps, plus the end state
+        assertEquals(21, renderer.getFrameCount());
+        assertEquals(2000, renderer.getFrameTime(20));
+
+        FrameState end = renderer.getFrameState(20);
+        assertEquals(1, end.keyframe);
+        assertFalse(end.transition);
+        assertArrayEquals(SECOND, end.colors);
+    }
+
+    @Test
+    public void writePngs_roundTrip() throws Exception {
+        OfflineRenderer renderer = renderer(16, 40, 1);
+        File directory = folder.newFolder();
+
+        int written = renderer.writePngs(directory, "frame_");
+
+        assertEquals(renderer.getFrameCount(), written);
+        assertEquals(written, directory.list().length);
+
+        int frame = 3;
+        BufferedImage image = ImageIO.read(
+                new File(directory, OfflineRenderer.getPngName("frame_", frame)));
+        assertEquals(16, image.getWidth());
+        assertEquals(40, image.getHeight());
+
+        int[] pixels = renderer.renderFrame(frame);
+        for (int y = 0; y < 40; y++)
+            for (int x = 0; x < 16; x++)
+                assertEquals(pixels[y * 16 + x], image.getRGB(x, y));
+    }
+
+    private static OfflineRenderer renderer(int width, int height, int repeatCount) {
+        return new OfflineRenderer.Builder(width, height)
+                .setDuration(500)
+                .setTransitionDuration(200)
+                .setFrameRate(10)
+                .setRepeatCount(repeatCount)
+                .addGradient(new Gradient(FIRST, Gradient.Orientation.LEFT_RIGHT))
+                .addGradient(new Gradient(SECOND, Gradient.Orientation.TL_BR))
+                .build();
+    }
+}